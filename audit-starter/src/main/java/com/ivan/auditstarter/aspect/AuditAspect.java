@@ -1,38 +1,48 @@
 package com.ivan.auditstarter.aspect;
 
 import com.ivan.auditstarter.annotation.Auditable;
-import lombok.extern.slf4j.Slf4j;
+import com.ivan.auditstarter.buffer.AuditDispatcher;
+import com.ivan.auditstarter.event.AuditEvent;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 
-import java.util.Arrays;
-
 /**
- * Aspect that logs method executions annotated with {@link Auditable}.
+ * Aspect that audits method executions annotated with {@link Auditable}.
+ * Each execution is recorded as an {@link AuditEvent} and handed to the {@link AuditDispatcher},
+ * which writes it in the background. Method arguments are not recorded.
  */
 @Aspect
-@Slf4j
+@RequiredArgsConstructor
 public class AuditAspect {
 
+    private final AuditDispatcher auditDispatcher;
+
     @Pointcut("(within(@com.ivan.auditstarter.annotation.Auditable *) || execution(@com.ivan.auditstarter.annotation.Auditable * *(..))) && execution(* *(..))")
     public void annotatedByLoggable() {
     }
 
     @Around("annotatedByLoggable()")
     public Object auditMethod(ProceedingJoinPoint jp) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) jp.getSignature();
-        String methodName = methodSignature.getName();
-        String className = methodSignature.getDeclaringType().getSimpleName();
-        var result = jp.proceed();
-        Object[] args = jp.getArgs();
-
-        log.info("Method name: {}", methodName);
-        log.info("Signature: {}", methodSignature);
-        log.info("Type: {}; Value: {}", className, Arrays.toString(args));
-
-        return result;
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return jp.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            MethodSignature methodSignature = (MethodSignature) jp.getSignature();
+            auditDispatcher.publish(new AuditEvent(
+                    System.currentTimeMillis(),
+                    methodSignature.getDeclaringType().getSimpleName(),
+                    methodSignature.getName(),
+                    error == null,
+                    System.nanoTime() - start,
+                    error == null ? null : error.getClass().getSimpleName()));
+        }
     }
-}
\ No newline at end of file
+}
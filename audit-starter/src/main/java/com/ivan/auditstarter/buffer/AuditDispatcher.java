@@ -0,0 +1,180 @@
+package com.ivan.auditstarter.buffer;
+
+import com.ivan.auditstarter.config.AuditProperties;
+import com.ivan.auditstarter.event.AuditEvent;
+import com.ivan.auditstarter.sink.AuditSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands audit events from the audited threads to the {@link AuditSink}.
+ * Audited threads only put events into the {@link AuditRingBuffer}; a single background thread drains it
+ * in batches and writes them to the sink. When the buffer is full, events are dropped or the audited thread
+ * waits for a free slot, depending on {@link AuditProperties#getOverflow()}.
+ * Events left in the buffer are written when the application context is closed.
+ *
+ * @author sergeenkovv
+ */
+@Slf4j
+public class AuditDispatcher implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final AuditRingBuffer ringBuffer;
+    private final AuditSink sink;
+    private final AuditProperties.Overflow overflow;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread consumer;
+
+    public AuditDispatcher(AuditRingBuffer ringBuffer, AuditSink sink, AuditProperties auditProperties) {
+        this.ringBuffer = ringBuffer;
+        this.sink = sink;
+        this.overflow = auditProperties.getOverflow();
+        this.batchSize = auditProperties.getBatchSize();
+        this.flushIntervalNanos = auditProperties.getFlushInterval().toNanos();
+    }
+
+    /**
+     * Publishes an event. Never blocks with the {@code DROP} overflow policy.
+     *
+     * @param event the event
+     */
+    public void publish(AuditEvent event) {
+        if (!ringBuffer.offer(event)) {
+            if (overflow == AuditProperties.Overflow.DROP || !waitForSlot(event)) {
+                dropped.increment();
+                return;
+            }
+        }
+        published.increment();
+        Thread current = consumer;
+        if (current != null && ringBuffer.size() >= batchSize) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private boolean waitForSlot(AuditEvent event) {
+        while (running) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (ringBuffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::consume, "audit-dispatcher");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = consumer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        consumer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so that events of in-flight requests are still written.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void consume() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            flush(batch);
+        }
+        while (ringBuffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return the number of events put into the buffer
+     */
+    public long getPublished() {
+        return published.sum();
+    }
+
+    /**
+     * @return the number of events dropped because the buffer was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of events written to the sink
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of events the sink failed to write
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of events waiting in the buffer
+     */
+    public int getPending() {
+        return ringBuffer.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ivan.auditstarter.buffer;
+
+import com.ivan.auditstarter.event.AuditEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer of audit events for many producers and a single consumer.
+ * Every slot carries a sequence number telling whether it is free for the producer
+ * claiming position {@code p} (sequence {@code p}) or holds the event published at {@code p}
+ * (sequence {@code p + 1}). Producers claim positions with a CAS on the tail and never wait.
+ *
+ * @author sergeenkovv
+ */
+public class AuditRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity the number of slots, rounded up to a power of two of at least 2;
+     *                 with a single slot, a published event could not be told from a free slot
+     */
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The audit buffer capacity must be positive!");
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.events = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an event without blocking.
+     *
+     * @param event the event
+     * @return {@code true} if the event was added, {@code false} if the buffer is full
+     */
+    public boolean offer(AuditEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves published events to the given list. Must only be called by the consumer thread.
+     *
+     * @param batch     the list receiving the events
+     * @param maxEvents the maximum number of events to move
+     * @return the number of moved events
+     */
+    public int drainTo(List<AuditEvent> batch, int maxEvents) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch.add(events.get(index));
+            events.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    /**
+     * Returns the approximate number of events waiting in the buffer.
+     *
+     * @return the number of events
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
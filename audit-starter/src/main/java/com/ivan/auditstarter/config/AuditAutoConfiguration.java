@@ -2,19 +2,89 @@ package com.ivan.auditstarter.config;
 
 import com.ivan.auditstarter.annotation.EnableAudit;
 import com.ivan.auditstarter.aspect.AuditAspect;
+import com.ivan.auditstarter.buffer.AuditDispatcher;
+import com.ivan.auditstarter.buffer.AuditRingBuffer;
+import com.ivan.auditstarter.sink.AuditSink;
+import com.ivan.auditstarter.sink.FileAuditSink;
+import com.ivan.auditstarter.sink.JdbcAuditSink;
+import com.ivan.auditstarter.sink.LoggingAuditSink;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
 /**
  * Starter configuration class audit. Class excluded from autoconfiguration.
  * To enable it you need to add the {@link EnableAudit} annotation on configuration class.
+ * The sink is chosen with the app.common.audit.sink property, or replaced by declaring an {@link AuditSink} bean.
  *
  * @author sergeenkovv
  */
 @Configuration
+@EnableConfigurationProperties(AuditProperties.class)
 public class AuditAutoConfiguration {
+
+    @Bean
+    public AuditAspect auditAspect(AuditDispatcher auditDispatcher) {
+        return new AuditAspect(auditDispatcher);
+    }
+
     @Bean
-    public AuditAspect auditAspect() {
-        return new AuditAspect();
+    public AuditDispatcher auditDispatcher(AuditSink auditSink, AuditProperties auditProperties) {
+        return new AuditDispatcher(new AuditRingBuffer(auditProperties.getBufferSize()), auditSink, auditProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditSink.class)
+    @ConditionalOnProperty(prefix = "app.common.audit", name = "sink", havingValue = "log", matchIfMissing = true)
+    public AuditSink loggingAuditSink() {
+        return new LoggingAuditSink();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditSink.class)
+    @ConditionalOnProperty(prefix = "app.common.audit", name = "sink", havingValue = "file")
+    public AuditSink fileAuditSink(AuditProperties auditProperties) {
+        return new FileAuditSink(Path.of(auditProperties.getFilePath()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditSink.class)
+    @ConditionalOnProperty(prefix = "app.common.audit", name = "sink", havingValue = "jdbc")
+    public AuditSink jdbcAuditSink(ObjectProvider<DataSource> dataSource, AuditProperties auditProperties) {
+        return new JdbcAuditSink(dataSource::getObject, auditProperties.getTableName());
+    }
+
+    /**
+     * Publishes the audit counters when Micrometer is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class AuditMetricsConfiguration {
+
+        @Bean
+        public MeterBinder auditMetrics(AuditDispatcher auditDispatcher) {
+            return registry -> {
+                FunctionCounter.builder("audit.events", auditDispatcher, AuditDispatcher::getPublished)
+                        .tag("state", "published").register(registry);
+                FunctionCounter.builder("audit.events", auditDispatcher, AuditDispatcher::getDropped)
+                        .tag("state", "dropped").register(registry);
+                FunctionCounter.builder("audit.events", auditDispatcher, AuditDispatcher::getWritten)
+                        .tag("state", "written").register(registry);
+                FunctionCounter.builder("audit.events", auditDispatcher, AuditDispatcher::getFailed)
+                        .tag("state", "failed").register(registry);
+                Gauge.builder("audit.buffer.pending", auditDispatcher, AuditDispatcher::getPending)
+                        .register(registry);
+            };
+        }
     }
-}
\ No newline at end of file
+}
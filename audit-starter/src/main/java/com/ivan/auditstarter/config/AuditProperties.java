@@ -0,0 +1,70 @@
+package com.ivan.auditstarter.config;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for audit.
+ *
+ * @author sergeenkovv
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.common.audit")
+public class AuditProperties {
+
+    /**
+     * The number of events the buffer holds, rounded up to a power of two of at least 2.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * The maximum number of events written to the sink at once.
+     */
+    private int batchSize = 256;
+
+    /**
+     * How long the consumer waits for new events when the buffer is empty.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * What an audited method does when the buffer is full.
+     */
+    private Overflow overflow = Overflow.DROP;
+
+    /**
+     * Where the events are written.
+     */
+    private Sink sink = Sink.LOG;
+
+    /**
+     * The file the events are appended to when the sink is {@code file}.
+     */
+    private String filePath = "audit.log";
+
+    /**
+     * The table the events are inserted into when the sink is {@code jdbc}.
+     */
+    private String tableName = "audit_events";
+
+    public enum Overflow {
+        /**
+         * Drop the event and count it as dropped.
+         */
+        DROP,
+        /**
+         * Wait until the consumer frees a slot.
+         */
+        BLOCK
+    }
+
+    public enum Sink {
+        LOG,
+        FILE,
+        JDBC
+    }
+}
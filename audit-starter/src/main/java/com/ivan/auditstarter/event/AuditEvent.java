@@ -0,0 +1,21 @@
+package com.ivan.auditstarter.event;
+
+/**
+ * Compact record of one audited method execution.
+ * Method arguments are deliberately not captured, so that credentials never reach the audit trail.
+ *
+ * @param timestamp      the completion time in milliseconds since the epoch
+ * @param className      the simple name of the class declaring the method
+ * @param methodName     the method name
+ * @param success        {@code true} if the method returned normally, {@code false} if it threw
+ * @param durationNanos  the execution time in nanoseconds
+ * @param error          the simple name of the thrown exception class, or {@code null} on success
+ * @author sergeenkovv
+ */
+public record AuditEvent(long timestamp,
+                         String className,
+                         String methodName,
+                         boolean success,
+                         long durationNanos,
+                         String error) {
+}
@@ -0,0 +1,22 @@
+package com.ivan.auditstarter.sink;
+
+import com.ivan.auditstarter.event.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Destination of audit events. Called from the single audit consumer thread with batches of events.
+ * Declare a bean of this type to replace the configured sink.
+ *
+ * @author sergeenkovv
+ */
+public interface AuditSink {
+
+    /**
+     * Writes a batch of events.
+     *
+     * @param events the events in publication order
+     * @throws Exception if the batch could not be written; the events are counted as failed
+     */
+    void write(List<AuditEvent> events) throws Exception;
+}
@@ -0,0 +1,59 @@
+package com.ivan.auditstarter.sink;
+
+import com.ivan.auditstarter.event.AuditEvent;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends audit events to a file, one tab-separated line per event, flushing after every batch.
+ *
+ * @author sergeenkovv
+ */
+public class FileAuditSink implements AuditSink, Closeable {
+
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileAuditSink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) throws IOException {
+        if (writer == null) {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (AuditEvent event : events) {
+            writer.write(Instant.ofEpochMilli(event.timestamp()).toString());
+            writer.write('\t');
+            writer.write(event.className());
+            writer.write('.');
+            writer.write(event.methodName());
+            writer.write('\t');
+            writer.write(event.success() ? "SUCCESS" : "FAILURE");
+            writer.write('\t');
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMicros(event.durationNanos())));
+            writer.write('\t');
+            writer.write(event.error() == null ? "" : event.error());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
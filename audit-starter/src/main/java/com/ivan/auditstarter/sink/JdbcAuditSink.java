@@ -0,0 +1,49 @@
+package com.ivan.auditstarter.sink;
+
+import com.ivan.auditstarter.event.AuditEvent;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts audit events into a table with one JDBC batch per batch of events.
+ * The table needs the columns {@code created_at}, {@code class_name}, {@code method_name},
+ * {@code success}, {@code duration_micros} and {@code error}.
+ * The data source is resolved on the first write, so that the sink can be created before it.
+ *
+ * @author sergeenkovv
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private final Supplier<DataSource> dataSource;
+    private final String insertSql;
+
+    public JdbcAuditSink(Supplier<DataSource> dataSource, String tableName) {
+        this.dataSource = dataSource;
+        this.insertSql = "INSERT INTO " + tableName
+                         + " (created_at, class_name, method_name, success, duration_micros, error) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) throws SQLException {
+        try (Connection connection = dataSource.get().getConnection();
+             PreparedStatement statement = connection.prepareStatement(insertSql)) {
+            for (AuditEvent event : events) {
+                statement.setTimestamp(1, new Timestamp(event.timestamp()));
+                statement.setString(2, event.className());
+                statement.setString(3, event.methodName());
+                statement.setBoolean(4, event.success());
+                statement.setLong(5, TimeUnit.NANOSECONDS.toMicros(event.durationNanos()));
+                statement.setString(6, event.error());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ivan.auditstarter.sink;
+
+import com.ivan.auditstarter.event.AuditEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit events to the application log, one line per event.
+ *
+ * @author sergeenkovv
+ */
+@Slf4j
+public class LoggingAuditSink implements AuditSink {
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            log.info("Audit: {}.{} {} in {} us{}",
+                    event.className(),
+                    event.methodName(),
+                    event.success() ? "succeeded" : "failed",
+                    TimeUnit.NANOSECONDS.toMicros(event.durationNanos()),
+                    event.error() == null ? "" : " with " + event.error());
+        }
+    }
+}
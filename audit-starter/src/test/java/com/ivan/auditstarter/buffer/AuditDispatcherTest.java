@@ -0,0 +1,168 @@
+package com.ivan.auditstarter.buffer;
+
+import com.ivan.auditstarter.config.AuditProperties;
+import com.ivan.auditstarter.event.AuditEvent;
+import com.ivan.auditstarter.sink.AuditSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ivan.auditstarter.buffer.AuditRingBufferTest.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("auditDispatcher test")
+class AuditDispatcherTest {
+
+    private AuditProperties properties;
+    private BlockingSink sink;
+    private AuditDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setBatchSize(1);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        sink = new BlockingSink();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sink.release.countDown();
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @DisplayName("with DROP, events that do not fit into the buffer are counted as dropped")
+    @Test
+    void publish_Drop_CountsDropped() throws Exception {
+        properties.setOverflow(AuditProperties.Overflow.DROP);
+        dispatcher = new AuditDispatcher(new AuditRingBuffer(2), sink, properties);
+        dispatcher.start();
+        dispatcher.publish(event("first", 0));
+        assertThat(sink.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 4; i++) {
+            dispatcher.publish(event("next", i));
+        }
+
+        assertThat(dispatcher.getPublished()).isEqualTo(3);
+        assertThat(dispatcher.getDropped()).isEqualTo(2);
+        assertThat(dispatcher.getPending()).isEqualTo(2);
+
+        sink.release.countDown();
+        dispatcher.stop();
+
+        assertThat(sink.written).extracting(AuditEvent::durationNanos).containsExactly(0L, 1L, 2L);
+        assertThat(dispatcher.getWritten()).isEqualTo(3);
+    }
+
+    @DisplayName("with BLOCK, a publisher waits for a free slot and no event is dropped")
+    @Test
+    void publish_Block_WaitsForSlot() throws Exception {
+        properties.setOverflow(AuditProperties.Overflow.BLOCK);
+        dispatcher = new AuditDispatcher(new AuditRingBuffer(2), sink, properties);
+        dispatcher.start();
+        dispatcher.publish(event("first", 0));
+        assertThat(sink.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> publisher = CompletableFuture.runAsync(() -> {
+            for (int i = 1; i <= 4; i++) {
+                dispatcher.publish(event("next", i));
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(publisher).isNotDone();
+        assertThat(dispatcher.getDropped()).isZero();
+
+        sink.release.countDown();
+        publisher.get(5, TimeUnit.SECONDS);
+        dispatcher.stop();
+
+        assertThat(sink.written).extracting(AuditEvent::durationNanos).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(dispatcher.getPublished()).isEqualTo(5);
+        assertThat(dispatcher.getDropped()).isZero();
+        assertThat(dispatcher.getWritten()).isEqualTo(5);
+    }
+
+    @DisplayName("with BLOCK, a full buffer drops the event once the dispatcher is stopped")
+    @Test
+    void publish_BlockStopped_CountsDropped() {
+        properties.setOverflow(AuditProperties.Overflow.BLOCK);
+        dispatcher = new AuditDispatcher(new AuditRingBuffer(2), sink, properties);
+
+        dispatcher.publish(event("first", 0));
+        dispatcher.publish(event("second", 1));
+        dispatcher.publish(event("third", 2));
+
+        assertThat(dispatcher.getPublished()).isEqualTo(2);
+        assertThat(dispatcher.getDropped()).isEqualTo(1);
+    }
+
+    @DisplayName("stop writes the events still waiting in the buffer")
+    @Test
+    void stop_FlushesPendingEvents() {
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofMinutes(10));
+        sink.release.countDown();
+        dispatcher = new AuditDispatcher(new AuditRingBuffer(128), sink, properties);
+        dispatcher.start();
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.publish(event("event", i));
+        }
+        dispatcher.stop();
+
+        assertThat(sink.written).hasSize(100);
+        assertThat(sink.written).extracting(AuditEvent::durationNanos).isSorted();
+        assertThat(dispatcher.getWritten()).isEqualTo(100);
+        assertThat(dispatcher.getPending()).isZero();
+        assertThat(dispatcher.isRunning()).isFalse();
+    }
+
+    @DisplayName("events of a batch the sink fails to write are counted as failed")
+    @Test
+    void flush_SinkFails_CountsFailed() {
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofMinutes(10));
+        dispatcher = new AuditDispatcher(new AuditRingBuffer(8), events -> {
+            throw new IllegalStateException("disk full");
+        }, properties);
+        dispatcher.start();
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.publish(event("event", i));
+        }
+        dispatcher.stop();
+
+        assertThat(dispatcher.getFailed()).isEqualTo(3);
+        assertThat(dispatcher.getWritten()).isZero();
+    }
+
+    /**
+     * Sink recording the written events that holds the first batch until it is released.
+     */
+    private static class BlockingSink implements AuditSink {
+
+        private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(List<AuditEvent> events) throws Exception {
+            writing.countDown();
+            release.await();
+            written.addAll(new ArrayList<>(events));
+        }
+    }
+}
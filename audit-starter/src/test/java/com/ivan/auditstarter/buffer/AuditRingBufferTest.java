@@ -0,0 +1,142 @@
+package com.ivan.auditstarter.buffer;
+
+import com.ivan.auditstarter.event.AuditEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("auditRingBuffer test")
+class AuditRingBufferTest {
+
+    @DisplayName("the capacity is rounded up to a power of two of at least 2")
+    @Test
+    void capacity_RoundedUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer(1).capacity()).isEqualTo(2);
+        assertThat(new AuditRingBuffer(2).capacity()).isEqualTo(2);
+        assertThat(new AuditRingBuffer(3).capacity()).isEqualTo(4);
+        assertThat(new AuditRingBuffer(8).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(0));
+    }
+
+    @DisplayName("offer fails when the buffer is full and succeeds again once events are drained")
+    @Test
+    void offer_Full_ReturnsFalse() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer(event("main", i))).isTrue();
+        }
+
+        assertThat(ringBuffer.offer(event("main", 4))).isFalse();
+        assertThat(ringBuffer.size()).isEqualTo(4);
+
+        List<AuditEvent> batch = new ArrayList<>();
+        assertThat(ringBuffer.drainTo(batch, 2)).isEqualTo(2);
+        assertThat(ringBuffer.offer(event("main", 4))).isTrue();
+        assertThat(ringBuffer.offer(event("main", 5))).isTrue();
+        assertThat(ringBuffer.offer(event("main", 6))).isFalse();
+    }
+
+    @DisplayName("events keep their order while the positions wrap around the slots")
+    @Test
+    void drainTo_WrapsAround_KeepsOrder() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        List<AuditEvent> batch = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(ringBuffer.offer(event("main", next + i))).isTrue();
+            }
+
+            assertThat(ringBuffer.drainTo(batch, 10)).isEqualTo(3);
+
+            assertThat(batch).extracting(AuditEvent::durationNanos).containsExactly((long) next, next + 1L, next + 2L);
+            assertThat(ringBuffer.size()).isZero();
+            batch.clear();
+            next += 3;
+        }
+    }
+
+    @DisplayName("drainTo moves no more than the requested number of events")
+    @Test
+    void drainTo_MaxEvents() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.offer(event("main", i));
+        }
+        List<AuditEvent> batch = new ArrayList<>();
+
+        assertThat(ringBuffer.drainTo(batch, 3)).isEqualTo(3);
+        assertThat(ringBuffer.drainTo(batch, 3)).isEqualTo(2);
+        assertThat(ringBuffer.drainTo(batch, 3)).isZero();
+        assertThat(batch).extracting(AuditEvent::durationNanos).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @DisplayName("with many producers every event is drained exactly once and in order per producer")
+    @Test
+    void offer_ManyProducers_EveryEventDrainedOnce() throws Exception {
+        int producers = 4;
+        int eventsPerProducer = 50_000;
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int p = 0; p < producers; p++) {
+                String producer = "producer-" + p;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        AuditEvent event = event(producer, i);
+                        while (!ringBuffer.offer(event)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] nextByProducer = new long[producers];
+            List<AuditEvent> batch = new ArrayList<>();
+            int drained = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (drained < producers * eventsPerProducer && System.nanoTime() < deadline) {
+                if (ringBuffer.drainTo(batch, 256) == 0) {
+                    Thread.yield();
+                }
+                for (AuditEvent event : batch) {
+                    int producer = Integer.parseInt(event.methodName().substring("producer-".length()));
+                    assertThat(event.durationNanos()).isEqualTo(nextByProducer[producer]);
+                    nextByProducer[producer]++;
+                }
+                drained += batch.size();
+                batch.clear();
+            }
+
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(drained).isEqualTo(producers * eventsPerProducer);
+            assertThat(nextByProducer).containsOnly(eventsPerProducer);
+            assertThat(ringBuffer.drainTo(batch, 256)).isZero();
+            assertThat(ringBuffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static AuditEvent event(String methodName, long sequence) {
+        return new AuditEvent(0L, "AuditRingBufferTest", methodName, true, sequence, null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.ivan.benchmarks;
+
+import com.ivan.auditstarter.annotation.Auditable;
+import com.ivan.auditstarter.aspect.AuditAspect;
+import com.ivan.auditstarter.buffer.AuditDispatcher;
+import com.ivan.auditstarter.buffer.AuditRingBuffer;
+import com.ivan.auditstarter.config.AuditProperties;
+import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.loggingstarter.aspects.LoggingMethodExecutionAspect;
+import com.ivan.loggingstarter.config.LoggingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the Spring AOP proxies created for {@link LoggingMethodExecutionAspect}
+ * and {@link AuditAspect} compared with a direct call.
+ * The logging aspect records into a {@link SimpleMeterRegistry}; the audit aspect publishes to a running
+ * {@link AuditDispatcher} with a sink that discards the events.
+ *
+ * @author sergeenkovv
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AspectOverheadBenchmark {
+
+    private AuditDispatcher auditDispatcher;
+    private SampleService direct;
+    private SampleService logged;
+    private SampleService audited;
+    private SampleService loggedAndAudited;
+
+    @Setup
+    public void setUp() {
+        AuditProperties auditProperties = new AuditProperties();
+        auditDispatcher = new AuditDispatcher(new AuditRingBuffer(auditProperties.getBufferSize()), events -> {
+        }, auditProperties);
+        auditDispatcher.start();
+        direct = new SampleService();
+        logged = proxy(loggingAspect());
+        audited = proxy(auditAspect());
+        loggedAndAudited = proxy(loggingAspect(), auditAspect());
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditDispatcher.stop();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.addSets(3, 4);
+    }
+
+    @Benchmark
+    public int logged() {
+        return logged.addSets(3, 4);
+    }
+
+    @Benchmark
+    public int audited() {
+        return audited.addSets(3, 4);
+    }
+
+    @Benchmark
+    public int loggedAndAudited() {
+        return loggedAndAudited.addSets(3, 4);
+    }
+
+    private AuditAspect auditAspect() {
+        return new AuditAspect(auditDispatcher);
+    }
+
+    private static LoggingMethodExecutionAspect loggingAspect() {
+        return new LoggingMethodExecutionAspect(new SimpleMeterRegistry(), new LoggingProperties());
+    }
+
+    private SampleService proxy(Object... aspects) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SampleService());
+        proxyFactory.setProxyTargetClass(true);
+        for (Object aspect : aspects) {
+            proxyFactory.addAspect(aspect);
+        }
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * Service annotated the same way as the application services.
+     */
+    @LoggableInfo(name = "class - SampleService")
+    public static class SampleService {
+
+        @Auditable
+        public int addSets(int first, int second) {
+            return first + second;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ivan.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options
+ * and writes the results as JSON to {@code jmh-result.json} unless {@code -rf} or {@code -rff} says otherwise,
+ * so that runs of different releases can be compared.
+ *
+ * @author sergeenkovv
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE))
+                .build();
+        Runner runner = new Runner(options);
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ivan.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test: keeps a fixed number of requests in flight against one URL for a given time
+ * and reports throughput, status codes and latency percentiles.
+ * Run it against the application started with {@code VIRTUAL_THREADS_ENABLED=true} and {@code false}
+ * to compare virtual and platform request threads, or against the servlet application and the {@code reactive} module
+ * with the same path and token to compare the servlet and reactive stacks.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.ivan.benchmarks.HttpLoadTest <url> [clients] [seconds] [bearer token]}
+ *
+ * @author sergeenkovv
+ */
+public final class HttpLoadTest {
+
+    private static final int MAX_LATENCY_MILLIS = 60_000;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder serviceUnavailable = new LongAdder();
+    private final LongAdder otherStatus = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: HttpLoadTest <url> [clients] [seconds] [bearer token]");
+            return;
+        }
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String token = args.length > 3 ? args[3] : null;
+
+        new HttpLoadTest().run(uri, clients, seconds, token);
+    }
+
+    private void run(URI uri, int clients, int seconds, String token) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(MAX_LATENCY_MILLIS))
+                .GET();
+        if (token != null) {
+            requestBuilder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = requestBuilder.build();
+
+        Semaphore inFlight = new Semaphore(clients);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        record(sent, response, error);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(clients);
+        report(uri, clients, System.nanoTime() - start);
+    }
+
+    private void record(long sent, HttpResponse<Void> response, Throwable error) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+        latencies.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MILLIS));
+        if (error != null) {
+            failed.increment();
+        } else if (response.statusCode() == 200) {
+            ok.increment();
+        } else if (response.statusCode() == 503) {
+            serviceUnavailable.increment();
+        } else {
+            otherStatus.increment();
+        }
+    }
+
+    private void report(URI uri, int clients, long elapsedNanos) {
+        long total = ok.sum() + serviceUnavailable.sum() + otherStatus.sum() + failed.sum();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "url=%s clients=%d duration=%.1fs%n", uri, clients, seconds);
+        System.out.printf(Locale.ROOT, "requests=%d throughput=%.1f req/s%n", total, total / seconds);
+        System.out.printf(Locale.ROOT, "200=%d 503=%d other=%d failed=%d%n",
+                ok.sum(), serviceUnavailable.sum(), otherStatus.sum(), failed.sum());
+        System.out.printf(Locale.ROOT, "latency ms: p50=%d p90=%d p99=%d max=%d%n",
+                percentile(total, 0.5), percentile(total, 0.9), percentile(total, 0.99), percentile(total, 1.0));
+    }
+
+    private long percentile(long total, double percentile) {
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int millis = 0; millis < latencies.length(); millis++) {
+            seen += latencies.get(millis);
+            if (seen >= rank && seen > 0) {
+                return millis;
+            }
+        }
+        return 0;
+    }
+}
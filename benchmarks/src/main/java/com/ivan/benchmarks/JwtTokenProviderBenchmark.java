@@ -0,0 +1,91 @@
+package com.ivan.benchmarks;
+
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.security.JwtProperties;
+import com.ivan.trainingdiary.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of authenticating a JWT in {@link com.ivan.trainingdiary.security.JwtTokenFilter}.
+ * {@code twoParsersPerRequest} reproduces the former filter, which built a parser and verified the signature
+ * once in {@code validateToken} and again in {@code getLoginFromToken}.
+ *
+ * @author sergeenkovv
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "cGFzc3dvcmRmb3JJdmFuZ2lnYWNoYWRvdmljaA==";
+
+    private Key key;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenProvider cachingJwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtTokenProvider = provider(0);
+        cachingJwtTokenProvider = provider(10_000);
+        token = jwtTokenProvider.createAccessToken("vanya", Role.CLIENT);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTokenProvider.createAccessToken("vanya", Role.CLIENT);
+    }
+
+    @Benchmark
+    public String twoParsersPerRequest() {
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            return null;
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtTokenProvider.parse(token).getSubject();
+    }
+
+    @Benchmark
+    public String parseCached() {
+        return cachingJwtTokenProvider.parse(token).getSubject();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    private JwtTokenProvider provider(long verifiedTokenCacheSize) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setAccess(3600000L);
+        jwtProperties.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+        JwtTokenProvider provider = new JwtTokenProvider(jwtProperties);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ivan.benchmarks;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.repository.TrainingRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible training histories for the benchmarks.
+ *
+ * @author sergeenkovv
+ */
+final class TrainingData {
+
+    private static final List<TrainingType> TRAINING_TYPES = List.of(
+            TrainingType.builder().id(1L).typeName("BACK").build(),
+            TrainingType.builder().id(2L).typeName("LEGS").build(),
+            TrainingType.builder().id(3L).typeName("CHEST").build(),
+            TrainingType.builder().id(4L).typeName("ARMS").build());
+
+    private TrainingData() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Generates the training history of one athlete, one training per day in random order.
+     *
+     * @param size the number of trainings
+     * @return a mutable list of trainings
+     */
+    static List<Training> trainings(int size) {
+        Random random = new Random(42);
+        Athlete athlete = Athlete.builder().id(1L).login("vanya").password("password").role(Role.CLIENT).build();
+        LocalDate firstDate = LocalDate.of(2000, 1, 1);
+        List<Training> trainings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            trainings.add(Training.builder()
+                    .id((long) i)
+                    .setsAmount(1 + random.nextInt(20))
+                    .date(firstDate.plusDays(i))
+                    .trainingType(TRAINING_TYPES.get(random.nextInt(TRAINING_TYPES.size())))
+                    .athlete(athlete)
+                    .build());
+        }
+        Collections.shuffle(trainings, random);
+        return trainings;
+    }
+
+    /**
+     * Creates a repository whose {@code findPageByAthleteIdOrderByDate} and {@code findPageByAthleteIdOrderBySetsAmount}
+     * return copies of keyset pages of the given trainings, sorted once up front the way the database sorts them.
+     * Other methods are not supported.
+     *
+     * @param trainings the trainings to page through
+     * @return the repository
+     */
+    static TrainingRepository repository(List<Training> trainings) {
+        List<Training> byDate = sorted(trainings, Comparator.comparing(Training::getDate));
+        List<Training> bySetsAmount = sorted(trainings, Comparator.comparing(Training::getSetsAmount));
+        Map<Long, Integer> byDatePositions = positions(byDate);
+        Map<Long, Integer> bySetsAmountPositions = positions(bySetsAmount);
+        return (TrainingRepository) Proxy.newProxyInstance(
+                TrainingRepository.class.getClassLoader(),
+                new Class<?>[]{TrainingRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findPageByAthleteIdOrderByDate" -> page(byDate, byDatePositions, (Long) args[2], (int) args[3]);
+                    case "findPageByAthleteIdOrderBySetsAmount" ->
+                            page(bySetsAmount, bySetsAmountPositions, (Long) args[2], (int) args[3]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<Training> sorted(List<Training> trainings, Comparator<Training> order) {
+        List<Training> sorted = new ArrayList<>(trainings);
+        sorted.sort(order.thenComparing(Training::getId).reversed());
+        return sorted;
+    }
+
+    private static Map<Long, Integer> positions(List<Training> sorted) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            positions.put(sorted.get(i).getId(), i);
+        }
+        return positions;
+    }
+
+    private static List<Training> page(List<Training> sorted, Map<Long, Integer> positions, Long afterId, int limit) {
+        int from = afterId == null ? 0 : positions.get(afterId) + 1;
+        return new ArrayList<>(sorted.subList(from, Math.min(from + limit, sorted.size())));
+    }
+}
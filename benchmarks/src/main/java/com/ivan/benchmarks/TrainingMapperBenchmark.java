@@ -0,0 +1,51 @@
+package com.ivan.benchmarks;
+
+import com.ivan.trainingdiary.dto.TrainingResponse;
+import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.model.Training;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TrainingMapper#toDtoList} on training histories of different sizes.
+ *
+ * @author sergeenkovv
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrainingMapperBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private TrainingMapper trainingMapper;
+    private List<Training> trainings;
+
+    @Setup
+    public void setUp() {
+        trainingMapper = Mappers.getMapper(TrainingMapper.class);
+        trainings = TrainingData.trainings(size);
+    }
+
+    @Benchmark
+    public List<TrainingResponse> toDtoList() {
+        return trainingMapper.toDtoList(trainings);
+    }
+}
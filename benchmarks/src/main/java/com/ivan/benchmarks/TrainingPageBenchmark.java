@@ -0,0 +1,69 @@
+package com.ivan.benchmarks;
+
+import com.ivan.trainingdiary.model.TrainingPage;
+import com.ivan.trainingdiary.service.impl.TrainingServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures paging through a whole training history with the keyset pages of {@link TrainingServiceImpl},
+ * as the history endpoints do: decoding the cursor, trimming the page and encoding the next cursor.
+ * The repository is replaced by an in-memory stub serving presorted pages, so the scores include no database access.
+ *
+ * @author sergeenkovv
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrainingPageBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private TrainingServiceImpl trainingService;
+
+    @Setup
+    public void setUp() {
+        trainingService = new TrainingServiceImpl(TrainingData.repository(TrainingData.trainings(size)), null, null, null, null);
+    }
+
+    @Benchmark
+    public int pageByDate() {
+        int trainings = 0;
+        String cursor = null;
+        do {
+            TrainingPage page = trainingService.getTrainingsPageSortedByDate(1L, cursor, PAGE_SIZE);
+            trainings += page.getTrainings().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return trainings;
+    }
+
+    @Benchmark
+    public int pageBySetsAmount() {
+        int trainings = 0;
+        String cursor = null;
+        do {
+            TrainingPage page = trainingService.getTrainingsPageSortedBySetsAmount(1L, cursor, PAGE_SIZE);
+            trainings += page.getTrainings().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return trainings;
+    }
+}
@@ -1,16 +1,25 @@
 package com.ivan.loggingstarter.aspects;
 
+import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.loggingstarter.config.LoggingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.util.StopWatch;
-import com.ivan.loggingstarter.annotations.LoggableInfo;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Logs method execution info.
+ * Records method execution times.
+ * Every method gets a {@code method.execution} timer tagged with its class and name;
+ * only calls reaching the slow call threshold are logged.
  *
  * @author sergeenkovv
  */
@@ -18,32 +27,62 @@ import com.ivan.loggingstarter.annotations.LoggableInfo;
 @Slf4j
 public class LoggingMethodExecutionAspect {
 
+    private static final String TIMER_NAME = "method.execution";
+
+    private final MeterRegistry meterRegistry;
+    private final LoggingProperties loggingProperties;
+    private final long slowCallThresholdNanos;
+    private final Map<Method, MethodMetadata> metadata = new ConcurrentHashMap<>();
+
+    public LoggingMethodExecutionAspect(MeterRegistry meterRegistry, LoggingProperties loggingProperties) {
+        this.meterRegistry = meterRegistry;
+        this.loggingProperties = loggingProperties;
+        this.slowCallThresholdNanos = loggingProperties.getSlowCallThreshold().toNanos();
+    }
+
     @Pointcut("(within(@com.ivan.loggingstarter.annotations.LoggableInfo *) || execution(@com.ivan.loggingstarter.annotations.LoggableInfo * *(..))) && execution(* *(..))")
     public void annotatedByLoggable() {
     }
 
     @Around("annotatedByLoggable()")
     public Object logMethodExecution(ProceedingJoinPoint pjp) throws Throwable {
-        var methodSignature = (MethodSignature) pjp.getSignature();
-        var methodName = methodSignature.getName();
-        var className = methodSignature.getDeclaringType().getSimpleName();
-
-        log.info("Executing method {} in class {}", methodName, className);
+        long start = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            MethodMetadata methodMetadata = metadata.computeIfAbsent(
+                    ((MethodSignature) pjp.getSignature()).getMethod(), this::resolve);
+            methodMetadata.timer().record(duration, TimeUnit.NANOSECONDS);
+            if (duration >= slowCallThresholdNanos) {
+                log.warn("Method {} in class {} completed in {} ms | {}", methodMetadata.methodName(),
+                        methodMetadata.className(), TimeUnit.NANOSECONDS.toMillis(duration), methodMetadata.name());
+            }
+        }
+    }
 
-        LoggableInfo loggableInfo = methodSignature.getMethod().getAnnotation(LoggableInfo.class);
+    /**
+     * Resolves the {@link LoggableInfo} name and the timer of a method. Called once per method.
+     */
+    private MethodMetadata resolve(Method method) {
+        LoggableInfo loggableInfo = method.getAnnotation(LoggableInfo.class);
         if (loggableInfo == null) {
-            loggableInfo = methodSignature.getMethod().getDeclaringClass().getAnnotation(LoggableInfo.class);
+            loggableInfo = method.getDeclaringClass().getAnnotation(LoggableInfo.class);
         }
-
         String name = (loggableInfo != null) ? loggableInfo.name() : "";
+        String className = method.getDeclaringClass().getSimpleName();
 
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        var result = pjp.proceed();
-        stopWatch.stop();
+        Timer timer = Timer.builder(TIMER_NAME)
+                .description("Execution time of methods annotated with @LoggableInfo")
+                .tag("class", className)
+                .tag("method", method.getName())
+                .publishPercentiles(loggingProperties.getPercentiles())
+                .publishPercentileHistogram(loggingProperties.isHistogram())
+                .register(meterRegistry);
 
-        log.info("Method {} in class {} completed in {} ms | {}", methodName, className, stopWatch.getTotalTimeMillis(), name);
+        return new MethodMetadata(className, method.getName(), name, timer);
+    }
 
-        return result;
+    private record MethodMetadata(String className, String methodName, String name, Timer timer) {
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,9 @@
 package com.ivan.loggingstarter.config;
 
 import com.ivan.loggingstarter.aspects.LoggingMethodExecutionAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +13,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 /**
  * Autoconfiguration for logging.
  * Enables the {@link LoggingMethodExecutionAspect} if the app.common.logging.enabled property is set to true.
+ * The method timers are registered in the application's {@link MeterRegistry}, or in the global registry if there is none.
  *
  * @author sergeenkovv
  */
@@ -25,7 +29,8 @@ public class LoggingAutoConfiguration {
      * @return Instance of {@code LoggingMethodExecutionAspect}
      */
     @Bean
-    LoggingMethodExecutionAspect loggingMethodExecutionAspect() {
-        return new LoggingMethodExecutionAspect();
+    LoggingMethodExecutionAspect loggingMethodExecutionAspect(ObjectProvider<MeterRegistry> meterRegistry,
+                                                              LoggingProperties loggingProperties) {
+        return new LoggingMethodExecutionAspect(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), loggingProperties);
     }
 }
\ No newline at end of file
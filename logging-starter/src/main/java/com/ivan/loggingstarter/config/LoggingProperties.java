@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for logging.
  *
@@ -15,4 +17,19 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class LoggingProperties {
 
     private boolean enabled = true;
-}
\ No newline at end of file
+
+    /**
+     * Calls taking at least this long are logged; faster calls are only recorded in the timers.
+     */
+    private Duration slowCallThreshold = Duration.ofMillis(500);
+
+    /**
+     * Percentiles published for every method timer.
+     */
+    private double[] percentiles = {0.5, 0.95, 0.99};
+
+    /**
+     * Whether the method timers publish a histogram, so that percentiles can be aggregated across instances.
+     */
+    private boolean histogram = true;
+}
@@ -0,0 +1,207 @@
+package com.ivan.loggingstarter.aspects;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.loggingstarter.config.LoggingProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("loggingMethodExecutionAspect test")
+class LoggingMethodExecutionAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoggingProperties loggingProperties;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loggingProperties = new LoggingProperties();
+        loggingProperties.setHistogram(false);
+        logger = (Logger) LoggerFactory.getLogger(LoggingMethodExecutionAspect.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @DisplayName("every call is recorded in the method.execution timer tagged with its class and method")
+    @Test
+    void logMethodExecution_RecordsTimer() {
+        AnnotatedService service = proxy(new AnnotatedService(), newAspect(Duration.ofHours(1)));
+
+        service.classLevel();
+        service.classLevel();
+        service.methodLevel();
+
+        Timer classLevel = meterRegistry.get("method.execution")
+                .tag("class", "AnnotatedService")
+                .tag("method", "classLevel")
+                .timer();
+        Timer methodLevel = meterRegistry.get("method.execution")
+                .tag("class", "AnnotatedService")
+                .tag("method", "methodLevel")
+                .timer();
+        assertThat(classLevel.count()).isEqualTo(2);
+        assertThat(methodLevel.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("method.execution").timers()).hasSize(2);
+    }
+
+    @DisplayName("the metadata of a method is resolved once and reused by later calls")
+    @Test
+    void logMethodExecution_ResolvesMetadataOnce() {
+        LoggingMethodExecutionAspect aspect = newAspect(Duration.ofHours(1));
+        AnnotatedService service = proxy(new AnnotatedService(), aspect);
+        Map<Method, ?> metadata = metadata(aspect);
+
+        service.classLevel();
+        Object resolved = metadata.values().iterator().next();
+        service.classLevel();
+        service.classLevel();
+
+        assertThat(metadata).hasSize(1);
+        assertThat(metadata.values().iterator().next()).isSameAs(resolved);
+
+        service.methodLevel();
+
+        assertThat(metadata).hasSize(2);
+    }
+
+    @DisplayName("a method annotation takes precedence over the class annotation")
+    @Test
+    void logMethodExecution_MethodAnnotationOverridesClass() {
+        AnnotatedService service = proxy(new AnnotatedService(), newAspect(Duration.ZERO));
+
+        service.classLevel();
+        service.methodLevel();
+
+        assertThat(warnings()).hasSize(2);
+        assertThat(warnings().get(0)).startsWith("Method classLevel in class AnnotatedService").endsWith("| class-level");
+        assertThat(warnings().get(1)).startsWith("Method methodLevel in class AnnotatedService").endsWith("| method-level");
+    }
+
+    @DisplayName("only annotated methods of a class without the annotation are intercepted")
+    @Test
+    void logMethodExecution_MethodOnlyAnnotation() {
+        PartlyAnnotatedService service = proxy(new PartlyAnnotatedService(), newAspect(Duration.ZERO));
+
+        service.annotated();
+        service.notAnnotated();
+
+        assertThat(warnings()).singleElement().asString().endsWith("| annotated-only");
+        assertThat(meterRegistry.find("method.execution").tag("method", "notAnnotated").timer()).isNull();
+    }
+
+    @DisplayName("calls faster than the slow call threshold are not logged")
+    @Test
+    void logMethodExecution_BelowThreshold_NotLogged() {
+        AnnotatedService service = proxy(new AnnotatedService(), newAspect(Duration.ofHours(1)));
+
+        service.classLevel();
+
+        assertThat(warnings()).isEmpty();
+    }
+
+    @DisplayName("calls reaching the slow call threshold are logged at WARN")
+    @Test
+    void logMethodExecution_AtThreshold_Logged() {
+        AnnotatedService service = proxy(new AnnotatedService(), newAspect(Duration.ofMillis(20)));
+
+        service.sleep(25);
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getLevel)
+                .isEqualTo(Level.WARN);
+    }
+
+    @DisplayName("a slow call that throws is recorded and logged and the exception is passed on")
+    @Test
+    void logMethodExecution_Throws_LoggedAndRethrown() {
+        AnnotatedService service = proxy(new AnnotatedService(), newAspect(Duration.ZERO));
+
+        assertThrows(IllegalStateException.class, service::fail);
+
+        assertThat(warnings()).singleElement().asString().startsWith("Method fail in class AnnotatedService");
+        assertThat(meterRegistry.get("method.execution").tag("method", "fail").timer().count()).isEqualTo(1);
+    }
+
+    private LoggingMethodExecutionAspect newAspect(Duration slowCallThreshold) {
+        loggingProperties.setSlowCallThreshold(slowCallThreshold);
+        return new LoggingMethodExecutionAspect(meterRegistry, loggingProperties);
+    }
+
+    private static <T> T proxy(T target, LoggingMethodExecutionAspect aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Method, ?> metadata(LoggingMethodExecutionAspect aspect) {
+        return (Map<Method, ?>) ReflectionTestUtils.getField(aspect, "metadata");
+    }
+
+    private List<String> warnings() {
+        return appender.list.stream()
+                .filter(event -> event.getLevel() == Level.WARN)
+                .map(ILoggingEvent::getFormattedMessage)
+                .toList();
+    }
+
+    @LoggableInfo(name = "class-level")
+    public static class AnnotatedService {
+
+        public void classLevel() {
+        }
+
+        @LoggableInfo(name = "method-level")
+        public void methodLevel() {
+        }
+
+        public void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    public static class PartlyAnnotatedService {
+
+        @LoggableInfo(name = "annotated-only")
+        public void annotated() {
+        }
+
+        public void notAnnotated() {
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ivan.trainingdiary.reactive;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.security.JwtProperties;
+import com.ivan.trainingdiary.security.JwtTokenProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive variant of the client and trainer APIs, served by WebFlux on Netty with R2DBC repositories.
+ * It shares the models, DTOs, mappers and access tokens of the servlet application and runs against its database.
+ *
+ * @author sergeenkovv
+ */
+@SpringBootApplication(scanBasePackages = {"com.ivan.trainingdiary.reactive", "com.ivan.trainingdiary.mapper"})
+@Import({JwtProperties.class, JwtTokenProvider.class, CacheProperties.class})
+public class ReactiveTrainingDiaryApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTrainingDiaryApplication.class, args);
+    }
+}
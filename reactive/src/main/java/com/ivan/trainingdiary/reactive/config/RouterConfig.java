@@ -0,0 +1,67 @@
+package com.ivan.trainingdiary.reactive.config;
+
+import com.ivan.trainingdiary.reactive.handler.ClientHandler;
+import com.ivan.trainingdiary.reactive.handler.ExceptionHandlerFilter;
+import com.ivan.trainingdiary.reactive.handler.TrainerHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Configuration class for the functional routes of the reactive API.
+ * Paths, parameters and bodies are those of the servlet application's client and trainer controllers.
+ *
+ * @author sergeenkovv
+ */
+@Configuration
+public class RouterConfig {
+
+    /**
+     * Routes of the client API.
+     *
+     * @param clientHandler          the handler of the client API
+     * @param exceptionHandlerFilter the filter turning errors into responses
+     * @return the routes under {@code /api/client}
+     */
+    @Bean
+    public RouterFunction<ServerResponse> clientRoutes(ClientHandler clientHandler,
+                                                       ExceptionHandlerFilter exceptionHandlerFilter) {
+        return RouterFunctions.route()
+                .path("/api/client", builder -> builder
+                        .GET("/training-types/show-all", clientHandler::showAllTrainingTypes)
+                        .GET("/training/show-by-date", clientHandler::showTrainingByDate)
+                        .GET("/training/show-by-sets-amount", clientHandler::showTrainingBySetsAmount)
+                        .POST("/training/add", clientHandler::addTraining)
+                        .DELETE("/training/delete", clientHandler::deleteTraining)
+                        .PUT("/training/edit", clientHandler::editTraining)
+                        .GET("/training/export", clientHandler::exportTrainings))
+                .filter(exceptionHandlerFilter)
+                .build();
+    }
+
+    /**
+     * Routes of the trainer API.
+     *
+     * @param trainerHandler         the handler of the trainer API
+     * @param exceptionHandlerFilter the filter turning errors into responses
+     * @return the routes under {@code /api/trainer}
+     */
+    @Bean
+    public RouterFunction<ServerResponse> trainerRoutes(TrainerHandler trainerHandler,
+                                                        ExceptionHandlerFilter exceptionHandlerFilter) {
+        return RouterFunctions.route()
+                .path("/api/trainer", builder -> builder
+                        .POST("/training-types/add", trainerHandler::addTrainingType)
+                        .DELETE("/training-types/delete", trainerHandler::deleteTrainingType)
+                        .GET("/athlete/show-all", trainerHandler::showAllAthletes)
+                        .GET("/training-types/show-all", trainerHandler::showAllTrainingTypes)
+                        .GET("/training/show-by-date", trainerHandler::showTrainingByDate)
+                        .GET("/training/show-by-sets-amount", trainerHandler::showTrainingBySetsAmount)
+                        .GET("/training/show-recent", trainerHandler::showRecentTrainings)
+                        .GET("/training/export", trainerHandler::exportTrainings))
+                .filter(exceptionHandlerFilter)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ivan.trainingdiary.reactive.config;
+
+import com.ivan.trainingdiary.reactive.security.JwtAuthenticationManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Configuration class for security settings of the reactive API.
+ * Requests are authenticated by their bearer access token only; nothing is kept between requests.
+ *
+ * @author sergeenkovv
+ */
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class SecurityConfig {
+
+    private final JwtAuthenticationManager jwtAuthenticationManager;
+
+    /**
+     * Configures the security filter chain for HTTP requests.
+     *
+     * @param http the ServerHttpSecurity object
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        HttpStatusServerEntryPoint forbidden = new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN);
+
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+        jwtFilter.setServerAuthenticationConverter(jwtAuthenticationManager);
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(forbidden));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(ServerHttpSecurity.CorsSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(forbidden))
+                .authorizeExchange(exchange -> exchange.anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
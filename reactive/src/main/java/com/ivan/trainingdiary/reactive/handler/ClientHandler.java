@@ -0,0 +1,138 @@
+package com.ivan.trainingdiary.reactive.handler;
+
+import com.ivan.trainingdiary.dto.*;
+import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
+import com.ivan.trainingdiary.reactive.service.ReactiveAthleteService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static com.ivan.trainingdiary.reactive.handler.HandlerSupport.*;
+
+/**
+ * Handler of the client API, mirroring the client controller of the servlet application.
+ *
+ * @author sergeenkovv
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientHandler {
+
+    private final ReactiveAthleteService athleteService;
+    private final ReactiveTrainingService trainingService;
+    private final ReactiveTrainingTypeService trainingTypeService;
+    private final TrainingMapper trainingMapper;
+    private final TrainingTypeMapper trainingTypeMapper;
+
+    /**
+     * Show all training type.
+     *
+     * @param request with the login of athlete
+     * @return {@link ServerResponse} with list of {@link TrainingTypeResponse}
+     */
+    public Mono<ServerResponse> showAllTrainingTypes(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        return ifValidLogin(request, login, "Incorrect login!", () -> trainingTypeService.getAllTrainingTypes()
+                .collectList()
+                .flatMap(trainingTypes -> ServerResponse.ok()
+                        .bodyValue(new TrainingTypesListResponse(trainingTypeMapper.toDtoList(trainingTypes)))));
+    }
+
+    /**
+     * Show trainings by date.
+     *
+     * @param request with the login of athlete, the cursor of the next page and the size of the page
+     * @return {@link ServerResponse} with a page of {@link TrainingResponse}
+     */
+    public Mono<ServerResponse> showTrainingByDate(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        String cursor = request.queryParam("cursor").orElse(null);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(login)
+                .flatMap(athlete -> trainingService.getTrainingsPageSortedByDate(athlete.getId(), cursor, size))
+                .flatMap(page -> ServerResponse.ok().bodyValue(new TrainingHistoryPageResponse(login,
+                        trainingMapper.toDtoList(page.getTrainings()), page.getNextCursor()))));
+    }
+
+    /**
+     * Show trainings by sets amount.
+     *
+     * @param request with the login of athlete, the cursor of the next page and the size of the page
+     * @return {@link ServerResponse} with a page of {@link TrainingResponse}
+     */
+    public Mono<ServerResponse> showTrainingBySetsAmount(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        String cursor = request.queryParam("cursor").orElse(null);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(login)
+                .flatMap(athlete -> trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), cursor, size))
+                .flatMap(page -> ServerResponse.ok().bodyValue(new TrainingHistoryPageResponse(login,
+                        trainingMapper.toDtoList(page.getTrainings()), page.getNextCursor()))));
+    }
+
+    /**
+     * Add a training.
+     *
+     * @param request with {@link TrainingRequest}
+     * @return {@link ServerResponse} with {@link SuccessResponse}
+     */
+    public Mono<ServerResponse> addTraining(ServerRequest request) {
+        return requiredBody(request, TrainingRequest.class)
+                .flatMap(body -> ifValidLogin(request, body.athleteLogin(), "Incorrect login", () ->
+                        athleteService.getByLogin(body.athleteLogin())
+                                .flatMap(athlete -> trainingService.addTraining(athlete.getId(), body.typeName(), body.setsAmount()))
+                                .then(ServerResponse.ok().bodyValue(new SuccessResponse("Training added successfully")))));
+    }
+
+    /**
+     * Delete a training.
+     *
+     * @param request with {@link TrainingDateRequest}
+     * @return {@link ServerResponse} with {@link SuccessResponse}
+     */
+    public Mono<ServerResponse> deleteTraining(ServerRequest request) {
+        return requiredBody(request, TrainingDateRequest.class)
+                .flatMap(body -> ifValidLogin(request, body.athleteLogin(), "Incorrect login", () ->
+                        athleteService.getByLogin(body.athleteLogin())
+                                .flatMap(athlete -> trainingService.deleteTraining(athlete.getId(), LocalDate.parse(body.date())))
+                                .then(ServerResponse.ok().bodyValue(new SuccessResponse("Training deleted successfully")))));
+    }
+
+    /**
+     * Edit a training.
+     *
+     * @param request with {@link TrainingEditRequest}
+     * @return {@link ServerResponse} with {@link SuccessResponse}
+     */
+    public Mono<ServerResponse> editTraining(ServerRequest request) {
+        return requiredBody(request, TrainingEditRequest.class)
+                .flatMap(body -> ifValidLogin(request, body.athleteLogin(), "Incorrect login", () ->
+                        athleteService.getByLogin(body.athleteLogin())
+                                .flatMap(athlete -> trainingService.editTraining(athlete.getId(), LocalDate.parse(body.date()),
+                                        body.typeName(), body.setsAmount()))
+                                .then(ServerResponse.ok().bodyValue(new SuccessResponse("Training edit successfully")))));
+    }
+
+    /**
+     * Export all trainings, newest first, as NDJSON or CSV.
+     * Trainings are written to the response while they are read from the database, at the pace of the client.
+     *
+     * @param request with the login of athlete and the format of the export, {@code ndjson} or {@code csv}
+     * @return {@link ServerResponse} with the streamed trainings
+     */
+    public Mono<ServerResponse> exportTrainings(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        TrainingExportWriter.Format format = TrainingExportWriter.Format.of(request.queryParam("format").orElse("ndjson"));
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(login)
+                .flatMap(athlete -> export(login,
+                        trainingService.getTrainingHistory(athlete.getId()).map(trainingMapper::toDto), format)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.ivan.trainingdiary.reactive.handler;
+
+import com.ivan.trainingdiary.dto.ExceptionResponse;
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.exception.AuthorizationException;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns the errors of the handlers into responses, with the statuses and messages
+ * of the global exception handler of the servlet application.
+ * Errors raised after a streamed response has started cannot change its status and end the response instead.
+ *
+ * @author sergeenkovv
+ */
+@Component
+public class ExceptionHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request)).onErrorResume(this::handleException);
+    }
+
+    private Mono<ServerResponse> handleException(Throwable e) {
+        if (e instanceof AuthorizationException) {
+            return respond(HttpStatus.UNAUTHORIZED, "Unauthorized! More information: " + e.getMessage());
+        }
+        if (e instanceof AthleteNotFoundException
+            || e instanceof InvalidArgumentException
+            || e instanceof IllegalArgumentException
+            || e instanceof IllegalStateException) {
+            return respond(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .bodyValue(new ExceptionResponse("The database is busy, try again later!"));
+        }
+        if (e instanceof NullPointerException) {
+            return respond(HttpStatus.FORBIDDEN, "Invalid request! Check the request body! More information: " + e.getMessage());
+        }
+        return respond(HttpStatus.NOT_FOUND, "Page not found! More information:" + e.getMessage());
+    }
+
+    private Mono<ServerResponse> respond(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(new ExceptionResponse(message));
+    }
+}
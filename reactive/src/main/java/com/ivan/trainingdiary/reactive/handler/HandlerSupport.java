@@ -0,0 +1,108 @@
+package com.ivan.trainingdiary.reactive.handler;
+
+import com.ivan.trainingdiary.dto.ExceptionResponse;
+import com.ivan.trainingdiary.dto.TrainingResponse;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import com.ivan.trainingdiary.reactive.security.ReactiveSecurityUtils;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Request parameter, login check and export helpers shared by the handlers.
+ *
+ * @author sergeenkovv
+ */
+final class HandlerSupport {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    private HandlerSupport() {
+    }
+
+    /**
+     * Gets a required query parameter.
+     *
+     * @throws InvalidArgumentException if the parameter is missing
+     */
+    static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new InvalidArgumentException("Required parameter '" + name + "' is not present!"));
+    }
+
+    /**
+     * Reads the required body of a request.
+     *
+     * @return the body, or failing with {@link InvalidArgumentException} if the request has no body
+     */
+    static <T> Mono<T> requiredBody(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new InvalidArgumentException("Required request body is missing!")));
+    }
+
+    /**
+     * Gets an integer query parameter, or the default value if it is missing.
+     *
+     * @throws NumberFormatException if the parameter is not a number
+     */
+    static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    /**
+     * Gets all values of a query parameter, splitting comma-separated values.
+     *
+     * @return the values, or {@code null} if the parameter is missing
+     */
+    static List<String> listParam(ServerRequest request, String name) {
+        List<String> values = request.queryParams().get(name);
+        if (values == null) {
+            return null;
+        }
+        return values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .toList();
+    }
+
+    /**
+     * Runs a handler if the login is the login of the authenticated athlete, and responds with 400 otherwise.
+     */
+    static Mono<ServerResponse> ifValidLogin(ServerRequest request, String login, String message,
+                                             Supplier<Mono<ServerResponse>> handler) {
+        return ReactiveSecurityUtils.isValidLogin(request, login)
+                .flatMap(valid -> valid
+                        ? handler.get()
+                        : ServerResponse.badRequest().bodyValue(new ExceptionResponse(message)));
+    }
+
+    /**
+     * Streams trainings as NDJSON or CSV. Rows are encoded and written as the client reads them,
+     * so a slow client slows down the database cursor instead of filling the memory.
+     *
+     * @param login     the login of the athlete, used in the file name
+     * @param trainings the trainings to write
+     * @param format    the export format
+     * @return the streamed response
+     */
+    static Mono<ServerResponse> export(String login, Flux<TrainingResponse> trainings, TrainingExportWriter.Format format) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(login + "-trainings." + format.getExtension())
+                        .build().toString());
+        if (format == TrainingExportWriter.Format.NDJSON) {
+            return response.body(trainings, TrainingResponse.class);
+        }
+        Flux<String> lines = Flux.just(TrainingExportWriter.CSV_HEADER + "\n")
+                .concatWith(trainings.map(training -> TrainingExportWriter.toCsvLine(training) + "\n"));
+        return response.body(lines, String.class);
+    }
+}
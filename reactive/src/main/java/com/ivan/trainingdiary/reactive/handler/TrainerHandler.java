@@ -0,0 +1,163 @@
+package com.ivan.trainingdiary.reactive.handler;
+
+import com.ivan.trainingdiary.dto.*;
+import com.ivan.trainingdiary.mapper.AthleteMapper;
+import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
+import com.ivan.trainingdiary.reactive.service.ReactiveAthleteService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.ivan.trainingdiary.reactive.handler.HandlerSupport.*;
+
+/**
+ * Handler of the trainer API, mirroring the trainer controller of the servlet application.
+ *
+ * @author sergeenkovv
+ */
+@Component
+@RequiredArgsConstructor
+public class TrainerHandler {
+
+    private static final int DEFAULT_RECENT_LIMIT = 5;
+
+    private final ReactiveAthleteService athleteService;
+    private final ReactiveTrainingService trainingService;
+    private final ReactiveTrainingTypeService trainingTypeService;
+    private final AthleteMapper athleteMapper;
+    private final TrainingMapper trainingMapper;
+    private final TrainingTypeMapper trainingTypeMapper;
+
+    /**
+     * Adds a new training type.
+     *
+     * @param request the request with the training type details
+     * @return the response with the status of the operation
+     */
+    public Mono<ServerResponse> addTrainingType(ServerRequest request) {
+        return requiredBody(request, TrainingTypeRequest.class)
+                .flatMap(body -> ifValidLogin(request, body.athleteLogin(), "Incorrect login!", () ->
+                        trainingTypeService.addTrainingType(body.typeName())
+                                .then(ServerResponse.ok().bodyValue(new SuccessResponse("Training type added successfully")))));
+    }
+
+    /**
+     * Deletes a training type.
+     *
+     * @param request the request with the training type details
+     * @return the response with the status of the operation
+     */
+    public Mono<ServerResponse> deleteTrainingType(ServerRequest request) {
+        return requiredBody(request, TrainingTypeRequest.class)
+                .flatMap(body -> ifValidLogin(request, body.athleteLogin(), "Incorrect login!", () ->
+                        trainingTypeService.deleteTrainingType(body.typeName())
+                                .then(ServerResponse.ok().bodyValue(new SuccessResponse("Training type deleted successfully")))));
+    }
+
+    /**
+     * Shows all athletes.
+     *
+     * @param request the request with the login of the trainer
+     * @return the response with the list of athletes
+     */
+    public Mono<ServerResponse> showAllAthletes(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getAllAthletes()
+                .collectList()
+                .flatMap(athletes -> ServerResponse.ok()
+                        .bodyValue(new AthletesListResponse(athleteMapper.toDtoList(athletes)))));
+    }
+
+    /**
+     * Shows all training types.
+     *
+     * @param request the request with the login of the trainer
+     * @return the response with the list of training types
+     */
+    public Mono<ServerResponse> showAllTrainingTypes(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        return ifValidLogin(request, login, "Incorrect login!", () -> trainingTypeService.getAllTrainingTypes()
+                .collectList()
+                .flatMap(trainingTypes -> ServerResponse.ok()
+                        .bodyValue(new TrainingTypesListResponse(trainingTypeMapper.toDtoList(trainingTypes)))));
+    }
+
+    /**
+     * Shows trainings of a client by date.
+     *
+     * @param request the request with the logins of the trainer and the client, the cursor of the next page
+     *                and the size of the page
+     * @return the response with a page of trainings sorted by date
+     */
+    public Mono<ServerResponse> showTrainingByDate(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        String loginClient = requiredParam(request, "loginClient");
+        String cursor = request.queryParam("cursor").orElse(null);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(loginClient)
+                .flatMap(athlete -> trainingService.getTrainingsPageSortedByDate(athlete.getId(), cursor, size))
+                .flatMap(page -> ServerResponse.ok().bodyValue(new TrainingHistoryPageResponse(loginClient,
+                        trainingMapper.toDtoList(page.getTrainings()), page.getNextCursor()))));
+    }
+
+    /**
+     * Shows trainings of a client by sets amount.
+     *
+     * @param request the request with the logins of the trainer and the client, the cursor of the next page
+     *                and the size of the page
+     * @return the response with a page of trainings sorted by sets amount
+     */
+    public Mono<ServerResponse> showTrainingBySetsAmount(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        String loginClient = requiredParam(request, "loginClient");
+        String cursor = request.queryParam("cursor").orElse(null);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(loginClient)
+                .flatMap(athlete -> trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), cursor, size))
+                .flatMap(page -> ServerResponse.ok().bodyValue(new TrainingHistoryPageResponse(loginClient,
+                        trainingMapper.toDtoList(page.getTrainings()), page.getNextCursor()))));
+    }
+
+    /**
+     * Shows the latest trainings of all clients, or of the given clients, loaded with a single query.
+     *
+     * @param request the request with the login of the trainer, the logins of the clients, absent for all clients,
+     *                and the maximum number of trainings per client
+     * @return the response with the latest trainings of each client
+     */
+    public Mono<ServerResponse> showRecentTrainings(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        List<String> loginClients = listParam(request, "loginClients");
+        int limit = intParam(request, "limit", DEFAULT_RECENT_LIMIT);
+        return ifValidLogin(request, login, "Incorrect login!", () -> trainingService.getRecentTrainingsOfClients(loginClients, limit)
+                .map(trainingsByLogin -> trainingsByLogin.entrySet().stream()
+                        .map(entry -> new TrainingHistoryResponse(entry.getKey(), trainingMapper.toDtoList(entry.getValue())))
+                        .toList())
+                .flatMap(athletes -> ServerResponse.ok().bodyValue(new TrainingHistoriesResponse(athletes))));
+    }
+
+    /**
+     * Exports all trainings of a client, newest first, as NDJSON or CSV.
+     * Trainings are written to the response while they are read from the database, at the pace of the client.
+     *
+     * @param request the request with the logins of the trainer and the client and the export format,
+     *                {@code ndjson} or {@code csv}
+     * @return the response with the streamed trainings
+     */
+    public Mono<ServerResponse> exportTrainings(ServerRequest request) {
+        String login = requiredParam(request, "login");
+        String loginClient = requiredParam(request, "loginClient");
+        TrainingExportWriter.Format format = TrainingExportWriter.Format.of(request.queryParam("format").orElse("ndjson"));
+        return ifValidLogin(request, login, "Incorrect login!", () -> athleteService.getByLogin(loginClient)
+                .flatMap(athlete -> export(loginClient,
+                        trainingService.getTrainingHistory(athlete.getId()).map(trainingMapper::toDto), format)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.ivan.trainingdiary.reactive.repository;
+
+import com.ivan.trainingdiary.model.Athlete;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to athlete data.
+ * Athletes are always loaded without their password hashes: the reactive API never verifies passwords.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveAthleteRepository {
+
+    /**
+     * Finds an athlete by login.
+     *
+     * @param login The login of the athlete.
+     * @return A {@link Mono} with the athlete, or an empty {@link Mono} if there is no athlete with this login.
+     */
+    Mono<Athlete> findByLogin(String login);
+
+    /**
+     * Finds all athletes.
+     *
+     * @return A {@link Flux} of all athletes.
+     */
+    Flux<Athlete> findAll();
+}
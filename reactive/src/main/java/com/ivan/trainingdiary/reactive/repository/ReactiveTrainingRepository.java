@@ -0,0 +1,92 @@
+package com.ivan.trainingdiary.reactive.repository;
+
+import com.ivan.trainingdiary.model.Training;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Non-blocking access to training data.
+ * Trainings are loaded together with their training type and athlete, the athlete without a password hash.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveTrainingRepository {
+
+    /**
+     * Streams all trainings of an athlete sorted by date and ID in descending order.
+     * Rows are fetched from the database as the subscriber requests them.
+     *
+     * @param athleteId The ID of the athlete.
+     * @return A {@link Flux} of the athlete's trainings.
+     */
+    Flux<Training> findAllByAthleteIdOrderByDate(Long athleteId);
+
+    /**
+     * Finds a page of an athlete's trainings sorted by date and ID in descending order.
+     * The page starts right after the given keyset position, or at the beginning if no position is given.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param afterDate The date of the last training of the previous page, or {@code null} for the first page.
+     * @param afterId   The ID of the last training of the previous page, or {@code null} for the first page.
+     * @param limit     The maximum number of trainings to return.
+     * @return A {@link Flux} of at most {@code limit} trainings.
+     */
+    Flux<Training> findPageByAthleteIdOrderByDate(Long athleteId, LocalDate afterDate, Long afterId, int limit);
+
+    /**
+     * Finds a page of an athlete's trainings sorted by sets amount and ID in descending order.
+     * The page starts right after the given keyset position, or at the beginning if no position is given.
+     *
+     * @param athleteId       The ID of the athlete.
+     * @param afterSetsAmount The sets amount of the last training of the previous page, or {@code null} for the first page.
+     * @param afterId         The ID of the last training of the previous page, or {@code null} for the first page.
+     * @param limit           The maximum number of trainings to return.
+     * @return A {@link Flux} of at most {@code limit} trainings.
+     */
+    Flux<Training> findPageByAthleteIdOrderBySetsAmount(Long athleteId, Integer afterSetsAmount, Long afterId, int limit);
+
+    /**
+     * Finds the latest trainings of several clients with a single query.
+     *
+     * @param logins          The logins of the clients, or {@code null} for all clients.
+     * @param limitPerAthlete The maximum number of trainings per client.
+     * @return A {@link Flux} of trainings ordered by client login, then by date and ID in descending order.
+     */
+    Flux<Training> findRecentOfClients(List<String> logins, int limitPerAthlete);
+
+    /**
+     * Finds the training of an athlete on a date.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param date      The date of the training.
+     * @return A {@link Mono} with the training, or an empty {@link Mono} if the athlete did not train on this date.
+     */
+    Mono<Training> findByAthleteIdAndTrainingDate(Long athleteId, LocalDate date);
+
+    /**
+     * Inserts a training unless the athlete already has a training on its date.
+     *
+     * @param training The training to insert.
+     * @return A {@link Mono} with the training and its generated ID, or an empty {@link Mono} if it was not inserted.
+     */
+    Mono<Training> saveIfAbsent(Training training);
+
+    /**
+     * Updates the training type and sets amount of a training.
+     *
+     * @param training The training to update.
+     * @return A {@link Mono} completing when the training is updated.
+     */
+    Mono<Void> update(Training training);
+
+    /**
+     * Deletes a training by ID.
+     *
+     * @param id The ID of the training.
+     * @return A {@link Mono} with {@code true} if the training was deleted, {@code false} otherwise.
+     */
+    Mono<Boolean> delete(Long id);
+}
@@ -0,0 +1,44 @@
+package com.ivan.trainingdiary.reactive.repository;
+
+import com.ivan.trainingdiary.model.TrainingType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to training type data.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveTrainingTypeRepository {
+
+    /**
+     * Finds all training types.
+     *
+     * @return A {@link Flux} of all training types.
+     */
+    Flux<TrainingType> findAll();
+
+    /**
+     * Finds a training type by name.
+     *
+     * @param typeName The name of the training type.
+     * @return A {@link Mono} with the training type, or an empty {@link Mono} if there is no such type.
+     */
+    Mono<TrainingType> findByTypeName(String typeName);
+
+    /**
+     * Saves a new training type.
+     *
+     * @param trainingType The training type to save.
+     * @return A {@link Mono} with the saved training type and its generated ID.
+     */
+    Mono<TrainingType> save(TrainingType trainingType);
+
+    /**
+     * Deletes a training type by ID.
+     *
+     * @param id The ID of the training type.
+     * @return A {@link Mono} with {@code true} if the training type was deleted, {@code false} otherwise.
+     */
+    Mono<Boolean> delete(Long id);
+}
@@ -0,0 +1,55 @@
+package com.ivan.trainingdiary.reactive.repository.impl;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.reactive.repository.ReactiveAthleteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC implementation of the {@link ReactiveAthleteRepository} interface.
+ *
+ * @author sergeenkovv
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcAthleteRepository implements ReactiveAthleteRepository {
+
+    private static final String SQL_FIND_BY_LOGIN = """
+            SELECT id, login, role FROM develop.athletes WHERE login = $1
+            """;
+
+    private static final String SQL_FIND_ALL = """
+            SELECT id, login, role FROM develop.athletes
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Searches for an athlete by login.
+     *
+     * @param login the athlete's login
+     * @return the athlete with the given login without a password hash, or empty if not found
+     */
+    @Override
+    public Mono<Athlete> findByLogin(String login) {
+        return databaseClient.sql(SQL_FIND_BY_LOGIN)
+                .bind(0, login)
+                .map(RowMappers.ATHLETE_WITHOUT_PASSWORD)
+                .one();
+    }
+
+    /**
+     * Retrieves all athletes from the database without their password hashes.
+     *
+     * @return all athletes
+     */
+    @Override
+    public Flux<Athlete> findAll() {
+        return databaseClient.sql(SQL_FIND_ALL)
+                .map(RowMappers.ATHLETE_WITHOUT_PASSWORD)
+                .all();
+    }
+}
@@ -0,0 +1,261 @@
+package com.ivan.trainingdiary.reactive.repository.impl;
+
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.reactive.repository.ReactiveTrainingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * R2DBC implementation of the {@link ReactiveTrainingRepository} interface.
+ * Trainings are loaded together with their training type and athlete in a single JOIN query,
+ * with the same statements as the JDBC repository of the servlet application.
+ *
+ * @author sergeenkovv
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcTrainingRepository implements ReactiveTrainingRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SQL_SELECT_TRAINING = """
+            SELECT t.id, t.sets_amount, t.date,
+                   tt.id AS type_id, tt.type_name,
+                   a.id AS athlete_id, a.login, a.role
+            FROM develop.trainings t
+                LEFT JOIN develop.training_types tt ON tt.id = t.type_id
+                LEFT JOIN develop.athletes a ON a.id = t.athlete_id
+            """;
+
+    private static final String SQL_FIND_ALL_BY_ATHLETE_ID_ORDER_BY_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1
+            ORDER BY t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1
+            ORDER BY t.date DESC, t.id DESC
+            LIMIT $2
+            """;
+
+    private static final String SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1 AND (t.date, t.id) < ($2, $3)
+            ORDER BY t.date DESC, t.id DESC
+            LIMIT $4
+            """;
+
+    private static final String SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1
+            ORDER BY t.sets_amount DESC, t.id DESC
+            LIMIT $2
+            """;
+
+    private static final String SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1 AND (t.sets_amount, t.id) < ($2, $3)
+            ORDER BY t.sets_amount DESC, t.id DESC
+            LIMIT $4
+            """;
+
+    private static final String SQL_SELECT_RECENT_OF_CLIENTS = """
+            SELECT t.id, t.sets_amount, t.date,
+                   tt.id AS type_id, tt.type_name,
+                   a.id AS athlete_id, a.login, a.role
+            FROM develop.athletes a
+                CROSS JOIN LATERAL (
+                    SELECT id, sets_amount, date, type_id
+                    FROM develop.trainings
+                    WHERE athlete_id = a.id
+                    ORDER BY date DESC, id DESC
+                    LIMIT $1
+                ) t
+                LEFT JOIN develop.training_types tt ON tt.id = t.type_id
+            WHERE a.role = 'CLIENT'
+            """;
+
+    private static final String SQL_FIND_RECENT_OF_ALL_CLIENTS = SQL_SELECT_RECENT_OF_CLIENTS + """
+            ORDER BY a.login, t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_RECENT_OF_CLIENTS = SQL_SELECT_RECENT_OF_CLIENTS + """
+              AND a.login = ANY ($2)
+            ORDER BY a.login, t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_BY_ATHLETE_ID_AND_TRAINING_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = $1 AND t.date = $2
+            """;
+
+    private static final String SQL_DELETE = """
+            DELETE FROM develop.trainings WHERE id = $1
+            """;
+
+    private static final String SQL_UPDATE = """
+            UPDATE develop.trainings
+            SET sets_amount = $1,
+                type_id = $2
+            WHERE id = $3
+            """;
+
+    private static final String SQL_SAVE_IF_ABSENT = """
+            INSERT INTO develop.trainings (sets_amount, date, type_id, athlete_id) VALUES ($1, $2, $3, $4)
+            ON CONFLICT (athlete_id, date) DO NOTHING
+            RETURNING id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Streams all training sessions of a given athlete id, newest first.
+     * Rows are fetched in chunks of {@value #FETCH_SIZE} as the subscriber requests them,
+     * so a slow subscriber holds back the query instead of having the rows buffered in memory.
+     *
+     * @param athleteId the athlete's id
+     * @return training sessions sorted by date and id in descending order
+     */
+    @Override
+    public Flux<Training> findAllByAthleteIdOrderByDate(Long athleteId) {
+        return databaseClient.sql(SQL_FIND_ALL_BY_ATHLETE_ID_ORDER_BY_DATE)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .bind(0, athleteId)
+                .map(RowMappers.TRAINING)
+                .all();
+    }
+
+    /**
+     * Retrieves a page of training sessions for a given athlete id, newest first.
+     *
+     * @param athleteId the athlete's id
+     * @param afterDate the date of the last training of the previous page, or {@code null} for the first page
+     * @param afterId   the id of the last training of the previous page, or {@code null} for the first page
+     * @param limit     the maximum number of training sessions to return
+     * @return a page of training sessions sorted by date and id in descending order
+     */
+    @Override
+    public Flux<Training> findPageByAthleteIdOrderByDate(Long athleteId, LocalDate afterDate, Long afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec findPage = afterId == null
+                ? databaseClient.sql(SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE)
+                .bind(0, athleteId)
+                .bind(1, limit)
+                : databaseClient.sql(SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE)
+                .bind(0, athleteId)
+                .bind(1, afterDate)
+                .bind(2, afterId)
+                .bind(3, limit);
+        return findPage.map(RowMappers.TRAINING).all();
+    }
+
+    /**
+     * Retrieves a page of training sessions for a given athlete id, largest sets amount first.
+     *
+     * @param athleteId       the athlete's id
+     * @param afterSetsAmount the sets amount of the last training of the previous page, or {@code null} for the first page
+     * @param afterId         the id of the last training of the previous page, or {@code null} for the first page
+     * @param limit           the maximum number of training sessions to return
+     * @return a page of training sessions sorted by sets amount and id in descending order
+     */
+    @Override
+    public Flux<Training> findPageByAthleteIdOrderBySetsAmount(Long athleteId, Integer afterSetsAmount, Long afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec findPage = afterId == null
+                ? databaseClient.sql(SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT)
+                .bind(0, athleteId)
+                .bind(1, limit)
+                : databaseClient.sql(SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT)
+                .bind(0, athleteId)
+                .bind(1, afterSetsAmount)
+                .bind(2, afterId)
+                .bind(3, limit);
+        return findPage.map(RowMappers.TRAINING).all();
+    }
+
+    /**
+     * Retrieves the latest training sessions of every client, or of the clients with the given logins, in one query.
+     *
+     * @param logins          the logins of the clients, or {@code null} for all clients
+     * @param limitPerAthlete the maximum number of training sessions per athlete
+     * @return training sessions grouped by athlete login, newest first within each athlete
+     */
+    @Override
+    public Flux<Training> findRecentOfClients(List<String> logins, int limitPerAthlete) {
+        DatabaseClient.GenericExecuteSpec findRecent = logins == null
+                ? databaseClient.sql(SQL_FIND_RECENT_OF_ALL_CLIENTS)
+                .bind(0, limitPerAthlete)
+                : databaseClient.sql(SQL_FIND_RECENT_OF_CLIENTS)
+                .bind(0, limitPerAthlete)
+                .bind(1, logins.toArray(String[]::new));
+        return findRecent.map(RowMappers.TRAINING).all();
+    }
+
+    /**
+     * Searches for a training session by athlete id and training date.
+     *
+     * @param athleteId the athlete's id
+     * @param date      the training date
+     * @return the training session of the athlete on the date, or empty if not found
+     */
+    @Override
+    public Mono<Training> findByAthleteIdAndTrainingDate(Long athleteId, LocalDate date) {
+        return databaseClient.sql(SQL_FIND_BY_ATHLETE_ID_AND_TRAINING_DATE)
+                .bind(0, athleteId)
+                .bind(1, date)
+                .map(RowMappers.TRAINING)
+                .one();
+    }
+
+    /**
+     * Saves a training session unless its athlete already has a training on the same date.
+     * The check and the insert are one statement, so two simultaneous requests can never both succeed.
+     *
+     * @param training the training session to save
+     * @return the saved training session with the generated id, or empty if the athlete already has a training on that date
+     */
+    @Override
+    public Mono<Training> saveIfAbsent(Training training) {
+        return databaseClient.sql(SQL_SAVE_IF_ABSENT)
+                .bind(0, training.getSetsAmount())
+                .bind(1, training.getDate())
+                .bind(2, training.getTrainingType().getId())
+                .bind(3, training.getAthlete().getId())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    training.setId(id);
+                    return training;
+                });
+    }
+
+    /**
+     * Updates a training session.
+     *
+     * @param training the training session to update
+     * @return completes when the training session is updated
+     */
+    @Override
+    public Mono<Void> update(Training training) {
+        return databaseClient.sql(SQL_UPDATE)
+                .bind(0, training.getSetsAmount())
+                .bind(1, training.getTrainingType().getId())
+                .bind(2, training.getId())
+                .then();
+    }
+
+    /**
+     * Deletes a training session by its id.
+     *
+     * @param id the training session's id
+     * @return {@code true} if the training session was deleted, {@code false} otherwise
+     */
+    @Override
+    public Mono<Boolean> delete(Long id) {
+        return databaseClient.sql(SQL_DELETE)
+                .bind(0, id)
+                .fetch()
+                .rowsUpdated()
+                .map(rowsUpdated -> rowsUpdated > 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ivan.trainingdiary.reactive.repository.impl;
+
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.reactive.repository.ReactiveTrainingTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC implementation of the {@link ReactiveTrainingTypeRepository} interface.
+ *
+ * @author sergeenkovv
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcTrainingTypeRepository implements ReactiveTrainingTypeRepository {
+
+    private static final String SQL_FIND_ALL = """
+            SELECT id, type_name FROM develop.training_types
+            """;
+
+    private static final String SQL_FIND_BY_TYPE_NAME = """
+            SELECT id, type_name FROM develop.training_types WHERE type_name = $1
+            """;
+
+    private static final String SQL_DELETE = """
+            DELETE FROM develop.training_types WHERE id = $1
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO develop.training_types (type_name)
+            VALUES ($1)
+            RETURNING id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Retrieves all training types from the database.
+     *
+     * @return all training types
+     */
+    @Override
+    public Flux<TrainingType> findAll() {
+        return databaseClient.sql(SQL_FIND_ALL)
+                .map(RowMappers.TRAINING_TYPE)
+                .all();
+    }
+
+    /**
+     * Searches for a training type by type name.
+     *
+     * @param typeName the training type's name
+     * @return the training type with the given name, or empty if not found
+     */
+    @Override
+    public Mono<TrainingType> findByTypeName(String typeName) {
+        return databaseClient.sql(SQL_FIND_BY_TYPE_NAME)
+                .bind(0, typeName)
+                .map(RowMappers.TRAINING_TYPE)
+                .one();
+    }
+
+    /**
+     * Saves a training type to the database.
+     *
+     * @param trainingType the training type to save
+     * @return the saved training type with the generated id
+     */
+    @Override
+    public Mono<TrainingType> save(TrainingType trainingType) {
+        return databaseClient.sql(SQL_SAVE)
+                .bind(0, trainingType.getTypeName())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    trainingType.setId(id);
+                    return trainingType;
+                });
+    }
+
+    /**
+     * Deletes a training type by its id.
+     *
+     * @param id the training type's id
+     * @return {@code true} if the training type was deleted, {@code false} otherwise
+     */
+    @Override
+    public Mono<Boolean> delete(Long id) {
+        return databaseClient.sql(SQL_DELETE)
+                .bind(0, id)
+                .fetch()
+                .rowsUpdated()
+                .map(rowsUpdated -> rowsUpdated > 0);
+    }
+}
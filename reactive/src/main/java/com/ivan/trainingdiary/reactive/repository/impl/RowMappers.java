@@ -0,0 +1,76 @@
+package com.ivan.trainingdiary.reactive.repository.impl;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import io.r2dbc.spi.Readable;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Row mappers shared by the R2DBC repositories.
+ * Columns are read by position, counted from zero, so every query that uses a mapper must select exactly
+ * the columns listed on the mapper, in that order.
+ *
+ * @author sergeenkovv
+ */
+final class RowMappers {
+
+    /**
+     * Maps {@code id, login, role} to an {@link Athlete} without a password hash.
+     */
+    static final Function<Readable, Athlete> ATHLETE_WITHOUT_PASSWORD = row -> Athlete.builder()
+            .id(row.get(0, Long.class))
+            .login(row.get(1, String.class))
+            .role(Role.valueOf(row.get(2, String.class)))
+            .build();
+
+    /**
+     * Maps {@code id, type_name} to a {@link TrainingType}.
+     */
+    static final Function<Readable, TrainingType> TRAINING_TYPE = row -> TrainingType.builder()
+            .id(row.get(0, Long.class))
+            .typeName(row.get(1, String.class))
+            .build();
+
+    /**
+     * Maps {@code id, sets_amount, date, type_id, type_name, athlete_id, login, role} to a {@link Training}
+     * with its training type and athlete. The athlete is loaded without a password hash;
+     * the training type or the athlete is {@code null} if the joined row is missing.
+     */
+    static final Function<Readable, Training> TRAINING = row -> Training.builder()
+            .id(row.get(0, Long.class))
+            .setsAmount(row.get(1, Integer.class))
+            .date(row.get(2, LocalDate.class))
+            .trainingType(joinedTrainingType(row))
+            .athlete(joinedAthlete(row))
+            .build();
+
+    private RowMappers() {
+    }
+
+    private static TrainingType joinedTrainingType(Readable row) {
+        Long typeId = row.get(3, Long.class);
+        if (typeId == null) {
+            return null;
+        }
+        return TrainingType.builder()
+                .id(typeId)
+                .typeName(row.get(4, String.class))
+                .build();
+    }
+
+    private static Athlete joinedAthlete(Readable row) {
+        Long athleteId = row.get(5, Long.class);
+        if (athleteId == null) {
+            return null;
+        }
+        return Athlete.builder()
+                .id(athleteId)
+                .login(row.get(6, String.class))
+                .role(Role.valueOf(row.get(7, String.class)))
+                .build();
+    }
+}
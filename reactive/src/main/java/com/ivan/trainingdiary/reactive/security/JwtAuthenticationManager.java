@@ -0,0 +1,89 @@
+package com.ivan.trainingdiary.reactive.security;
+
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.reactive.repository.ReactiveAthleteRepository;
+import com.ivan.trainingdiary.security.JwtProperties;
+import com.ivan.trainingdiary.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Authenticates requests by the bearer access tokens issued by the servlet application.
+ * By default the role is loaded from the database without blocking, so a role change applies to the next request.
+ * Only with {@code spring.security.jwt.trust-role-claim} enabled and a role claim in the token is the principal
+ * built from the claims; such a token keeps the role it was issued with until it expires.
+ *
+ * @author sergeenkovv
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager, ServerAuthenticationConverter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtProperties jwtProperties;
+    private final ReactiveAthleteRepository athleteRepository;
+
+    /**
+     * Extracts the access token from the Authorization header of a request.
+     *
+     * @param exchange The exchange of the request.
+     * @return A {@link Mono} with the unauthenticated token, or an empty {@link Mono} if there is no bearer token.
+     */
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
+            String token = bearerToken.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Verifies an access token and resolves its principal.
+     *
+     * @param authentication The unauthenticated token.
+     * @return A {@link Mono} with the authenticated principal, or failing with {@link BadCredentialsException}
+     * if the token is invalid or expired or its athlete does not exist.
+     */
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        return Mono.fromCallable(() -> jwtTokenProvider.parse(token))
+                .onErrorMap(JwtException.class, e -> new BadCredentialsException(e.getMessage(), e))
+                .flatMap(this::resolvePrincipal)
+                .map(userDetails -> UsernamePasswordAuthenticationToken.authenticated(userDetails, null,
+                        userDetails.getAuthorities()));
+    }
+
+    private Mono<UserDetails> resolvePrincipal(Claims claims) {
+        String login = claims.getSubject();
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        if (jwtProperties.isTrustRoleClaim() && role != null) {
+            return Mono.just(principal(login, Role.valueOf(role)));
+        }
+        return athleteRepository.findByLogin(login)
+                .map(athlete -> principal(login, athlete.getRole()))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("No athlete found with login: " + login)));
+    }
+
+    private static UserDetails principal(String login, Role role) {
+        return new User(login, "", Collections.singleton(role));
+    }
+}
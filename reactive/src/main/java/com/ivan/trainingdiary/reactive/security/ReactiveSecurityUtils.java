@@ -0,0 +1,31 @@
+package com.ivan.trainingdiary.reactive.security;
+
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * Utility class for security-related operations of the reactive handlers.
+ */
+public final class ReactiveSecurityUtils {
+
+    private ReactiveSecurityUtils() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Checks if the provided login is the login of the authenticated athlete making the request.
+     *
+     * @param request The request.
+     * @param login   The login to be validated.
+     * @return A {@link Mono} with true if the login is valid, false otherwise.
+     * @throws SecurityException If the request is not authenticated.
+     */
+    public static Mono<Boolean> isValidLogin(ServerRequest request, String login) {
+        return request.principal()
+                .switchIfEmpty(Mono.error(() -> new SecurityException("Unauthorized!")))
+                .map(Principal::getName)
+                .map(name -> name.equals(login));
+    }
+}
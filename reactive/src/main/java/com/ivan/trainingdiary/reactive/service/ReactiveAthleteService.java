@@ -0,0 +1,29 @@
+package com.ivan.trainingdiary.reactive.service;
+
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.model.Athlete;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service for athletes.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveAthleteService {
+
+    /**
+     * Retrieves all athletes.
+     *
+     * @return A {@link Flux} of all athletes, without password hashes.
+     */
+    Flux<Athlete> getAllAthletes();
+
+    /**
+     * Retrieves an athlete by login.
+     *
+     * @param login The login of the athlete.
+     * @return A {@link Mono} with the athlete, or failing with {@link AthleteNotFoundException} if there is none.
+     */
+    Mono<Athlete> getByLogin(String login);
+}
@@ -0,0 +1,105 @@
+package com.ivan.trainingdiary.reactive.service;
+
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
+import com.ivan.trainingdiary.exception.TrainingNotFoundException;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking service for managing athlete training data.
+ * Pages and cursors are the same as those of the servlet application, so a client can switch between them.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveTrainingService {
+
+    /**
+     * Adds a new training dated today for the specified athlete.
+     *
+     * @param athleteId  The ID of the athlete.
+     * @param typeName   The type of training.
+     * @param setsAmount The number of sets.
+     * @return A {@link Mono} completing when the training is added,
+     * or failing with {@link TrainingLimitExceededException} if the athlete has already trained today.
+     */
+    Mono<Void> addTraining(Long athleteId, String typeName, Integer setsAmount);
+
+    /**
+     * Edits an existing training of the specified athlete.
+     *
+     * @param athleteId  The ID of the athlete.
+     * @param date       The date of the training.
+     * @param typeName   The new type of training.
+     * @param setsAmount The new number of sets.
+     * @return A {@link Mono} completing when the training is edited,
+     * or failing with {@link TrainingNotFoundException} if there is no training on that date.
+     */
+    Mono<Void> editTraining(Long athleteId, LocalDate date, String typeName, Integer setsAmount);
+
+    /**
+     * Retrieves one page of trainings for the specified athlete sorted by date, newest first.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param cursor    The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size      The maximum number of trainings on the page.
+     * @return A {@link Mono} with the page of trainings and the cursor of the next page,
+     * or failing with {@link InvalidArgumentException} if the cursor or the size is invalid.
+     */
+    Mono<TrainingPage> getTrainingsPageSortedByDate(Long athleteId, String cursor, int size);
+
+    /**
+     * Retrieves one page of trainings for the specified athlete sorted by sets amount, largest first.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param cursor    The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size      The maximum number of trainings on the page.
+     * @return A {@link Mono} with the page of trainings and the cursor of the next page,
+     * or failing with {@link InvalidArgumentException} if the cursor or the size is invalid.
+     */
+    Mono<TrainingPage> getTrainingsPageSortedBySetsAmount(Long athleteId, String cursor, int size);
+
+    /**
+     * Retrieves the latest trainings of every client, or of the given clients, newest first.
+     * Clients without trainings are not included.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     * @param limit  The maximum number of trainings per client.
+     * @return A {@link Mono} with the trainings of each client by login, in login order.
+     */
+    Mono<Map<String, List<Training>>> getRecentTrainingsOfClients(List<String> logins, int limit);
+
+    /**
+     * Streams the whole training history of the specified athlete sorted by date, newest first.
+     * Trainings are read from the database as the subscriber requests them and are never held in memory all at once.
+     *
+     * @param athleteId The ID of the athlete.
+     * @return A {@link Flux} of the athlete's trainings.
+     */
+    Flux<Training> getTrainingHistory(Long athleteId);
+
+    /**
+     * Deletes the training of the specified athlete on the given date.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param date      The date of the training.
+     * @return A {@link Mono} completing when the training is deleted,
+     * or failing with {@link TrainingNotFoundException} if there is no training on that date.
+     */
+    Mono<Void> deleteTraining(Long athleteId, LocalDate date);
+
+    /**
+     * Retrieves the training of the specified athlete on the given date.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param date      The date of the training.
+     * @return A {@link Mono} with the training, or failing with {@link TrainingNotFoundException} if there is none.
+     */
+    Mono<Training> getTrainingByAthleteIdAndDate(Long athleteId, LocalDate date);
+}
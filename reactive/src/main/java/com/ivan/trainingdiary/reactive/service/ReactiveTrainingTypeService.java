@@ -0,0 +1,48 @@
+package com.ivan.trainingdiary.reactive.service;
+
+import com.ivan.trainingdiary.exception.DuplicateTrainingTypeException;
+import com.ivan.trainingdiary.exception.InvalidTrainingTypeException;
+import com.ivan.trainingdiary.model.TrainingType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service for training types.
+ *
+ * @author sergeenkovv
+ */
+public interface ReactiveTrainingTypeService {
+
+    /**
+     * Retrieves all training types.
+     *
+     * @return A {@link Flux} of all training types.
+     */
+    Flux<TrainingType> getAllTrainingTypes();
+
+    /**
+     * Adds a new training type.
+     *
+     * @param typeName The name of the training type.
+     * @return A {@link Mono} completing when the type is added,
+     * or failing with {@link DuplicateTrainingTypeException} if it already exists.
+     */
+    Mono<Void> addTrainingType(String typeName);
+
+    /**
+     * Deletes a training type.
+     *
+     * @param typeName The name of the training type.
+     * @return A {@link Mono} completing when the type is deleted,
+     * or failing with {@link InvalidTrainingTypeException} if it does not exist.
+     */
+    Mono<Void> deleteTrainingType(String typeName);
+
+    /**
+     * Retrieves a training type by name.
+     *
+     * @param typeName The name of the training type.
+     * @return A {@link Mono} with the training type, or failing with {@link InvalidTrainingTypeException} if there is none.
+     */
+    Mono<TrainingType> getByTypeName(String typeName);
+}
@@ -0,0 +1,28 @@
+package com.ivan.trainingdiary.reactive.service.impl;
+
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.reactive.repository.ReactiveAthleteRepository;
+import com.ivan.trainingdiary.reactive.service.ReactiveAthleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAthleteServiceImpl implements ReactiveAthleteService {
+
+    private final ReactiveAthleteRepository athleteRepository;
+
+    @Override
+    public Flux<Athlete> getAllAthletes() {
+        return athleteRepository.findAll();
+    }
+
+    @Override
+    public Mono<Athlete> getByLogin(String login) {
+        return athleteRepository.findByLogin(login)
+                .switchIfEmpty(Mono.error(() -> new AthleteNotFoundException("No athlete found with login: " + login)));
+    }
+}
@@ -0,0 +1,242 @@
+package com.ivan.trainingdiary.reactive.service.impl;
+
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
+import com.ivan.trainingdiary.exception.TrainingNotFoundException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingCursor;
+import com.ivan.trainingdiary.model.TrainingPage;
+import com.ivan.trainingdiary.reactive.repository.ReactiveTrainingRepository;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import com.ivan.trainingdiary.reactive.util.CacheInvalidationNotifier;
+import com.ivan.trainingdiary.service.TrainingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Non-blocking service implementation for managing athlete trainings.
+ * Queries, paging and error messages follow the training service of the servlet application;
+ * every method returns at once and the work runs when the result is subscribed to.
+ * Every change is announced to the servlet nodes within its transaction, so their caches drop the athlete's data.
+ *
+ * @author sergeenkovv
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTrainingServiceImpl implements ReactiveTrainingService {
+
+    private static final String SORT_BY_DATE = "date";
+    private static final String SORT_BY_SETS_AMOUNT = "sets";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveTrainingRepository trainingDao;
+    private final ReactiveTrainingTypeService trainingTypeService;
+    private final CacheInvalidationNotifier cacheInvalidationNotifier;
+
+    /**
+     * Adds a training for the specified athlete.
+     * The one-training-a-day limit is enforced by the database within the insert itself.
+     *
+     * @param athleteId  the ID of the athlete
+     * @param typeName   the type of training to add
+     * @param setsAmount the number of sets for the training
+     * @return completes when the training is added
+     */
+    @Override
+    @Transactional
+    public Mono<Void> addTraining(Long athleteId, String typeName, Integer setsAmount) {
+        return trainingTypeService.getByTypeName(typeName)
+                .flatMap(trainingType -> trainingDao.saveIfAbsent(Training.builder()
+                        .setsAmount(setsAmount)
+                        .trainingType(trainingType)
+                        .athlete(Athlete.builder().id(athleteId).build())
+                        .build()))
+                .switchIfEmpty(Mono.error(() ->
+                        new TrainingLimitExceededException("You cannot do one type of training more than once a day!")))
+                .then(Mono.defer(() -> cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(athleteId))));
+    }
+
+    /**
+     * Edits a training for the specified athlete.
+     *
+     * @param athleteId  the ID of the athlete
+     * @param date       the date of the training to edit
+     * @param typeName   the new type of training
+     * @param setsAmount the new number of sets
+     * @return completes when the training is edited
+     */
+    @Override
+    @Transactional
+    public Mono<Void> editTraining(Long athleteId, LocalDate date, String typeName, Integer setsAmount) {
+        return getTrainingByAthleteIdAndDate(athleteId, date)
+                .zipWith(trainingTypeService.getByTypeName(typeName))
+                .flatMap(trainingAndType -> {
+                    Training existingTraining = trainingAndType.getT1();
+                    existingTraining.setTrainingType(trainingAndType.getT2());
+                    existingTraining.setSetsAmount(setsAmount);
+                    return trainingDao.update(existingTraining);
+                })
+                .then(Mono.defer(() -> cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(athleteId))));
+    }
+
+    /**
+     * Retrieves a page of athlete trainings sorted by date in descending order.
+     *
+     * @param athleteId the ID of the athlete
+     * @param cursor    the cursor of the previous page, or {@code null} for the first page
+     * @param size      the maximum number of trainings on the page
+     * @return the page of athlete trainings
+     */
+    @Override
+    public Mono<TrainingPage> getTrainingsPageSortedByDate(Long athleteId, String cursor, int size) {
+        return Mono.defer(() -> {
+            validatePageSize(size);
+            Flux<Training> trainings;
+            if (cursor == null) {
+                trainings = trainingDao.findPageByAthleteIdOrderByDate(athleteId, null, null, size + 1);
+            } else {
+                TrainingCursor after = TrainingCursor.decode(cursor, SORT_BY_DATE);
+                trainings = trainingDao.findPageByAthleteIdOrderByDate(athleteId, parseDate(after.sortKey()), after.id(), size + 1);
+            }
+            return toPage(trainings, size, SORT_BY_DATE, training -> training.getDate().toString());
+        });
+    }
+
+    /**
+     * Retrieves a page of athlete trainings sorted by sets amount in descending order.
+     *
+     * @param athleteId the ID of the athlete
+     * @param cursor    the cursor of the previous page, or {@code null} for the first page
+     * @param size      the maximum number of trainings on the page
+     * @return the page of athlete trainings
+     */
+    @Override
+    public Mono<TrainingPage> getTrainingsPageSortedBySetsAmount(Long athleteId, String cursor, int size) {
+        return Mono.defer(() -> {
+            validatePageSize(size);
+            Flux<Training> trainings;
+            if (cursor == null) {
+                trainings = trainingDao.findPageByAthleteIdOrderBySetsAmount(athleteId, null, null, size + 1);
+            } else {
+                TrainingCursor after = TrainingCursor.decode(cursor, SORT_BY_SETS_AMOUNT);
+                trainings = trainingDao.findPageByAthleteIdOrderBySetsAmount(athleteId, parseSetsAmount(after.sortKey()), after.id(), size + 1);
+            }
+            return toPage(trainings, size, SORT_BY_SETS_AMOUNT, training -> training.getSetsAmount().toString());
+        });
+    }
+
+    /**
+     * Retrieves the latest trainings of clients with one query and groups them by client login.
+     *
+     * @param logins the logins of the clients, or {@code null} for all clients
+     * @param limit  the maximum number of trainings per client
+     * @return the trainings of each client by login, in login order
+     */
+    @Override
+    public Mono<Map<String, List<Training>>> getRecentTrainingsOfClients(List<String> logins, int limit) {
+        return Mono.defer(() -> {
+            validatePageSize(limit);
+            if (logins != null && logins.size() > TrainingService.MAX_RECENT_CLIENTS) {
+                throw new InvalidArgumentException("No more than " + TrainingService.MAX_RECENT_CLIENTS + " clients can be requested at once!");
+            }
+            return trainingDao.findRecentOfClients(logins, limit)
+                    .collect(LinkedHashMap::new, (Map<String, List<Training>> trainingsByLogin, Training training) ->
+                            trainingsByLogin.computeIfAbsent(training.getAthlete().getLogin(), login -> new ArrayList<>()).add(training));
+        });
+    }
+
+    /**
+     * Streams all athlete trainings sorted by date in descending order.
+     *
+     * @param athleteId the ID of the athlete
+     * @return the athlete trainings
+     */
+    @Override
+    public Flux<Training> getTrainingHistory(Long athleteId) {
+        return trainingDao.findAllByAthleteIdOrderByDate(athleteId);
+    }
+
+    /**
+     * Deletes a training for the specified athlete on the given date.
+     *
+     * @param athleteId the ID of the athlete
+     * @param date      the date of the training to delete
+     * @return completes when the training is deleted
+     */
+    @Override
+    @Transactional
+    public Mono<Void> deleteTraining(Long athleteId, LocalDate date) {
+        return getTrainingByAthleteIdAndDate(athleteId, date)
+                .flatMap(training -> trainingDao.delete(training.getId()))
+                .then(Mono.defer(() -> cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(athleteId))));
+    }
+
+    /**
+     * Retrieves a training for the specified athlete on the given date.
+     *
+     * @param athleteId the ID of the athlete
+     * @param date      the date of the training
+     * @return the training
+     */
+    @Override
+    public Mono<Training> getTrainingByAthleteIdAndDate(Long athleteId, LocalDate date) {
+        return trainingDao.findByAthleteIdAndTrainingDate(athleteId, date)
+                .switchIfEmpty(Mono.error(() -> new TrainingNotFoundException("Training not found!")));
+    }
+
+    /**
+     * Cuts the look-ahead row off a page query result and builds the cursor of the next page.
+     *
+     * @param trainings the query result with up to {@code size + 1} trainings
+     * @param size      the requested page size
+     * @param sort      the sort order of the page
+     * @param sortKey   extracts the sort key of a training
+     * @return the page of trainings
+     */
+    private Mono<TrainingPage> toPage(Flux<Training> trainings, int size, String sort, Function<Training, String> sortKey) {
+        return trainings.collectList().map(list -> {
+            if (list.size() <= size) {
+                return new TrainingPage(list, null);
+            }
+            List<Training> page = list.subList(0, size);
+            Training last = page.get(size - 1);
+            return new TrainingPage(page, new TrainingCursor(sort, sortKey.apply(last), last.getId()).encode());
+        });
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + "!");
+        }
+    }
+
+    private LocalDate parseDate(String sortKey) {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidArgumentException("Invalid cursor!");
+        }
+    }
+
+    private Integer parseSetsAmount(String sortKey) {
+        try {
+            return Integer.valueOf(sortKey);
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException("Invalid cursor!");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ivan.trainingdiary.reactive.service.impl;
+
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.exception.DuplicateTrainingTypeException;
+import com.ivan.trainingdiary.exception.InvalidTrainingTypeException;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.reactive.repository.ReactiveTrainingTypeRepository;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import com.ivan.trainingdiary.reactive.util.CacheInvalidationNotifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveTrainingTypeServiceImpl implements ReactiveTrainingTypeService {
+
+    private final ReactiveTrainingTypeRepository trainingTypeDao;
+    private final CacheInvalidationNotifier cacheInvalidationNotifier;
+
+    @Override
+    public Flux<TrainingType> getAllTrainingTypes() {
+        return trainingTypeDao.findAll();
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> addTrainingType(String typeName) {
+        return trainingTypeDao.findByTypeName(typeName)
+                .flatMap(existing -> Mono.<TrainingType>error(
+                        new DuplicateTrainingTypeException("This type of training already exists!")))
+                .switchIfEmpty(Mono.defer(() -> trainingTypeDao.save(TrainingType.builder()
+                        .typeName(typeName)
+                        .build())))
+                .then(Mono.defer(() -> cacheInvalidationNotifier.publish(CacheInvalidationEvent.trainingTypes())));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteTrainingType(String typeName) {
+        return getByTypeName(typeName)
+                .flatMap(trainingType -> trainingTypeDao.delete(trainingType.getId()))
+                .then(Mono.defer(() -> cacheInvalidationNotifier.publish(CacheInvalidationEvent.trainingTypes())));
+    }
+
+    @Override
+    public Mono<TrainingType> getByTypeName(String typeName) {
+        return trainingTypeDao.findByTypeName(typeName)
+                .switchIfEmpty(Mono.error(() -> new InvalidTrainingTypeException("Such type of training does not exist!")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ivan.trainingdiary.reactive.util;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Announces the changes made through the reactive API to the nodes of the servlet application,
+ * so that their caches and ETag versions do not keep serving the data from before the change.
+ * <p>
+ * Messages have the same {@code node:SCOPE:key} form and channel as those of the servlet application's
+ * {@code CacheInvalidationBus}. They are sent with {@code pg_notify} on the connection of the current transaction,
+ * so PostgreSQL delivers them only if the change commits; this node does not listen, because it caches nothing.
+ *
+ * @author sergeenkovv
+ */
+@Component
+public class CacheInvalidationNotifier {
+
+    private static final String SQL_NOTIFY = """
+            SELECT pg_notify($1, $2)
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final CacheProperties.Invalidation properties;
+    private final String nodeId = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    public CacheInvalidationNotifier(DatabaseClient databaseClient, CacheProperties cacheProperties) {
+        this.databaseClient = databaseClient;
+        this.properties = cacheProperties.getInvalidation();
+    }
+
+    /**
+     * Announces a change. Call it within the transaction of the change.
+     *
+     * @param event what changed
+     * @return completes when the announcement is queued for the commit
+     */
+    public Mono<Void> publish(CacheInvalidationEvent event) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(SQL_NOTIFY)
+                .bind(0, properties.getChannel())
+                .bind(1, message(event))
+                .then();
+    }
+
+    String message(CacheInvalidationEvent event) {
+        return nodeId + ":" + event.scope() + ":" + (event.key() == null ? "" : event.key());
+    }
+}
@@ -0,0 +1,182 @@
+package com.ivan.trainingdiary.reactive.handler;
+
+import com.ivan.trainingdiary.dto.TrainingRequest;
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
+import com.ivan.trainingdiary.mapper.TrainingMapperImpl;
+import com.ivan.trainingdiary.mapper.TrainingTypeMapperImpl;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.reactive.config.RouterConfig;
+import com.ivan.trainingdiary.reactive.service.ReactiveAthleteService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingService;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("clientHandler routes test")
+@ExtendWith(MockitoExtension.class)
+class ClientHandlerTest {
+
+    @Mock
+    private ReactiveAthleteService athleteService;
+    @Mock
+    private ReactiveTrainingService trainingService;
+    @Mock
+    private ReactiveTrainingTypeService trainingTypeService;
+
+    private WebTestClient webTestClient;
+
+    Athlete athlete;
+    Training training;
+
+    @BeforeEach
+    void setUp() {
+        ClientHandler clientHandler = new ClientHandler(athleteService, trainingService, trainingTypeService,
+                new TrainingMapperImpl(), new TrainingTypeMapperImpl());
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new RouterConfig().clientRoutes(clientHandler, new ExceptionHandlerFilter()))
+                .webFilter((exchange, chain) -> chain.filter(exchange.mutate()
+                        .principal(Mono.just(new TestingAuthenticationToken("vanya", null)))
+                        .build()))
+                .build();
+
+        athlete = Athlete.builder()
+                .id(1L)
+                .login("vanya")
+                .role(Role.CLIENT)
+                .build();
+
+        training = Training.builder()
+                .id(5L)
+                .setsAmount(3)
+                .date(LocalDate.parse("2024-01-01"))
+                .trainingType(TrainingType.builder().id(1L).typeName("BACK").build())
+                .athlete(athlete)
+                .build();
+    }
+
+    @DisplayName("show trainings by date returns a page")
+    @Test
+    void showTrainingByDate_Success() {
+        when(athleteService.getByLogin("vanya")).thenReturn(Mono.just(athlete));
+        when(trainingService.getTrainingsPageSortedByDate(1L, null, 20))
+                .thenReturn(Mono.just(new TrainingPage(List.of(training), "next")));
+
+        webTestClient.get().uri("/api/client/training/show-by-date?login=vanya")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.athleteLogin").isEqualTo("vanya")
+                .jsonPath("$.trainings[0].trainingType").isEqualTo("BACK")
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    @DisplayName("show trainings of another athlete is a bad request")
+    @Test
+    void showTrainingByDate_IncorrectLogin() {
+        webTestClient.get().uri("/api/client/training/show-by-date?login=petya")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Incorrect login!");
+
+        verifyNoInteractions(athleteService, trainingService);
+    }
+
+    @DisplayName("a missing parameter is a bad request")
+    @Test
+    void showTrainingByDate_MissingLogin() {
+        webTestClient.get().uri("/api/client/training/show-by-date")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("an unknown athlete is a bad request")
+    @Test
+    void showTrainingByDate_AthleteNotFound() {
+        when(athleteService.getByLogin("vanya"))
+                .thenReturn(Mono.error(new AthleteNotFoundException("Athlete not found!")));
+
+        webTestClient.get().uri("/api/client/training/show-by-date?login=vanya")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Athlete not found!");
+    }
+
+    @DisplayName("add training returns a success message")
+    @Test
+    void addTraining_Success() {
+        when(athleteService.getByLogin("vanya")).thenReturn(Mono.just(athlete));
+        when(trainingService.addTraining(1L, "BACK", 3)).thenReturn(Mono.empty());
+
+        webTestClient.post().uri("/api/client/training/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TrainingRequest("vanya", "BACK", 3))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Training added successfully");
+    }
+
+    @DisplayName("add training without a body is a bad request")
+    @Test
+    void addTraining_MissingBody() {
+        webTestClient.post().uri("/api/client/training/add")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Required request body is missing!");
+
+        verifyNoInteractions(athleteService, trainingService);
+    }
+
+    @DisplayName("a second training on the same day is reported like the servlet application does")
+    @Test
+    void addTraining_LimitExceeded() {
+        when(athleteService.getByLogin("vanya")).thenReturn(Mono.just(athlete));
+        when(trainingService.addTraining(1L, "BACK", 3)).thenReturn(Mono.error(
+                new TrainingLimitExceededException("You cannot do one type of training more than once a day!")));
+
+        webTestClient.post().uri("/api/client/training/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TrainingRequest("vanya", "BACK", 3))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Page not found! More information:You cannot do one type of training more than once a day!");
+    }
+
+    @DisplayName("export streams the training history as CSV")
+    @Test
+    void exportTrainings_Csv() {
+        when(athleteService.getByLogin("vanya")).thenReturn(Mono.just(athlete));
+        when(trainingService.getTrainingHistory(1L)).thenReturn(Flux.just(training, training));
+
+        webTestClient.get().uri("/api/client/training/export?login=vanya&format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vanya-trainings.csv\"")
+                .expectBody(String.class)
+                .isEqualTo("id,setsAmount,trainingType,date\n5,3,BACK,2024-01-01\n5,3,BACK,2024-01-01\n");
+    }
+}
@@ -0,0 +1,79 @@
+package com.ivan.trainingdiary.reactive.security;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.reactive.repository.ReactiveAthleteRepository;
+import com.ivan.trainingdiary.security.JwtProperties;
+import com.ivan.trainingdiary.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JwtAuthenticationManager test")
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationManagerTest {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+    @Mock
+    private ReactiveAthleteRepository athleteRepository;
+    @Mock
+    private Claims claims;
+
+    private JwtProperties jwtProperties;
+    private JwtAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        authenticationManager = new JwtAuthenticationManager(jwtTokenProvider, jwtProperties, athleteRepository);
+        when(jwtTokenProvider.parse(TOKEN)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("vanya");
+        when(claims.get(JwtTokenProvider.ROLE_CLAIM, String.class)).thenReturn(Role.TRAINER.name());
+    }
+
+    @DisplayName("by default the role is loaded from the database, not taken from the token")
+    @Test
+    void authenticate_Default_LoadsRole() {
+        when(athleteRepository.findByLogin("vanya"))
+                .thenReturn(Mono.just(Athlete.builder().login("vanya").role(Role.CLIENT).build()));
+
+        StepVerifier.create(authenticate())
+                .assertNext(authentication -> assertThat(authentication.getAuthorities())
+                        .extracting(Object::toString)
+                        .containsExactly(Role.CLIENT.name()))
+                .verifyComplete();
+    }
+
+    @DisplayName("with trusted role claims the role is taken from the token")
+    @Test
+    void authenticate_TrustRoleClaim_UsesClaim() {
+        jwtProperties.setTrustRoleClaim(true);
+
+        StepVerifier.create(authenticate())
+                .assertNext(authentication -> assertThat(authentication.getAuthorities())
+                        .extracting(Object::toString)
+                        .containsExactly(Role.TRAINER.name()))
+                .verifyComplete();
+
+        verifyNoInteractions(athleteRepository);
+    }
+
+    private Mono<Authentication> authenticate() {
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TOKEN, TOKEN));
+    }
+}
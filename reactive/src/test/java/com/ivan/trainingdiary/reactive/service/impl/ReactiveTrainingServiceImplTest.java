@@ -0,0 +1,246 @@
+package com.ivan.trainingdiary.reactive.service.impl;
+
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
+import com.ivan.trainingdiary.exception.TrainingNotFoundException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.reactive.repository.ReactiveTrainingRepository;
+import com.ivan.trainingdiary.reactive.service.ReactiveTrainingTypeService;
+import com.ivan.trainingdiary.reactive.util.CacheInvalidationNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("reactiveTrainingServiceImpl implementation test")
+@ExtendWith(MockitoExtension.class)
+class ReactiveTrainingServiceImplTest {
+
+    @InjectMocks
+    private ReactiveTrainingServiceImpl trainingService;
+
+    @Mock
+    private ReactiveTrainingRepository trainingDao;
+    @Mock
+    private ReactiveTrainingTypeService trainingTypeService;
+    @Mock
+    private CacheInvalidationNotifier cacheInvalidationNotifier;
+
+    Athlete athlete;
+    TrainingType trainingType;
+    Training training1;
+    Training training2;
+    Training training3;
+
+    @BeforeEach
+    void setUp() {
+        athlete = Athlete.builder()
+                .id(1L)
+                .login("Ivan")
+                .role(Role.CLIENT)
+                .build();
+
+        trainingType = TrainingType.builder()
+                .id(1L)
+                .typeName("LEGS")
+                .build();
+
+        training1 = training(1L, 5, "2024-01-03");
+        training2 = training(2L, 3, "2024-01-02");
+        training3 = training(3L, 4, "2024-01-01");
+    }
+
+    @DisplayName("addTraining saves a training of an existing type")
+    @Test
+    void addTraining_Success() {
+        when(trainingTypeService.getByTypeName("LEGS")).thenReturn(Mono.just(trainingType));
+        when(trainingDao.saveIfAbsent(any(Training.class))).thenReturn(Mono.just(training1));
+        when(cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(1L))).thenReturn(Mono.empty());
+
+        StepVerifier.create(trainingService.addTraining(1L, "LEGS", 5))
+                .verifyComplete();
+
+        verify(trainingDao).saveIfAbsent(argThat(training ->
+                training.getAthlete().getId() == 1L && training.getSetsAmount() == 5));
+        verify(cacheInvalidationNotifier).publish(CacheInvalidationEvent.athlete(1L));
+    }
+
+    @DisplayName("addTraining fails when the athlete already trained on that day")
+    @Test
+    void addTraining_LimitExceeded() {
+        when(trainingTypeService.getByTypeName("LEGS")).thenReturn(Mono.just(trainingType));
+        when(trainingDao.saveIfAbsent(any(Training.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(trainingService.addTraining(1L, "LEGS", 5))
+                .expectError(TrainingLimitExceededException.class)
+                .verify();
+
+        verifyNoInteractions(cacheInvalidationNotifier);
+    }
+
+    @DisplayName("getTrainingsPageSortedByDate returns a page with the cursor of the next page")
+    @Test
+    void getTrainingsPageSortedByDate_NextPage() {
+        when(trainingDao.findPageByAthleteIdOrderByDate(1L, null, null, 3))
+                .thenReturn(Flux.just(training1, training2, training3));
+
+        StepVerifier.create(trainingService.getTrainingsPageSortedByDate(1L, null, 2))
+                .assertNext(page -> {
+                    assertThat(page.getTrainings()).containsExactly(training1, training2);
+                    assertThat(page.getNextCursor()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("getTrainingsPageSortedByDate continues after the cursor of the previous page")
+    @Test
+    void getTrainingsPageSortedByDate_AfterCursor() {
+        when(trainingDao.findPageByAthleteIdOrderByDate(1L, null, null, 3))
+                .thenReturn(Flux.just(training1, training2, training3));
+        when(trainingDao.findPageByAthleteIdOrderByDate(1L, LocalDate.parse("2024-01-02"), 2L, 3))
+                .thenReturn(Flux.just(training3));
+
+        String cursor = trainingService.getTrainingsPageSortedByDate(1L, null, 2).block().getNextCursor();
+
+        StepVerifier.create(trainingService.getTrainingsPageSortedByDate(1L, cursor, 2))
+                .assertNext(page -> {
+                    assertThat(page.getTrainings()).containsExactly(training3);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("getTrainingsPageSortedBySetsAmount fails on a cursor of another sort order without a query")
+    @Test
+    void getTrainingsPageSortedBySetsAmount_ForeignCursor() {
+        when(trainingDao.findPageByAthleteIdOrderByDate(1L, null, null, 3))
+                .thenReturn(Flux.just(training1, training2, training3));
+        String cursor = trainingService.getTrainingsPageSortedByDate(1L, null, 2).block().getNextCursor();
+
+        StepVerifier.create(trainingService.getTrainingsPageSortedBySetsAmount(1L, cursor, 2))
+                .expectError(InvalidArgumentException.class)
+                .verify();
+
+        verify(trainingDao, never()).findPageByAthleteIdOrderBySetsAmount(anyLong(), any(), any(), anyInt());
+    }
+
+    @DisplayName("an invalid page size fails when subscribed to, not when called")
+    @Test
+    void getTrainingsPageSortedByDate_InvalidSize() {
+        Mono<?> page = trainingService.getTrainingsPageSortedByDate(1L, null, 0);
+
+        StepVerifier.create(page)
+                .expectError(InvalidArgumentException.class)
+                .verify();
+        verifyNoInteractions(trainingDao);
+    }
+
+    @DisplayName("getRecentTrainingsOfClients groups the trainings by client login")
+    @Test
+    void getRecentTrainingsOfClients_GroupedByLogin() {
+        Training other = training(4L, 2, "2024-01-01");
+        other.setAthlete(Athlete.builder().id(2L).login("Petr").role(Role.CLIENT).build());
+        when(trainingDao.findRecentOfClients(List.of("Ivan", "Petr"), 2))
+                .thenReturn(Flux.just(training1, training2, other));
+
+        StepVerifier.create(trainingService.getRecentTrainingsOfClients(List.of("Ivan", "Petr"), 2))
+                .assertNext(trainingsByLogin -> {
+                    assertThat(trainingsByLogin).containsOnlyKeys("Ivan", "Petr");
+                    assertThat(trainingsByLogin.get("Ivan")).containsExactly(training1, training2);
+                    assertThat(trainingsByLogin.get("Petr")).containsExactly(other);
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("getTrainingHistory requests trainings from the database only as fast as they are consumed")
+    @Test
+    void getTrainingHistory_Backpressure() {
+        TestPublisher<Training> rows = TestPublisher.create();
+        when(trainingDao.findAllByAthleteIdOrderByDate(1L)).thenReturn(rows.flux());
+
+        StepVerifier.create(trainingService.getTrainingHistory(1L), 1)
+                .then(() -> rows.assertMinRequested(1).assertMaxRequested(1))
+                .then(() -> rows.next(training1))
+                .expectNext(training1)
+                .thenRequest(2)
+                .then(() -> rows.assertMaxRequested(2).next(training2, training3).complete())
+                .expectNext(training2, training3)
+                .verifyComplete();
+    }
+
+    @DisplayName("deleteTraining fails when there is no training on that day")
+    @Test
+    void deleteTraining_NotFound() {
+        LocalDate date = LocalDate.parse("2024-01-05");
+        when(trainingDao.findByAthleteIdAndTrainingDate(1L, date)).thenReturn(Mono.empty());
+
+        StepVerifier.create(trainingService.deleteTraining(1L, date))
+                .expectError(TrainingNotFoundException.class)
+                .verify();
+
+        verify(trainingDao, never()).delete(anyLong());
+        verifyNoInteractions(cacheInvalidationNotifier);
+    }
+
+    @DisplayName("deleteTraining deletes the training and announces the change")
+    @Test
+    void deleteTraining_Success() {
+        LocalDate date = LocalDate.parse("2024-01-03");
+        when(trainingDao.findByAthleteIdAndTrainingDate(1L, date)).thenReturn(Mono.just(training1));
+        when(trainingDao.delete(1L)).thenReturn(Mono.just(true));
+        when(cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(1L))).thenReturn(Mono.empty());
+
+        StepVerifier.create(trainingService.deleteTraining(1L, date))
+                .verifyComplete();
+
+        verify(trainingDao).delete(1L);
+        verify(cacheInvalidationNotifier).publish(CacheInvalidationEvent.athlete(1L));
+    }
+
+    @DisplayName("editTraining updates the type and sets amount of the training")
+    @Test
+    void editTraining_Success() {
+        TrainingType back = TrainingType.builder().id(2L).typeName("BACK").build();
+        LocalDate date = LocalDate.parse("2024-01-03");
+        when(trainingDao.findByAthleteIdAndTrainingDate(1L, date)).thenReturn(Mono.just(training1));
+        when(trainingTypeService.getByTypeName("BACK")).thenReturn(Mono.just(back));
+        when(trainingDao.update(training1)).thenReturn(Mono.empty());
+        when(cacheInvalidationNotifier.publish(CacheInvalidationEvent.athlete(1L))).thenReturn(Mono.empty());
+
+        StepVerifier.create(trainingService.editTraining(1L, date, "BACK", 7))
+                .verifyComplete();
+
+        assertThat(training1.getTrainingType()).isEqualTo(back);
+        assertThat(training1.getSetsAmount()).isEqualTo(7);
+    }
+
+    private Training training(Long id, int setsAmount, String date) {
+        return Training.builder()
+                .id(id)
+                .setsAmount(setsAmount)
+                .date(LocalDate.parse(date))
+                .trainingType(trainingType)
+                .athlete(athlete)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ivan.trainingdiary.reactive.util;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CacheInvalidationNotifier test")
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationNotifierTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    private CacheProperties cacheProperties;
+    private CacheInvalidationNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        notifier = new CacheInvalidationNotifier(databaseClient, cacheProperties);
+    }
+
+    @DisplayName("a change is sent with pg_notify on the shared channel in the servlet nodes' format")
+    @Test
+    void publish_SendsNotification() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(eq(0), eq("cache_invalidation"))).thenReturn(executeSpec);
+        when(executeSpec.bind(eq(1), argThat((Object message) -> ((String) message).endsWith(":ATHLETE:7"))))
+                .thenReturn(executeSpec);
+        when(executeSpec.then()).thenReturn(Mono.empty());
+
+        StepVerifier.create(notifier.publish(CacheInvalidationEvent.athlete(7L)))
+                .verifyComplete();
+
+        verify(databaseClient).sql(argThat((String sql) -> sql.contains("pg_notify")));
+    }
+
+    @DisplayName("messages carry the node, the scope and the key, with an empty key for a whole scope")
+    @Test
+    void message_Format() {
+        String athlete = notifier.message(CacheInvalidationEvent.athlete(7L));
+        String types = notifier.message(CacheInvalidationEvent.trainingTypes());
+
+        assertThat(athlete).matches("[a-z0-9]+:ATHLETE:7");
+        assertThat(types).isEqualTo(athlete.substring(0, athlete.indexOf(':')) + ":TRAINING_TYPES:");
+    }
+
+    @DisplayName("nothing is sent when cache invalidation is disabled")
+    @Test
+    void publish_Disabled() {
+        cacheProperties.getInvalidation().setEnabled(false);
+
+        StepVerifier.create(notifier.publish(CacheInvalidationEvent.trainingTypes()))
+                .verifyComplete();
+
+        verifyNoInteractions(databaseClient);
+    }
+}
@@ -3,8 +3,10 @@ package com.ivan.trainingdiary;
 import com.ivan.auditstarter.annotation.EnableAudit;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAudit
+@EnableScheduling
 @SpringBootApplication
 public class TrainingDiaryApplication {
     public static void main(String[] args) {
@@ -0,0 +1,146 @@
+package com.ivan.trainingdiary.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class to hold the settings of the application caches.
+ */
+@Component
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    /**
+     * Settings of the training type catalog cache.
+     */
+    private TrainingTypes trainingTypes = new TrainingTypes();
+
+    /**
+     * Settings of the authenticated principal cache.
+     */
+    private Principals principals = new Principals();
+
+    /**
+     * Settings of the per-athlete training statistics.
+     */
+    private Statistics statistics = new Statistics();
+
+    /**
+     * Settings of the cache of logins that do not exist.
+     */
+    private UnknownLogins unknownLogins = new UnknownLogins();
+
+    /**
+     * Settings of the versions behind the ETags of the training history and catalog responses.
+     */
+    private Versions versions = new Versions();
+
+    /**
+     * Settings of the invalidation of the caches of the other nodes.
+     */
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class TrainingTypes {
+
+        /**
+         * How long a loaded catalog is served before it is reloaded,
+         * so that changes made on other nodes become visible even if their invalidation was missed.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Principals {
+
+        /**
+         * The maximum number of cached principals.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How long a principal is served before it is loaded again,
+         * so that role changes become visible.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Statistics {
+
+        /**
+         * The maximum number of athletes whose statistics are held in memory.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How often the statistics held in memory are rebuilt from the database,
+         * so that changes made on other nodes become visible.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class UnknownLogins {
+
+        /**
+         * The maximum number of cached unknown logins.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a login is rejected without a query after it was not found.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Versions {
+
+        /**
+         * The number of per-athlete version counters.
+         * Athletes sharing a counter make each other's clients revalidate more often.
+         */
+        private int stripes = 4096;
+
+        /**
+         * The maximum number of logins whose athlete ID is held,
+         * so that a conditional request is answered without a query.
+         */
+        private long maximumSize = 100_000;
+    }
+
+    @Data
+    public static class Invalidation {
+
+        /**
+         * Whether changes are announced to the other nodes and their announcements are applied to the caches of this node.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The PostgreSQL notification channel shared by all nodes.
+         */
+        private String channel = "cache_invalidation";
+
+        /**
+         * How long the listener waits for notifications before it checks that its connection is still alive.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * How long the listener waits before reconnecting after it lost its connection;
+         * doubled after every failed attempt.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+
+        /**
+         * The longest wait between two reconnection attempts.
+         */
+        private Duration maxReconnectDelay = Duration.ofSeconds(30);
+    }
+}
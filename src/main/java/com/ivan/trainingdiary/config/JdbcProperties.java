@@ -0,0 +1,21 @@
+package com.ivan.trainingdiary.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class to hold the settings of the JDBC access.
+ */
+@Component
+@Data
+@ConfigurationProperties(prefix = "app.jdbc")
+public class JdbcProperties {
+
+    /**
+     * Whether prepared statements are counted by whether the driver prepared them on the server.
+     * Counting wraps every connection in a proxy that intercepts each JDBC call, so it is meant for tuning
+     * the statement cache rather than for regular operation.
+     */
+    private boolean statementMetrics = false;
+}
@@ -1,6 +1,10 @@
 package com.ivan.trainingdiary.config;
 
+import com.ivan.trainingdiary.security.BoundedPasswordEncoder;
 import com.ivan.trainingdiary.security.JwtTokenFilter;
+import com.ivan.trainingdiary.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +53,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // the async dispatch completing a streamed response belongs to a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 WHITE_LIST_URL
                         ).permitAll().anyRequest().authenticated())
@@ -74,11 +80,14 @@ public class SecurityConfig {
 
     /**
      * Creates a PasswordEncoder bean using BCryptPasswordEncoder for password hashing.
+     * Hashing runs on a bounded executor, see {@link BoundedPasswordEncoder}.
      *
+     * @param properties    the settings of the password hashing executor
+     * @param meterRegistry the registry of the executor metrics
      * @return the created PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), properties, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.ivan.trainingdiary.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class to hold the settings of the training change feed.
+ */
+@Component
+@Data
+@ConfigurationProperties(prefix = "app.training-feed")
+public class TrainingFeedProperties {
+
+    /**
+     * The maximum number of changes waiting to be sent to one subscriber;
+     * a subscriber whose buffer overflows is dropped.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * The maximum number of open subscriptions; further subscriptions are rejected.
+     */
+    private int maxSubscribers = 1000;
+
+    /**
+     * The number of threads sending changes to the subscribers. A stalled connection occupies one of them
+     * until its send fails or it is dropped, so keep this above the number of stalls expected at once.
+     */
+    private int deliveryThreads = 2;
+
+    /**
+     * How long one send may take; a subscriber whose send takes longer is dropped at the next heartbeat.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a subscription stays open before the client has to reconnect.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * How often an idle subscription is sent a comment, so that closed connections are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
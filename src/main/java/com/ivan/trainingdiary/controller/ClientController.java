@@ -1,24 +1,34 @@
 package com.ivan.trainingdiary.controller;
 
 import com.ivan.trainingdiary.dto.*;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
 import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingStatisticsMapper;
 import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
 import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.TrainingPage;
 import com.ivan.trainingdiary.security.SecurityUtils;
 import com.ivan.trainingdiary.service.AthleteService;
 import com.ivan.trainingdiary.service.TrainingService;
+import com.ivan.trainingdiary.service.TrainingStatisticsService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
+import com.ivan.trainingdiary.util.ResourceVersions;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
 
 /**
  * API controller for client.
+ * The training type catalog and the training history carry weak ETags from {@link ResourceVersions};
+ * a request whose {@code If-None-Match} matches is answered with {@code 304 Not Modified} before any query runs.
  *
  * @author sergeenkovv
  */
@@ -28,60 +38,107 @@ import java.util.List;
 @RequestMapping("/api/client")
 public class ClientController {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
     private final AthleteService athleteService;
     private final TrainingService trainingService;
+    private final TrainingStatisticsService trainingStatisticsService;
     private final TrainingTypeService trainingTypeService;
     private final TrainingMapper trainingMapper;
+    private final TrainingStatisticsMapper trainingStatisticsMapper;
     private final TrainingTypeMapper trainingTypeMapper;
+    private final ResourceVersions resourceVersions;
+    private final TrainingExportResponses trainingExportResponses;
 
     /**
      * Show all training type.
      *
-     * @param login of athlete
+     * @param login      of athlete
+     * @param webRequest the request, checked against {@code If-None-Match}
      * @return {@link ResponseEntity} with list of {@link TrainingTypeResponse}
      */
     @Operation(summary = "Show all training type")
     @GetMapping("/training-types/show-all")
-    public ResponseEntity<?> showAllTrainingTypes(@RequestParam String login) {
+    public ResponseEntity<?> showAllTrainingTypes(@RequestParam String login, WebRequest webRequest) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        String eTag = resourceVersions.getCatalogTag();
+        if (webRequest.checkNotModified(eTag)) return ConditionalResponses.notModified();
         List<TrainingTypeResponse> trainingTypes = trainingTypeMapper.toDtoList(
                 trainingTypeService.getAllTrainingTypes());
-        return ResponseEntity.ok().body(new TrainingTypesListResponse(trainingTypes));
+        return ConditionalResponses.ok().body(new TrainingTypesListResponse(trainingTypes));
     }
 
     /**
      * Show trainings by date.
      *
-     * @param login of athlete
-     * @return {@link ResponseEntity} with list of {@link TrainingResponse}
+     * @param login      of athlete
+     * @param cursor     of the next page returned with the previous page, absent for the first page
+     * @param size       of the page
+     * @param webRequest the request, checked against {@code If-None-Match}
+     * @return {@link ResponseEntity} with a page of {@link TrainingResponse}
      */
     @Operation(summary = "Show trainings by date")
     @GetMapping("/training/show-by-date")
-    public ResponseEntity<?> showTrainingByDate(@RequestParam String login) {
+    public ResponseEntity<?> showTrainingByDate(@RequestParam String login,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                WebRequest webRequest) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        String knownTag = resourceVersions.findAthleteTag(login);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
         Athlete athlete = athleteService.getByLogin(login);
-        List<TrainingResponse> trainings = trainingMapper.toDtoList(
-                trainingService.getTrainingsSortedByDate(athlete.getId()));
-        return ResponseEntity.ok().body(new TrainingHistoryResponse(login, trainings));
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        TrainingPage page = trainingService.getTrainingsPageSortedByDate(athlete.getId(), cursor, size);
+        List<TrainingResponse> trainings = trainingMapper.toDtoList(page.getTrainings());
+        return ConditionalResponses.ok().body(new TrainingHistoryPageResponse(login, trainings, page.getNextCursor()));
     }
 
     /**
      * Show trainings by sets amount.
      *
-     * @param login of athlete
-     * @return {@link ResponseEntity} with list of {@link TrainingResponse}
+     * @param login      of athlete
+     * @param cursor     of the next page returned with the previous page, absent for the first page
+     * @param size       of the page
+     * @param webRequest the request, checked against {@code If-None-Match}
+     * @return {@link ResponseEntity} with a page of {@link TrainingResponse}
      */
     @Operation(summary = "Show trainings by sets amount")
     @GetMapping("/training/show-by-sets-amount")
-    public ResponseEntity<?> showTrainingBySetsAmount(@RequestParam String login) {
+    public ResponseEntity<?> showTrainingBySetsAmount(@RequestParam String login,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                      WebRequest webRequest) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        String knownTag = resourceVersions.findAthleteTag(login);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
         Athlete athlete = athleteService.getByLogin(login);
-        List<TrainingResponse> trainings = trainingMapper.toDtoList(
-                trainingService.getTrainingsSortedBySetsAmount(athlete.getId()));
-        return ResponseEntity.ok().body(new TrainingHistoryResponse(login, trainings));
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        TrainingPage page = trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), cursor, size);
+        List<TrainingResponse> trainings = trainingMapper.toDtoList(page.getTrainings());
+        return ConditionalResponses.ok().body(new TrainingHistoryPageResponse(login, trainings, page.getNextCursor()));
+    }
+
+    /**
+     * Show training statistics.
+     *
+     * @param login of athlete
+     * @return {@link ResponseEntity} with {@link TrainingStatisticsResponse}
+     */
+    @Operation(summary = "Show training statistics")
+    @GetMapping("/training/statistics")
+    public ResponseEntity<?> showTrainingStatistics(@RequestParam String login) {
+        if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
+                .body(new ExceptionResponse("Incorrect login!"));
+        Athlete athlete = athleteService.getByLogin(login);
+        return ResponseEntity.ok().body(trainingStatisticsMapper.toDto(login,
+                trainingStatisticsService.getStatistics(athlete.getId())));
     }
 
     /**
@@ -131,4 +188,28 @@ public class ClientController {
         trainingService.editTraining(athlete.getId(), LocalDate.parse(request.date()), request.typeName(), request.setsAmount());
         return ResponseEntity.ok(new SuccessResponse("Training edit successfully"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Export all trainings, newest first, as NDJSON or CSV.
+     * Trainings are written to the response while they are read from the database.
+     *
+     * @param login      of athlete
+     * @param format     of the export, {@code ndjson} or {@code csv}
+     * @param webRequest the request, checked against {@code If-None-Match}
+     * @return {@link ResponseEntity} with the streamed trainings
+     */
+    @Operation(summary = "Export all trainings")
+    @GetMapping("/training/export")
+    public ResponseEntity<StreamingResponseBody> exportTrainings(@RequestParam String login,
+                                                                 @RequestParam(defaultValue = "ndjson") String format,
+                                                                 WebRequest webRequest) {
+        if (!SecurityUtils.isValidLogin(login)) throw new InvalidArgumentException("Incorrect login!");
+        String knownTag = resourceVersions.findAthleteTag(login);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
+        Athlete athlete = athleteService.getByLogin(login);
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        return trainingExportResponses.export(athlete, TrainingExportWriter.Format.of(format));
+    }
+}
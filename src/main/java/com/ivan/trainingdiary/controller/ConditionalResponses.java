@@ -0,0 +1,47 @@
+package com.ivan.trainingdiary.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builders of the responses of endpoints that answer conditional GET requests.
+ * Responses carry an ETag and {@code Cache-Control: private, no-cache}, so clients keep them
+ * but revalidate them with {@code If-None-Match} before every use. The tag of a response is taken once
+ * and written only by {@link WebRequest#checkNotModified(String)}.
+ *
+ * @author sergeenkovv
+ */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Starts a {@code 200 OK} response.
+     * The ETag is already set by {@link WebRequest#checkNotModified(String)}, which must be called exactly once
+     * with the tag of the response; setting it here as well would send a second, possibly different, ETag.
+     *
+     * @return the response builder
+     */
+    static ResponseEntity.BodyBuilder ok() {
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE);
+    }
+
+    /**
+     * Builds a {@code 304 Not Modified} response.
+     * The ETag is already set by {@link WebRequest#checkNotModified(String)}.
+     *
+     * @param <T> the body type of the endpoint
+     * @return the response
+     */
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+}
@@ -4,8 +4,10 @@ import com.ivan.trainingdiary.dto.JwtResponse;
 import com.ivan.trainingdiary.dto.SecurityRequest;
 import com.ivan.trainingdiary.mapper.AthleteMapper;
 import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.security.LoginRateLimiter;
 import com.ivan.trainingdiary.service.SecurityService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +30,7 @@ public class SecurityController {
 
     private final SecurityService securityService;
     private final AthleteMapper athleteMapper;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Handles the registration process for a new athletes.
@@ -45,12 +48,18 @@ public class SecurityController {
     /**
      * Handles the authorization process for an existing athletes.
      *
-     * @param request The SecurityRequest object containing authorization details.
+     * The attempt is first taken from the rate limit of the client address; behind a trusted proxy
+     * the server has already replaced the remote address with the one from {@code X-Forwarded-For}.
+     *
+     * @param request     The SecurityRequest object containing authorization details.
+     * @param httpRequest The HTTP request, used for the client address.
      * @return ResponseEntity<?> containing the JWT response for successful authorization.
      */
     @Operation(summary = "Authorize athlete in application")
     @PostMapping("/authorization")
-    public ResponseEntity<JwtResponse> authorize(@RequestBody @Valid SecurityRequest request) {
+    public ResponseEntity<JwtResponse> authorize(@RequestBody @Valid SecurityRequest request,
+                                                 HttpServletRequest httpRequest) {
+        loginRateLimiter.acquireForAddress(httpRequest.getRemoteAddr());
         JwtResponse response = securityService.authorization(request.login(), request.password());
         return ResponseEntity.ok(response);
     }
@@ -1,23 +1,40 @@
 package com.ivan.trainingdiary.controller;
 
 import com.ivan.trainingdiary.dto.*;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
 import com.ivan.trainingdiary.mapper.AthleteMapper;
 import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingStatisticsMapper;
 import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
 import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.TrainingPage;
 import com.ivan.trainingdiary.security.SecurityUtils;
 import com.ivan.trainingdiary.service.AthleteService;
+import com.ivan.trainingdiary.service.TrainingFeedService;
 import com.ivan.trainingdiary.service.TrainingService;
+import com.ivan.trainingdiary.service.TrainingStatisticsService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
+import com.ivan.trainingdiary.util.ResourceVersions;
+import com.ivan.trainingdiary.util.TrainingCsvReader;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
- * API controller for trainer
+ * API controller for trainer.
+ * The training type catalog and the training histories of clients carry weak ETags from {@link ResourceVersions};
+ * a request whose {@code If-None-Match} matches is answered with {@code 304 Not Modified} before any query runs.
+ * Dashboards can follow training changes as they are committed through {@link TrainingFeedService} instead.
  *
  * @author sergeenkovv
  */
@@ -26,12 +43,21 @@ import java.util.List;
 @RequestMapping("/api/trainer")
 public class TrainerController {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String DEFAULT_RECENT_LIMIT = "5";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final AthleteService athleteService;
     private final TrainingService trainingService;
+    private final TrainingStatisticsService trainingStatisticsService;
+    private final TrainingFeedService trainingFeedService;
     private final TrainingTypeService trainingTypeService;
     private final AthleteMapper athleteMapper;
     private final TrainingMapper trainingMapper;
+    private final TrainingStatisticsMapper trainingStatisticsMapper;
     private final TrainingTypeMapper trainingTypeMapper;
+    private final ResourceVersions resourceVersions;
+    private final TrainingExportResponses trainingExportResponses;
 
     /**
      * Adds a new training type.
@@ -82,52 +108,190 @@ public class TrainerController {
     /**
      * Shows all training types.
      *
-     * @param login the login of the trainer
+     * @param login      the login of the trainer
+     * @param webRequest the request, checked against {@code If-None-Match}
      * @return the response entity with the list of training types
      */
     @Operation(summary = "Show all training type")
     @GetMapping("/training-types/show-all")
-    public ResponseEntity<?> showAllTrainingTypes(@RequestParam String login) {
+    public ResponseEntity<?> showAllTrainingTypes(@RequestParam String login, WebRequest webRequest) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        String eTag = resourceVersions.getCatalogTag();
+        if (webRequest.checkNotModified(eTag)) return ConditionalResponses.notModified();
         List<TrainingTypeResponse> trainingTypes = trainingTypeMapper.toDtoList(
                 trainingTypeService.getAllTrainingTypes());
-        return ResponseEntity.ok().body(new TrainingTypesListResponse(trainingTypes));
+        return ConditionalResponses.ok().body(new TrainingTypesListResponse(trainingTypes));
     }
 
     /**
      * Shows trainings by date.
      *
-     * @param login    the login of the trainer
+     * @param login       the login of the trainer
      * @param loginClient the login of the client
-     * @return the response entity with the list of trainings sorted by date
+     * @param cursor      the cursor of the next page returned with the previous page, absent for the first page
+     * @param size        the size of the page
+     * @param webRequest  the request, checked against {@code If-None-Match}
+     * @return the response entity with a page of trainings sorted by date
      */
     @Operation(summary = "Show trainings by date")
     @GetMapping("/training/show-by-date")
-    public ResponseEntity<?> showTrainingByDate(@RequestParam String login, @RequestParam String loginClient) {
+    public ResponseEntity<?> showTrainingByDate(@RequestParam String login, @RequestParam String loginClient,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                WebRequest webRequest) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        String knownTag = resourceVersions.findAthleteTag(loginClient);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
         Athlete athlete = athleteService.getByLogin(loginClient);
-        List<TrainingResponse> trainings = trainingMapper.toDtoList(
-                trainingService.getTrainingsSortedByDate(athlete.getId()));
-        return ResponseEntity.ok().body(new TrainingHistoryResponse(loginClient, trainings));
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        TrainingPage page = trainingService.getTrainingsPageSortedByDate(athlete.getId(), cursor, size);
+        List<TrainingResponse> trainings = trainingMapper.toDtoList(page.getTrainings());
+        return ConditionalResponses.ok().body(new TrainingHistoryPageResponse(loginClient, trainings, page.getNextCursor()));
     }
 
     /**
      * Shows trainings by sets amount.
      *
-     * @param login    the login of the trainer
+     * @param login       the login of the trainer
      * @param loginClient the login of the client
-     * @return the response entity with the list of trainings sorted by sets amount
+     * @param cursor      the cursor of the next page returned with the previous page, absent for the first page
+     * @param size        the size of the page
+     * @param webRequest  the request, checked against {@code If-None-Match}
+     * @return the response entity with a page of trainings sorted by sets amount
      */
     @Operation(summary = "Show trainings by sets amount")
     @GetMapping("/training/show-by-sets-amount")
-    public ResponseEntity<?> showTrainingBySetsAmount(@RequestParam String login, @RequestParam String loginClient) {
+    public ResponseEntity<?> showTrainingBySetsAmount(@RequestParam String login, @RequestParam String loginClient,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                      WebRequest webRequest) {
+        if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
+                .body(new ExceptionResponse("Incorrect login!"));
+        String knownTag = resourceVersions.findAthleteTag(loginClient);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
+        Athlete athlete = athleteService.getByLogin(loginClient);
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        TrainingPage page = trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), cursor, size);
+        List<TrainingResponse> trainings = trainingMapper.toDtoList(page.getTrainings());
+        return ConditionalResponses.ok().body(new TrainingHistoryPageResponse(loginClient, trainings, page.getNextCursor()));
+    }
+
+    /**
+     * Shows the training statistics of a client.
+     *
+     * @param login       the login of the trainer
+     * @param loginClient the login of the client
+     * @return the response entity with the training statistics of the client
+     */
+    @Operation(summary = "Show training statistics of a client")
+    @GetMapping("/training/statistics")
+    public ResponseEntity<?> showTrainingStatistics(@RequestParam String login, @RequestParam String loginClient) {
+        if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
+                .body(new ExceptionResponse("Incorrect login!"));
+        Athlete athlete = athleteService.getByLogin(loginClient);
+        return ResponseEntity.ok().body(trainingStatisticsMapper.toDto(loginClient,
+                trainingStatisticsService.getStatistics(athlete.getId())));
+    }
+
+    /**
+     * Shows the latest trainings of all clients, or of the given clients, loaded with a single query.
+     *
+     * @param login        the login of the trainer
+     * @param loginClients the logins of the clients, absent for all clients
+     * @param limit        the maximum number of trainings per client
+     * @return the response entity with the latest trainings of each client
+     */
+    @Operation(summary = "Show the latest trainings of clients")
+    @GetMapping("/training/show-recent")
+    public ResponseEntity<?> showRecentTrainings(@RequestParam String login,
+                                                 @RequestParam(required = false) List<String> loginClients,
+                                                 @RequestParam(defaultValue = DEFAULT_RECENT_LIMIT) int limit) {
+        if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
+                .body(new ExceptionResponse("Incorrect login!"));
+        List<TrainingHistoryResponse> athletes = trainingService.getRecentTrainingsOfClients(loginClients, limit)
+                .entrySet().stream()
+                .map(entry -> new TrainingHistoryResponse(entry.getKey(), trainingMapper.toDtoList(entry.getValue())))
+                .toList();
+        return ResponseEntity.ok().body(new TrainingHistoriesResponse(athletes));
+    }
+
+    /**
+     * Streams the training changes of all clients, or of the given clients, as server-sent events,
+     * so that dashboards do not have to poll the training histories.
+     *
+     * @param login        the login of the trainer
+     * @param loginClients the logins of the clients, absent for all clients
+     * @return the emitter the changes are sent to
+     */
+    @Operation(summary = "Follow the training changes of clients")
+    @GetMapping("/training/feed")
+    public SseEmitter followTrainingChanges(@RequestParam String login,
+                                            @RequestParam(required = false) List<String> loginClients) {
+        if (!SecurityUtils.isValidLogin(login)) throw new InvalidArgumentException("Incorrect login!");
+        return trainingFeedService.subscribe(loginClients);
+    }
+
+    /**
+     * Imports trainings in bulk from a JSON array.
+     *
+     * @param login the login of the trainer
+     * @param rows  the trainings to import
+     * @return the response entity with the number of imported trainings and the row errors
+     */
+    @Operation(summary = "import trainings")
+    @PostMapping(value = "/training/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importTrainings(@RequestParam String login,
+                                             @RequestBody List<TrainingImportRequest> rows) {
         if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
                 .body(new ExceptionResponse("Incorrect login!"));
+        return ResponseEntity.ok(trainingService.importTrainings(rows));
+    }
+
+    /**
+     * Imports trainings in bulk from CSV with the columns {@code athleteLogin,typeName,setsAmount,date}.
+     *
+     * @param login the login of the trainer
+     * @param body  the CSV
+     * @return the response entity with the number of imported trainings and the row errors
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(summary = "import trainings from CSV")
+    @PostMapping(value = "/training/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<?> importTrainingsCsv(@RequestParam String login, InputStream body) throws IOException {
+        if (!SecurityUtils.isValidLogin(login)) return ResponseEntity.badRequest()
+                .body(new ExceptionResponse("Incorrect login!"));
+        List<TrainingImportRequest> rows = TrainingCsvReader.read(body, TrainingService.MAX_IMPORT_ROWS);
+        return ResponseEntity.ok(trainingService.importTrainings(rows));
+    }
+
+    /**
+     * Exports all trainings of a client, newest first, as NDJSON or CSV.
+     * Trainings are written to the response while they are read from the database.
+     *
+     * @param login       the login of the trainer
+     * @param loginClient the login of the client
+     * @param format      the export format, {@code ndjson} or {@code csv}
+     * @param webRequest  the request, checked against {@code If-None-Match}
+     * @return the response entity with the streamed trainings
+     */
+    @Operation(summary = "export all trainings of a client")
+    @GetMapping("/training/export")
+    public ResponseEntity<StreamingResponseBody> exportTrainings(@RequestParam String login, @RequestParam String loginClient,
+                                                                 @RequestParam(defaultValue = "ndjson") String format,
+                                                                 WebRequest webRequest) {
+        if (!SecurityUtils.isValidLogin(login)) throw new InvalidArgumentException("Incorrect login!");
+        String knownTag = resourceVersions.findAthleteTag(loginClient);
+        if (knownTag != null && webRequest.checkNotModified(knownTag)) return ConditionalResponses.notModified();
         Athlete athlete = athleteService.getByLogin(loginClient);
-        List<TrainingResponse> trainings = trainingMapper.toDtoList(
-                trainingService.getTrainingsSortedBySetsAmount(athlete.getId()));
-        return ResponseEntity.ok().body(new TrainingHistoryResponse(loginClient, trainings));
+        if (knownTag == null && webRequest.checkNotModified(resourceVersions.getAthleteTag(athlete))) {
+            return ConditionalResponses.notModified();
+        }
+        return trainingExportResponses.export(athlete, TrainingExportWriter.Format.of(format));
     }
-}
\ No newline at end of file
+}
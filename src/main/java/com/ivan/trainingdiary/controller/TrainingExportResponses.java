@@ -0,0 +1,51 @@
+package com.ivan.trainingdiary.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.service.TrainingService;
+import com.ivan.trainingdiary.util.TrainingExportWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds the streamed training export responses of {@link ClientController} and {@link TrainerController}.
+ * The body is written on an async thread after the controller has returned; trainings are read by
+ * {@link TrainingService#exportTrainings} in chunks, each on a connection that is returned to the pool
+ * before the chunk is written, so a slow download never holds a database connection.
+ *
+ * @author sergeenkovv
+ */
+@Component
+@RequiredArgsConstructor
+class TrainingExportResponses {
+
+    private final TrainingService trainingService;
+    private final TrainingMapper trainingMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Builds the response streaming all trainings of an athlete as an attachment.
+     *
+     * @param athlete the athlete whose trainings are exported
+     * @param format  the export format
+     * @return the response; its ETag is set by the conditional request check of the controller
+     */
+    ResponseEntity<StreamingResponseBody> export(Athlete athlete, TrainingExportWriter.Format format) {
+        StreamingResponseBody body = outputStream -> {
+            TrainingExportWriter writer = new TrainingExportWriter(outputStream, format, objectMapper);
+            trainingService.exportTrainings(athlete.getId(), training -> writer.write(trainingMapper.toDto(training)));
+            writer.flush();
+        };
+        return ConditionalResponses.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(athlete.getLogin() + "-trainings." + format.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+}
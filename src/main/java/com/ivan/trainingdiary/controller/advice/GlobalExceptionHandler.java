@@ -3,14 +3,20 @@ package com.ivan.trainingdiary.controller.advice;
 import com.ivan.trainingdiary.dto.ExceptionResponse;
 import com.ivan.trainingdiary.exception.AthleteNotFoundException;
 import com.ivan.trainingdiary.exception.AuthorizationException;
+import com.ivan.trainingdiary.exception.DatabaseUnavailableException;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
 import com.ivan.trainingdiary.exception.RegistrationException;
+import com.ivan.trainingdiary.exception.ServiceUnavailableException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -45,6 +51,41 @@ public class GlobalExceptionHandler {
                 .body(new ExceptionResponse("Unable to register! More information: " + e.getMessage()));
     }
 
+    @ExceptionHandler(InvalidArgumentException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidArgumentException(InvalidArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ExceptionResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handleDatabaseUnavailableException(DatabaseUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ExceptionResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handleServiceUnavailableException(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ExceptionResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionResponse> handleTooManyRequestsException(TooManyRequestsException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ExceptionResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ExceptionResponse> handleCannotCreateTransactionException(CannotCreateTransactionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ExceptionResponse("The database is busy, try again later!"));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ExceptionResponse> handleIllegalArgumentException(IllegalArgumentException e) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
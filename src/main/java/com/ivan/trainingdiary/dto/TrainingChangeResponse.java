@@ -0,0 +1,10 @@
+package com.ivan.trainingdiary.dto;
+
+public record TrainingChangeResponse(
+        String change,
+        String athleteLogin,
+        String date,
+        String trainingType,
+        Integer setsAmount
+) {
+}
@@ -0,0 +1,7 @@
+package com.ivan.trainingdiary.dto;
+
+import java.util.List;
+
+public record TrainingHistoriesResponse(
+        List<TrainingHistoryResponse> athletes) {
+}
@@ -0,0 +1,7 @@
+package com.ivan.trainingdiary.dto;
+
+public record TrainingImportError(
+        int row,
+        String message
+) {
+}
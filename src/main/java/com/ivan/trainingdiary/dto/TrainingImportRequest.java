@@ -0,0 +1,9 @@
+package com.ivan.trainingdiary.dto;
+
+public record TrainingImportRequest(
+        String athleteLogin,
+        String typeName,
+        Integer setsAmount,
+        String date
+) {
+}
@@ -0,0 +1,9 @@
+package com.ivan.trainingdiary.dto;
+
+import java.util.List;
+
+public record TrainingImportResponse(
+        int imported,
+        List<TrainingImportError> errors
+) {
+}
@@ -0,0 +1,14 @@
+package com.ivan.trainingdiary.dto;
+
+import java.util.Map;
+
+public record TrainingStatisticsResponse(
+        String athleteLogin,
+        int totalTrainings,
+        int totalSets,
+        Map<String, Integer> setsByType,
+        Map<String, Integer> weeklySets,
+        int currentStreak,
+        int longestStreak,
+        String lastTrainingDate) {
+}
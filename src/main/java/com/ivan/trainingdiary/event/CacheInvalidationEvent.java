@@ -0,0 +1,53 @@
+package com.ivan.trainingdiary.event;
+
+/**
+ * Invalidation of cached data, sent to the other nodes through {@link com.ivan.trainingdiary.util.CacheInvalidationBus}
+ * and published as an application event on every node that receives it.
+ * Caches drop the entries it describes; the node that made the change has already dropped them.
+ *
+ * @param scope the kind of data that changed
+ * @param key   the login or athlete ID the change belongs to, or {@code null} for the whole scope
+ * @author sergeenkovv
+ */
+public record CacheInvalidationEvent(
+        Scope scope,
+        String key) {
+
+    /**
+     * The kind of data that changed.
+     */
+    public enum Scope {
+        /**
+         * Everything may have changed, e.g. because notifications were missed; every cache is cleared.
+         */
+        ALL,
+        /**
+         * The training type catalog.
+         */
+        TRAINING_TYPES,
+        /**
+         * The athlete with the login in the key, e.g. a newly registered one.
+         */
+        LOGIN,
+        /**
+         * The trainings of the athlete with the ID in the key.
+         */
+        ATHLETE
+    }
+
+    public static CacheInvalidationEvent all() {
+        return new CacheInvalidationEvent(Scope.ALL, null);
+    }
+
+    public static CacheInvalidationEvent trainingTypes() {
+        return new CacheInvalidationEvent(Scope.TRAINING_TYPES, null);
+    }
+
+    public static CacheInvalidationEvent login(String login) {
+        return new CacheInvalidationEvent(Scope.LOGIN, login);
+    }
+
+    public static CacheInvalidationEvent athlete(Long athleteId) {
+        return new CacheInvalidationEvent(Scope.ATHLETE, athleteId.toString());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ivan.trainingdiary.event;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published by the training service when a training is added, edited or deleted.
+ * Listeners that must only react to committed changes subscribe with
+ * {@link org.springframework.transaction.event.TransactionalEventListener}.
+ *
+ * @param change     the kind of change
+ * @param athleteId  the ID of the athlete the training belongs to
+ * @param date       the date of the training, unique per athlete
+ * @param typeName   the training type after the change, or before it for a deleted training
+ * @param setsAmount the number of sets after the change, or before it for a deleted training
+ * @author sergeenkovv
+ */
+public record TrainingChangedEvent(
+        Change change,
+        Long athleteId,
+        LocalDate date,
+        String typeName,
+        Integer setsAmount) {
+
+    /**
+     * The kind of change of a training.
+     */
+    public enum Change {
+        ADDED,
+        EDITED,
+        DELETED
+    }
+}
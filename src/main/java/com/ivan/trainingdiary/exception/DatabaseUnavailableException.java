@@ -0,0 +1,21 @@
+package com.ivan.trainingdiary.exception;
+
+/**
+ * Exception thrown when no database connection becomes available in time,
+ * typically because all pooled connections are in use.
+ * This exception extends {@link RuntimeException}.
+ *
+ * @author sergeenkovv
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a DatabaseUnavailableException with the specified detail message and cause.
+     *
+     * @param message The detail message explaining the exception.
+     * @param cause   The exception reported by the connection pool.
+     */
+    public DatabaseUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
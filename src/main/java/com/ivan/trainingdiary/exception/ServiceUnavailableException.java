@@ -0,0 +1,21 @@
+package com.ivan.trainingdiary.exception;
+
+/**
+ * Exception thrown when a request cannot be served for a reason on the server side that is expected to pass,
+ * such as being interrupted while waiting for a busy executor.
+ * This exception extends {@link RuntimeException}.
+ *
+ * @author sergeenkovv
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a ServiceUnavailableException with the specified detail message and cause.
+     *
+     * @param message The detail message explaining the exception.
+     * @param cause   The exception that stopped the request.
+     */
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ivan.trainingdiary.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is rejected because the work it needs is already at capacity,
+ * so the client should retry later instead of waiting.
+ * This exception extends {@link RuntimeException}.
+ *
+ * @author sergeenkovv
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * How long the client should wait before retrying.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a TooManyRequestsException with the specified detail message and a retry after one second.
+     *
+     * @param message The detail message explaining the exception.
+     */
+    public TooManyRequestsException(String message) {
+        this(message, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Constructs a TooManyRequestsException with the specified detail message and retry delay.
+     *
+     * @param message    The detail message explaining the exception.
+     * @param retryAfter How long the client should wait before retrying.
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
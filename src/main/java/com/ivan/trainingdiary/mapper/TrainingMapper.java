@@ -17,6 +17,8 @@ public interface TrainingMapper {
     @Mapping(source = "trainingType", target = "typeName", qualifiedByName = "mapTypeName")
     List<TrainingResponse> toDtoList(List<Training> entities);
 
+    TrainingResponse toDto(Training entity);
+
     default String mapTypeName(TrainingType value) {
         return value.getTypeName();
     }
@@ -0,0 +1,14 @@
+package com.ivan.trainingdiary.mapper;
+
+import com.ivan.trainingdiary.dto.TrainingStatisticsResponse;
+import com.ivan.trainingdiary.model.TrainingStatistics;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.springframework.stereotype.Component;
+
+@Component
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface TrainingStatisticsMapper {
+
+    TrainingStatisticsResponse toDto(String athleteLogin, TrainingStatistics statistics);
+}
@@ -1,7 +1,5 @@
 package com.ivan.trainingdiary.model;
 
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -38,6 +36,5 @@ public class Athlete {
     /**
      * The role of the athlete.
      */
-    @Enumerated(EnumType.STRING)
     private Role role;
 }
\ No newline at end of file
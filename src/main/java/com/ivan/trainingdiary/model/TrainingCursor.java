@@ -0,0 +1,52 @@
+package com.ivan.trainingdiary.model;
+
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset (seek) position inside a sorted training history.
+ * A cursor remembers the sort key and the ID of the last training of a page and is
+ * handed to clients as an opaque URL-safe token.
+ *
+ * @param sort    The sort order the cursor belongs to, e.g. {@code date} or {@code sets}.
+ * @param sortKey The sort key value of the last training of the page.
+ * @param id      The ID of the last training of the page.
+ * @author sergeenkovv
+ */
+public record TrainingCursor(String sort, String sortKey, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the cursor into an opaque token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        String raw = sort + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token        The opaque token.
+     * @param expectedSort The sort order the token must belong to.
+     * @return The decoded cursor.
+     * @throws InvalidArgumentException if the token is malformed or belongs to another sort order.
+     */
+    public static TrainingCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                throw new InvalidArgumentException("Invalid cursor!");
+            }
+            return new TrainingCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("Invalid cursor!");
+        }
+    }
+}
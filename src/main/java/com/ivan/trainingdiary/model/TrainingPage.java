@@ -0,0 +1,32 @@
+package com.ivan.trainingdiary.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents one page of a sorted training history.
+ * This class is annotated with Lombok annotations such as {@link Data}, {@link NoArgsConstructor},
+ * {@link AllArgsConstructor}, and {@link Builder}.
+ *
+ * @author sergeenkovv
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingPage {
+
+    /**
+     * The trainings of the page in sort order.
+     */
+    private List<Training> trainings;
+
+    /**
+     * The opaque cursor of the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,58 @@
+package com.ivan.trainingdiary.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Represents aggregated training statistics of an athlete.
+ * This class is annotated with Lombok annotations such as {@link Data}, {@link NoArgsConstructor},
+ * {@link AllArgsConstructor}, and {@link Builder}.
+ *
+ * @author sergeenkovv
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingStatistics {
+
+    /**
+     * The number of trainings.
+     */
+    private int totalTrainings;
+
+    /**
+     * The number of sets of all trainings.
+     */
+    private int totalSets;
+
+    /**
+     * The number of sets per training type name.
+     */
+    private Map<String, Integer> setsByType;
+
+    /**
+     * The number of sets per week of the recent weeks, keyed by the Monday starting the week, in date order.
+     */
+    private Map<LocalDate, Integer> weeklySets;
+
+    /**
+     * The number of consecutive training days up to today or yesterday.
+     */
+    private int currentStreak;
+
+    /**
+     * The largest number of consecutive training days.
+     */
+    private int longestStreak;
+
+    /**
+     * The date of the latest training, or {@code null} if there are no trainings.
+     */
+    private LocalDate lastTrainingDate;
+}
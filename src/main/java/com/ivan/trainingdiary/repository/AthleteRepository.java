@@ -31,8 +31,18 @@ public interface AthleteRepository extends GeneralRepository<Long, Athlete> {
 
     /**
      * Retrieves all athletes stored in the data source.
+     * The password hashes are not loaded, so the returned athletes have no password.
      *
      * @return A {@link List} of all athletes stored in the data source.
      */
     List<Athlete> findAll();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the clients with the given logins, or all clients.
+     * The password hashes are not loaded, so the returned athletes have no password.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     * @return A {@link List} of the clients found; logins of unknown athletes and of trainers are left out.
+     */
+    List<Athlete> findClients(List<String> logins);
+}
@@ -5,22 +5,58 @@ import com.ivan.trainingdiary.model.Training;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for accessing training data.
- * Extends {@link GeneralRepository} with key type {@link Long} and entity type {@link Training}.
+ * Trainings are saved with {@link #saveIfAbsent(Training)} and {@link #saveAll(List)}, which enforce
+ * the one-training-a-day limit, so unlike the other repositories it does not extend {@link GeneralRepository}.
  *
  * @author sergeenkovv
  */
-public interface TrainingRepository extends GeneralRepository<Long, Training> {
+public interface TrainingRepository {
 
     /**
-     * Finds all trainings associated with a specific athlete ID.
+     * Passes all trainings of a specific athlete to a consumer one at a time, sorted by date and ID in descending order.
+     * The trainings are never collected into a list.
      *
      * @param athleteId The ID of the athlete for which trainings are to be retrieved.
-     * @return A {@link List} of trainings associated with the specified athlete ID.
+     * @param consumer  The consumer called for every training.
      */
-    List<Training> findAllByAthleteId(Long athleteId);
+    void forEachByAthleteId(Long athleteId, Consumer<Training> consumer);
+
+    /**
+     * Finds a page of an athlete's trainings sorted by date and ID in descending order.
+     * The page starts right after the given keyset position, or at the beginning if no position is given.
+     *
+     * @param athleteId The ID of the athlete for which trainings are to be retrieved.
+     * @param afterDate The date of the last training of the previous page, or {@code null} for the first page.
+     * @param afterId   The ID of the last training of the previous page, or {@code null} for the first page.
+     * @param limit     The maximum number of trainings to return.
+     * @return A {@link List} of at most {@code limit} trainings.
+     */
+    List<Training> findPageByAthleteIdOrderByDate(Long athleteId, LocalDate afterDate, Long afterId, int limit);
+
+    /**
+     * Finds a page of an athlete's trainings sorted by sets amount and ID in descending order.
+     * The page starts right after the given keyset position, or at the beginning if no position is given.
+     *
+     * @param athleteId       The ID of the athlete for which trainings are to be retrieved.
+     * @param afterSetsAmount The sets amount of the last training of the previous page, or {@code null} for the first page.
+     * @param afterId         The ID of the last training of the previous page, or {@code null} for the first page.
+     * @param limit           The maximum number of trainings to return.
+     * @return A {@link List} of at most {@code limit} trainings.
+     */
+    List<Training> findPageByAthleteIdOrderBySetsAmount(Long athleteId, Integer afterSetsAmount, Long afterId, int limit);
+
+    /**
+     * Finds the latest trainings of several clients with a single query.
+     *
+     * @param logins          The logins of the clients, or {@code null} for all clients.
+     * @param limitPerAthlete The maximum number of trainings per client.
+     * @return A {@link List} of trainings sorted by athlete login, then by date and ID in descending order.
+     */
+    List<Training> findRecentOfClients(List<String> logins, int limitPerAthlete);
 
     /**
      * Finds a training by ID.
@@ -52,4 +88,21 @@ public interface TrainingRepository extends GeneralRepository<Long, Training> {
      * @return An {@link Optional} containing the training if found, otherwise an empty {@link Optional}.
      */
     Optional<Training> findByAthleteIdAndTrainingDate(Long athleteId, LocalDate date);
+
+    /**
+     * Saves a training in a single statement unless its athlete already has a training on the same date.
+     *
+     * @param training The training to save.
+     * @return An {@link Optional} containing the saved training with its ID, or an empty {@link Optional} if it was skipped.
+     */
+    Optional<Training> saveIfAbsent(Training training);
+
+    /**
+     * Saves trainings with batched inserts in a single transaction.
+     * A training is skipped if its athlete already has a training on the same date.
+     *
+     * @param trainings The trainings to save.
+     * @return For every training, {@code true} if it was saved, {@code false} if it was skipped.
+     */
+    boolean[] saveAll(List<Training> trainings);
 }
\ No newline at end of file
@@ -1,14 +1,13 @@
 package com.ivan.trainingdiary.repository.impl;
 
+import com.ivan.trainingdiary.exception.RegistrationException;
 import com.ivan.trainingdiary.repository.AthleteRepository;
 import com.ivan.trainingdiary.model.Athlete;
-import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.util.ConnectionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +20,33 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AthleteRepositoryImpl implements AthleteRepository {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String SQL_FIND_BY_LOGIN = """
+            SELECT id, login, password, role FROM develop.athletes WHERE login = ?
+            """;
+
+    private static final String SQL_FIND_BY_ID = """
+            SELECT id, login, password, role FROM develop.athletes WHERE id = ?
+            """;
+
+    private static final String SQL_FIND_ALL = """
+            SELECT id, login, role FROM develop.athletes
+            """;
+
+    private static final String SQL_FIND_ALL_CLIENTS = """
+            SELECT id, login, role FROM develop.athletes WHERE role = 'CLIENT'
+            """;
+
+    private static final String SQL_FIND_CLIENTS = """
+            SELECT id, login, role FROM develop.athletes WHERE role = 'CLIENT' AND login = ANY (?)
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO develop.athletes (login, password, role)
+            VALUES (?, ?, ?)
+            """;
+
     private final ConnectionManager connectionProvider;
 
     /**
@@ -31,16 +57,13 @@ public class AthleteRepositoryImpl implements AthleteRepository {
      */
     @Override
     public Optional<Athlete> findByLogin(String login) {
-        String sqlFindByLogin = """
-                SELECT * FROM develop.athletes WHERE login = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindByLogin)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_LOGIN)) {
             preparedStatement.setString(1, login);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next() ?
-                    Optional.of(buildAthlete(resultSet))
+                    Optional.of(RowMappers.ATHLETE.mapRow(resultSet, 0))
                     : Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
@@ -55,16 +78,13 @@ public class AthleteRepositoryImpl implements AthleteRepository {
      */
     @Override
     public Optional<Athlete> findById(Long id) {
-        String sqlFindById = """
-                SELECT * FROM develop.athletes WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
             preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next() ?
-                    Optional.of(buildAthlete(resultSet))
+                    Optional.of(RowMappers.ATHLETE.mapRow(resultSet, 0))
                     : Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
@@ -73,24 +93,36 @@ public class AthleteRepositoryImpl implements AthleteRepository {
 
     /**
      * Retrieves all athletes from the database.
+     * Only the id, login and role are loaded: listing athletes never reads their password hashes.
      *
-     * @return a list of all athletes
+     * @return a list of all athletes without password hashes
      */
     @Override
     public List<Athlete> findAll() {
-        String sqlFindAll = """
-                SELECT * FROM develop.athletes;
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAll)) {
-            ResultSet resultSet = preparedStatement.executeQuery();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL)) {
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.ATHLETE_WITHOUT_PASSWORD);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
 
-            List<Athlete> athletes = new ArrayList<>();
-            while (resultSet.next()) {
-                athletes.add(buildAthlete(resultSet));
+    /**
+     * Retrieves clients from the database, filtered by role and login in the query.
+     * Only the id, login and role are loaded.
+     *
+     * @param logins the logins of the clients, or {@code null} for all clients
+     * @return the clients found, without password hashes
+     */
+    @Override
+    public List<Athlete> findClients(List<String> logins) {
+        String sqlFindClients = logins == null ? SQL_FIND_ALL_CLIENTS : SQL_FIND_CLIENTS;
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindClients)) {
+            if (logins != null) {
+                preparedStatement.setArray(1, connection.createArrayOf("varchar", logins.toArray()));
             }
-
-            return athletes;
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.ATHLETE_WITHOUT_PASSWORD);
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
         }
@@ -101,15 +133,12 @@ public class AthleteRepositoryImpl implements AthleteRepository {
      *
      * @param athlete the athlete to save
      * @return the saved athlete with the generated id
+     * @throws RegistrationException if an athlete with the same login was saved concurrently
      */
     @Override
     public Athlete save(Athlete athlete) {
-        String sqlSave = """
-                INSERT INTO develop.athletes (login, password, role)
-                VALUES (?, ?, ?)
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, new String[]{"id"})) {
             preparedStatement.setString(1, athlete.getLogin());
             preparedStatement.setString(2, athlete.getPassword());
             preparedStatement.setString(3, athlete.getRole().getAuthority());
@@ -117,27 +146,14 @@ public class AthleteRepositoryImpl implements AthleteRepository {
 
             var generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
-                athlete.setId(generatedKeys.getLong("id"));
+                athlete.setId(generatedKeys.getLong(1));
             }
             return athlete;
         } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw new RegistrationException("The athlete with this login already exists!");
+            }
             throw new RuntimeException(e.getMessage());
         }
     }
-
-    /**
-     * Builds an {@link Athlete} instance from a {@link ResultSet}.
-     *
-     * @param resultSet the result set to build the athlete from
-     * @return the built athlete instance
-     * @throws SQLException if there is an error reading from the result set
-     */
-    private Athlete buildAthlete(ResultSet resultSet) throws SQLException {
-        return Athlete.builder()
-                .id(resultSet.getLong("id"))
-                .login(resultSet.getString("login"))
-                .password(resultSet.getString("password"))
-                .role(Role.valueOf(resultSet.getString("role")))
-                .build();
-    }
-}
\ No newline at end of file
+}
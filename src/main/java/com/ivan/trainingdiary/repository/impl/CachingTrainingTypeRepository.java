@@ -0,0 +1,186 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.repository.TrainingTypeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caching decorator for {@link TrainingTypeRepositoryImpl}.
+ * The whole training type catalog is loaded with one query into an immutable snapshot indexed by ID and by name.
+ * The snapshot is dropped when a training type is saved or deleted, here or on another node,
+ * and reloaded after the configured TTL, which bounds how long a missed change on another node stays invisible.
+ *
+ * @author sergeenkovv
+ */
+@Primary
+@Repository
+public class CachingTrainingTypeRepository implements TrainingTypeRepository {
+
+    private final TrainingTypeRepositoryImpl delegate;
+    private final long ttlNanos;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingTrainingTypeRepository(TrainingTypeRepositoryImpl delegate,
+                                         CacheProperties cacheProperties,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlNanos = cacheProperties.getTrainingTypes().getTtl().toNanos();
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", "trainingTypes")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", "trainingTypes")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieves all training types from the catalog snapshot.
+     *
+     * @return an unmodifiable list of all training types
+     */
+    @Override
+    public List<TrainingType> findAll() {
+        return getSnapshot().all();
+    }
+
+    /**
+     * Searches for a training type by id in the catalog snapshot.
+     *
+     * @param id the training type's id
+     * @return an optional training type with the given id if found, or empty optional otherwise
+     */
+    @Override
+    public Optional<TrainingType> findById(Long id) {
+        return Optional.ofNullable(getSnapshot().byId().get(id));
+    }
+
+    /**
+     * Searches for a training type by type name in the catalog snapshot.
+     *
+     * @param typeName the training type's name
+     * @return an optional training type with the given type name if found, or empty optional otherwise
+     */
+    @Override
+    public Optional<TrainingType> findByTypeName(String typeName) {
+        if (typeName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getSnapshot().byName().get(typeName));
+    }
+
+    /**
+     * Deletes a training type and invalidates the catalog.
+     *
+     * @param id the training type's id
+     * @return {@code true} if the training type was deleted successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean delete(Long id) {
+        boolean deleted = delegate.delete(id);
+        invalidate();
+        return deleted;
+    }
+
+    /**
+     * Saves a training type and invalidates the catalog.
+     *
+     * @param trainingType the training type to save
+     * @return the saved training type with the generated id
+     */
+    @Override
+    public TrainingType save(TrainingType trainingType) {
+        TrainingType saved = delegate.save(trainingType);
+        invalidate();
+        return saved;
+    }
+
+    /**
+     * Drops the catalog snapshot. If a transaction is active, the snapshot is dropped again after commit,
+     * so that a concurrent reload cannot keep the state from before the change.
+     */
+    public void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the catalog snapshot when the catalog was changed on another node.
+     *
+     * @param event the invalidation received from another node
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL || event.scope() == CacheInvalidationEvent.Scope.TRAINING_TYPES) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    /**
+     * Returns the current snapshot, loading the catalog if there is none or it has expired.
+     * A snapshot loaded concurrently with an invalidation is used once but not stored.
+     */
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null && System.nanoTime() - current.loadedAt() < ttlNanos) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        Snapshot loaded = Snapshot.of(delegate.findAll());
+        if (generation.get() == loadGeneration) {
+            snapshot.compareAndSet(current, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Immutable view of the training type catalog.
+     */
+    private record Snapshot(List<TrainingType> all,
+                            Map<Long, TrainingType> byId,
+                            Map<String, TrainingType> byName,
+                            long loadedAt) {
+
+        static Snapshot of(List<TrainingType> trainingTypes) {
+            return new Snapshot(
+                    List.copyOf(trainingTypes),
+                    trainingTypes.stream().collect(Collectors.toUnmodifiableMap(TrainingType::getId, Function.identity())),
+                    trainingTypes.stream().collect(Collectors.toUnmodifiableMap(TrainingType::getTypeName, Function.identity())),
+                    System.nanoTime());
+        }
+    }
+}
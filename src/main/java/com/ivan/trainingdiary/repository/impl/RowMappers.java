@@ -0,0 +1,106 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row mappers shared by the JDBC repositories.
+ * Columns are read by position, so every query that uses a mapper must select exactly the columns
+ * listed on the mapper, in that order.
+ *
+ * @author sergeenkovv
+ */
+final class RowMappers {
+
+    /**
+     * Maps {@code id, login, password, role} to an {@link Athlete}.
+     */
+    static final RowMapper<Athlete> ATHLETE = (resultSet, rowNum) -> Athlete.builder()
+            .id(resultSet.getLong(1))
+            .login(resultSet.getString(2))
+            .password(resultSet.getString(3))
+            .role(Role.valueOf(resultSet.getString(4)))
+            .build();
+
+    /**
+     * Maps {@code id, login, role} to an {@link Athlete} without a password hash.
+     */
+    static final RowMapper<Athlete> ATHLETE_WITHOUT_PASSWORD = (resultSet, rowNum) -> Athlete.builder()
+            .id(resultSet.getLong(1))
+            .login(resultSet.getString(2))
+            .role(Role.valueOf(resultSet.getString(3)))
+            .build();
+
+    /**
+     * Maps {@code id, type_name} to a {@link TrainingType}.
+     */
+    static final RowMapper<TrainingType> TRAINING_TYPE = (resultSet, rowNum) -> TrainingType.builder()
+            .id(resultSet.getLong(1))
+            .typeName(resultSet.getString(2))
+            .build();
+
+    /**
+     * Maps {@code id, sets_amount, date, type_id, type_name, athlete_id, login, role} to a {@link Training}
+     * with its training type and athlete. The athlete is loaded without a password hash;
+     * the training type or the athlete is {@code null} if the joined row is missing.
+     */
+    static final RowMapper<Training> TRAINING = (resultSet, rowNum) -> Training.builder()
+            .id(resultSet.getLong(1))
+            .setsAmount(resultSet.getInt(2))
+            .date(resultSet.getObject(3, LocalDate.class))
+            .trainingType(joinedTrainingType(resultSet))
+            .athlete(joinedAthlete(resultSet))
+            .build();
+
+    private RowMappers() {
+    }
+
+    /**
+     * Maps all remaining rows of a result set.
+     *
+     * @param resultSet the result set to read
+     * @param rowMapper the mapper of one row
+     * @param <T>       the type of the mapped rows
+     * @return the mapped rows in result set order
+     * @throws SQLException if there is an error reading from the result set
+     */
+    static <T> List<T> mapAll(ResultSet resultSet, RowMapper<T> rowMapper) throws SQLException {
+        List<T> result = new ArrayList<>();
+        while (resultSet.next()) {
+            result.add(rowMapper.mapRow(resultSet, result.size()));
+        }
+        return result;
+    }
+
+    private static TrainingType joinedTrainingType(ResultSet resultSet) throws SQLException {
+        long typeId = resultSet.getLong(4);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return TrainingType.builder()
+                .id(typeId)
+                .typeName(resultSet.getString(5))
+                .build();
+    }
+
+    private static Athlete joinedAthlete(ResultSet resultSet) throws SQLException {
+        long athleteId = resultSet.getLong(6);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return Athlete.builder()
+                .id(athleteId)
+                .login(resultSet.getString(7))
+                .role(Role.valueOf(resultSet.getString(8)))
+                .build();
+    }
+}
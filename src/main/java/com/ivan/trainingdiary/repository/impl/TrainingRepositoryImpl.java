@@ -1,21 +1,21 @@
 package com.ivan.trainingdiary.repository.impl;
 
-import com.ivan.trainingdiary.repository.AthleteRepository;
 import com.ivan.trainingdiary.repository.TrainingRepository;
-import com.ivan.trainingdiary.repository.TrainingTypeRepository;
 import com.ivan.trainingdiary.model.Training;
 import com.ivan.trainingdiary.util.ConnectionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.*;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * DAO implementation for {@link TrainingRepository} interface.
+ * Trainings are loaded together with their training type and athlete in a single JOIN query.
  *
  * @author sergeenkovv
  */
@@ -23,30 +23,212 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TrainingRepositoryImpl implements TrainingRepository {
 
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SQL_SELECT_TRAINING = """
+            SELECT t.id, t.sets_amount, t.date,
+                   tt.id AS type_id, tt.type_name,
+                   a.id AS athlete_id, a.login, a.role
+            FROM develop.trainings t
+                LEFT JOIN develop.training_types tt ON tt.id = t.type_id
+                LEFT JOIN develop.athletes a ON a.id = t.athlete_id
+            """;
+
+    private static final String SQL_FOR_EACH_BY_ATHLETE_ID = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ?
+            ORDER BY t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ?
+            ORDER BY t.date DESC, t.id DESC
+            LIMIT ?
+            """;
+
+    private static final String SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ? AND (t.date, t.id) < (?, ?)
+            ORDER BY t.date DESC, t.id DESC
+            LIMIT ?
+            """;
+
+    private static final String SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ?
+            ORDER BY t.sets_amount DESC, t.id DESC
+            LIMIT ?
+            """;
+
+    private static final String SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ? AND (t.sets_amount, t.id) < (?, ?)
+            ORDER BY t.sets_amount DESC, t.id DESC
+            LIMIT ?
+            """;
+
+    private static final String SQL_SELECT_RECENT_OF_CLIENTS = """
+            SELECT t.id, t.sets_amount, t.date,
+                   tt.id AS type_id, tt.type_name,
+                   a.id AS athlete_id, a.login, a.role
+            FROM develop.athletes a
+                CROSS JOIN LATERAL (
+                    SELECT id, sets_amount, date, type_id
+                    FROM develop.trainings
+                    WHERE athlete_id = a.id
+                    ORDER BY date DESC, id DESC
+                    LIMIT ?
+                ) t
+                LEFT JOIN develop.training_types tt ON tt.id = t.type_id
+            WHERE a.role = 'CLIENT'
+            """;
+
+    private static final String SQL_FIND_RECENT_OF_ALL_CLIENTS = SQL_SELECT_RECENT_OF_CLIENTS + """
+            ORDER BY a.login, t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_RECENT_OF_CLIENTS = SQL_SELECT_RECENT_OF_CLIENTS + """
+              AND a.login = ANY (?)
+            ORDER BY a.login, t.date DESC, t.id DESC
+            """;
+
+    private static final String SQL_FIND_BY_ID = SQL_SELECT_TRAINING + """
+            WHERE t.id = ?
+            """;
+
+    private static final String SQL_FIND_BY_ATHLETE_ID_AND_TRAINING_DATE = SQL_SELECT_TRAINING + """
+            WHERE t.athlete_id = ? AND t.date = ?
+            """;
+
+    private static final String SQL_DELETE = """
+            DELETE FROM develop.trainings WHERE id = ?
+            """;
+
+    private static final String SQL_UPDATE = """
+            UPDATE develop.trainings
+            SET sets_amount = ?,
+                type_id = ?
+            WHERE id = ?
+            """;
+
+    private static final String SQL_SAVE_IF_ABSENT = """
+            INSERT INTO develop.trainings (sets_amount, date, type_id, athlete_id) VALUES (?, ?, ?, ?)
+            ON CONFLICT (athlete_id, date) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String SQL_SAVE_ALL = """
+            INSERT INTO develop.trainings (sets_amount, date, type_id, athlete_id) VALUES (?, ?, ?, ?)
+            ON CONFLICT (athlete_id, date) DO NOTHING
+            """;
+
     private final ConnectionManager connectionProvider;
-    private final TrainingTypeRepository trainingTypeDao;
-    private final AthleteRepository athleteRepository;
 
     /**
-     * Retrieves all training sessions for a given athlete id.
+     * Passes all training sessions of a given athlete id to a consumer, newest first.
+     * Rows are read through a server-side cursor in chunks of {@value #FETCH_SIZE}, so only one chunk
+     * is held in memory at a time. The PostgreSQL driver only opens a cursor inside a transaction,
+     * which is why the read joins the caller's transaction or starts a read-only one of its own.
      *
      * @param athleteId the athlete's id
-     * @return a list of training sessions for the given athlete id
+     * @param consumer  the consumer of training sessions, called once per row in date and id descending order
      */
     @Override
-    public List<Training> findAllByAthleteId(Long athleteId) {
-        String sqlFindAllByAthleteId = """
-                SELECT * FROM develop.trainings WHERE athlete_id = ?
-                """;
+    @Transactional(readOnly = true)
+    public void forEachByAthleteId(Long athleteId, Consumer<Training> consumer) {
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAllByAthleteId)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FOR_EACH_BY_ATHLETE_ID)) {
+            preparedStatement.setFetchSize(FETCH_SIZE);
             preparedStatement.setLong(1, athleteId);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            List<Training> result = new ArrayList<>();
-            while (resultSet.next()) {
-                result.add(buildTraining(resultSet));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(RowMappers.TRAINING.mapRow(resultSet, 0));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a page of training sessions for a given athlete id, newest first.
+     *
+     * @param athleteId the athlete's id
+     * @param afterDate the date of the last training of the previous page, or {@code null} for the first page
+     * @param afterId   the id of the last training of the previous page, or {@code null} for the first page
+     * @param limit     the maximum number of training sessions to return
+     * @return a page of training sessions sorted by date and id in descending order
+     */
+    @Override
+    public List<Training> findPageByAthleteIdOrderByDate(Long athleteId, LocalDate afterDate, Long afterId, int limit) {
+        String sqlFindPage = afterId == null
+                ? SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE
+                : SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_DATE;
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindPage)) {
+            int index = 1;
+            preparedStatement.setLong(index++, athleteId);
+            if (afterId != null) {
+                preparedStatement.setDate(index++, Date.valueOf(afterDate));
+                preparedStatement.setLong(index++, afterId);
+            }
+            preparedStatement.setInt(index, limit);
+
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.TRAINING);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a page of training sessions for a given athlete id, largest sets amount first.
+     *
+     * @param athleteId       the athlete's id
+     * @param afterSetsAmount the sets amount of the last training of the previous page, or {@code null} for the first page
+     * @param afterId         the id of the last training of the previous page, or {@code null} for the first page
+     * @param limit           the maximum number of training sessions to return
+     * @return a page of training sessions sorted by sets amount and id in descending order
+     */
+    @Override
+    public List<Training> findPageByAthleteIdOrderBySetsAmount(Long athleteId, Integer afterSetsAmount, Long afterId, int limit) {
+        String sqlFindPage = afterId == null
+                ? SQL_FIND_FIRST_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT
+                : SQL_FIND_NEXT_PAGE_BY_ATHLETE_ID_ORDER_BY_SETS_AMOUNT;
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindPage)) {
+            int index = 1;
+            preparedStatement.setLong(index++, athleteId);
+            if (afterId != null) {
+                preparedStatement.setInt(index++, afterSetsAmount);
+                preparedStatement.setLong(index++, afterId);
             }
-            return result;
+            preparedStatement.setInt(index, limit);
+
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.TRAINING);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the latest training sessions of every client, or of the clients with the given logins, in one query.
+     * A {@code LATERAL} subquery takes the newest sessions of each athlete from the athlete and date index,
+     * so the cost grows with the number of returned rows rather than with the size of the trainings table.
+     *
+     * @param logins          the logins of the clients, or {@code null} for all clients
+     * @param limitPerAthlete the maximum number of training sessions per athlete
+     * @return training sessions grouped by athlete login, newest first within each athlete
+     */
+    @Override
+    public List<Training> findRecentOfClients(List<String> logins, int limitPerAthlete) {
+        String sqlFindRecent = logins == null
+                ? SQL_FIND_RECENT_OF_ALL_CLIENTS
+                : SQL_FIND_RECENT_OF_CLIENTS;
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindRecent)) {
+            preparedStatement.setInt(1, limitPerAthlete);
+            if (logins != null) {
+                preparedStatement.setArray(2, connection.createArrayOf("varchar", logins.toArray()));
+            }
+
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.TRAINING);
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
         }
@@ -60,16 +242,13 @@ public class TrainingRepositoryImpl implements TrainingRepository {
      */
     @Override
     public Optional<Training> findById(Long id) {
-        String sqlFindById = """
-                SELECT * FROM develop.trainings WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
             preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next() ?
-                    Optional.of(buildTraining(resultSet))
+                    Optional.of(RowMappers.TRAINING.mapRow(resultSet, 0))
                     : Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
@@ -85,17 +264,14 @@ public class TrainingRepositoryImpl implements TrainingRepository {
      */
     @Override
     public Optional<Training> findByAthleteIdAndTrainingDate(Long athleteId, LocalDate date) {
-        String sqlFindById = """
-                SELECT * FROM develop.trainings WHERE athlete_id = ? AND date = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ATHLETE_ID_AND_TRAINING_DATE)) {
             preparedStatement.setLong(1, athleteId);
             preparedStatement.setDate(2, Date.valueOf(date));
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next() ?
-                    Optional.of(buildTraining(resultSet))
+                    Optional.of(RowMappers.TRAINING.mapRow(resultSet, 0))
                     : Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
@@ -110,11 +286,8 @@ public class TrainingRepositoryImpl implements TrainingRepository {
      */
     @Override
     public boolean delete(Long id) {
-        String sqlDelete = """
-                DELETE FROM develop.trainings WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDelete)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE)) {
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -130,17 +303,11 @@ public class TrainingRepositoryImpl implements TrainingRepository {
      */
     @Override
     public void update(Training training) {
-        String sqlUpdate = """
-                UPDATE develop.trainings
-                SET sets_amount = ?,
-                    type_id = ?
-                WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlUpdate)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE)) {
             preparedStatement.setInt(1, training.getSetsAmount());
             preparedStatement.setLong(2, training.getTrainingType().getId());
-            preparedStatement.setLong(3, training.getAthlete().getId());
+            preparedStatement.setLong(3, training.getId());
 
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
@@ -149,48 +316,64 @@ public class TrainingRepositoryImpl implements TrainingRepository {
     }
 
     /**
-     * Saves a training session to the database.
+     * Saves a training session unless its athlete already has a training on the same date.
+     * The check and the insert are one statement: the unique athlete and date index resolves concurrent inserts,
+     * so two simultaneous requests can never both succeed.
      *
      * @param training the training session to save
-     * @return the saved training session with the generated id
+     * @return the saved training session with the generated id, or empty optional if the athlete already has a training on that date
      */
     @Override
-    public Training save(Training training) {
-        String sqlSave = """
-                INSERT INTO develop.trainings (sets_amount, date, type_id, athlete_id) VALUES (?, ?, ?, ?)
-                """;
+    public Optional<Training> saveIfAbsent(Training training) {
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE_IF_ABSENT)) {
             preparedStatement.setInt(1, training.getSetsAmount());
             preparedStatement.setDate(2, Date.valueOf(training.getDate()));
             preparedStatement.setLong(3, training.getTrainingType().getId());
             preparedStatement.setLong(4, training.getAthlete().getId());
-            preparedStatement.executeUpdate();
+            ResultSet resultSet = preparedStatement.executeQuery();
 
-            var generatedKeys = preparedStatement.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                training.setId(generatedKeys.getLong("id"));
+            if (!resultSet.next()) {
+                return Optional.empty();
             }
-            return training;
+            training.setId(resultSet.getLong(1));
+            return Optional.of(training);
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
         }
     }
 
     /**
-     * Builds a {@link Training} instance from a {@link ResultSet}.
+     * Saves training sessions with JDBC batches of {@value #BATCH_SIZE} inserts in a single transaction,
+     * either the caller's one or a new one if there is none.
+     * Sessions whose athlete already has a training on the same date are skipped by {@code ON CONFLICT DO NOTHING}.
      *
-     * @param resultSet the result set to build the training instance from
-     * @return the built training instance
-     * @throws SQLException if there is an error reading from the result set
+     * @param trainings the training sessions to save
+     * @return for every training session, {@code true} if it was saved, {@code false} if it was skipped
      */
-    private Training buildTraining(ResultSet resultSet) throws SQLException {
-        return Training.builder()
-                .id(resultSet.getLong("id"))
-                .setsAmount(resultSet.getInt("sets_amount"))
-                .date(resultSet.getDate("date").toLocalDate())
-                .trainingType(trainingTypeDao.findById(resultSet.getLong("type_id")).orElse(null))
-                .athlete(athleteRepository.findById(resultSet.getLong("athlete_id")).orElse(null))
-                .build();
+    @Override
+    @Transactional
+    public boolean[] saveAll(List<Training> trainings) {
+        boolean[] saved = new boolean[trainings.size()];
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE_ALL)) {
+            for (int from = 0; from < trainings.size(); from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, trainings.size());
+                for (Training training : trainings.subList(from, to)) {
+                    preparedStatement.setInt(1, training.getSetsAmount());
+                    preparedStatement.setDate(2, Date.valueOf(training.getDate()));
+                    preparedStatement.setLong(3, training.getTrainingType().getId());
+                    preparedStatement.setLong(4, training.getAthlete().getId());
+                    preparedStatement.addBatch();
+                }
+                int[] updateCounts = preparedStatement.executeBatch();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    saved[from + i] = updateCounts[i] > 0;
+                }
+            }
+            return saved;
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,7 +7,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +19,27 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
 
+    private static final String SQL_FIND_ALL = """
+            SELECT id, type_name FROM develop.training_types
+            """;
+
+    private static final String SQL_FIND_BY_ID = """
+            SELECT id, type_name FROM develop.training_types WHERE id = ?
+            """;
+
+    private static final String SQL_FIND_BY_TYPE_NAME = """
+            SELECT id, type_name FROM develop.training_types WHERE type_name = ?
+            """;
+
+    private static final String SQL_DELETE = """
+            DELETE FROM develop.training_types WHERE id = ?
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO develop.training_types (type_name)
+            VALUES (?)
+            """;
+
     private final ConnectionManager connectionProvider;
 
     /**
@@ -29,19 +49,9 @@ public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
      */
     @Override
     public List<TrainingType> findAll() {
-        String sqlFindAll = """
-                SELECT * FROM develop.training_types
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAll)) {
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            List<TrainingType> trainingType = new ArrayList<>();
-            while (resultSet.next()) {
-                trainingType.add(buildTrainingType(resultSet));
-            }
-
-            return trainingType;
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL)) {
+            return RowMappers.mapAll(preparedStatement.executeQuery(), RowMappers.TRAINING_TYPE);
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
         }
@@ -55,17 +65,14 @@ public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
      */
     @Override
     public Optional<TrainingType> findById(Long id) {
-        String sqlFindById = """
-                SELECT * FROM develop.training_types WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
             preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             TrainingType trainingType = null;
             if (resultSet.next()) {
-                trainingType = buildTrainingType(resultSet);
+                trainingType = RowMappers.TRAINING_TYPE.mapRow(resultSet, 0);
             }
             return Optional.ofNullable(trainingType);
         } catch (SQLException e) {
@@ -81,16 +88,13 @@ public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
      */
     @Override
     public Optional<TrainingType> findByTypeName(String typeName) {
-        String sqlFindByTypeName = """
-                SELECT * FROM develop.training_types WHERE type_name = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindByTypeName)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_TYPE_NAME)) {
             preparedStatement.setString(1, typeName);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next() ?
-                    Optional.of(buildTrainingType(resultSet))
+                    Optional.of(RowMappers.TRAINING_TYPE.mapRow(resultSet, 0))
                     : Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
@@ -105,11 +109,8 @@ public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
      */
     @Override
     public boolean delete(Long id) {
-        String sqlDelete = """
-                DELETE FROM develop.training_types WHERE id = ?
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDelete)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE)) {
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -126,36 +127,18 @@ public class TrainingTypeRepositoryImpl implements TrainingTypeRepository {
      */
     @Override
     public TrainingType save(TrainingType trainingType) {
-        String sqlSave = """
-                INSERT INTO develop.training_types (type_name)
-                VALUES (?)
-                """;
         try (Connection connection = connectionProvider.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, new String[]{"id"})) {
             preparedStatement.setString(1, trainingType.getTypeName());
             preparedStatement.executeUpdate();
 
             var generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
-                trainingType.setId(generatedKeys.getLong("id"));
+                trainingType.setId(generatedKeys.getLong(1));
             }
             return trainingType;
         } catch (SQLException e) {
             throw new RuntimeException(e.getMessage());
         }
     }
-
-    /**
-     * Builds a {@link TrainingType} instance from a {@link ResultSet}.
-     *
-     * @param resultSet the result set to build the training type instance from
-     * @return the built training type instance
-     * @throws SQLException if there is an error reading from the result set
-     */
-    private TrainingType buildTrainingType(ResultSet resultSet) throws SQLException {
-        return TrainingType.builder()
-                .id(resultSet.getLong("id"))
-                .typeName(resultSet.getString("type_name"))
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.ivan.trainingdiary.security;
+
+import com.ivan.trainingdiary.exception.ServiceUnavailableException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder that hashes and verifies passwords on a dedicated, bounded executor.
+ * BCrypt costs about 100ms of CPU per call, so running it on request threads lets a login spike starve
+ * every other endpoint. Here at most {@code threads} passwords are processed at a time and at most
+ * {@code queue-capacity} more may wait; any further call fails fast with {@link TooManyRequestsException}.
+ * Registration shares the executor with authorization, so the message does not mention logins.
+ * A caller interrupted while waiting gets {@link ServiceUnavailableException}.
+ * <p>
+ * The executor is published under the name {@code passwordHashing}: {@code executor.queued} is the queue depth,
+ * {@code executor} the hashing latency and {@code executor.idle} the time spent waiting in the queue.
+ * Rejected calls are counted in {@code password.hashing.rejected}.
+ *
+ * @author sergeenkovv
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "passwordHashing");
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing calls rejected because the executor was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Server busy, try again later!");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Server busy, try again later!", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
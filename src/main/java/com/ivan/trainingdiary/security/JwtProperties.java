@@ -21,4 +21,16 @@ public class JwtProperties {
      * The expiration time for JWT access tokens.
      */
     private Long access;
+
+    /**
+     * Whether the principal is built from the signed role claim of the token
+     * instead of being loaded through the principal cache. Off by default: trusting the claim saves the lookup,
+     * but a token keeps the role it was issued with until it expires, even after the role was changed.
+     */
+    private boolean trustRoleClaim;
+
+    /**
+     * The maximum number of verified tokens kept until their expiration, 0 to verify every token.
+     */
+    private long verifiedTokenCacheSize;
 }
\ No newline at end of file
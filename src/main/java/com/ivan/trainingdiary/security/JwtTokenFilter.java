@@ -1,6 +1,7 @@
 package com.ivan.trainingdiary.security;
 
-import com.ivan.trainingdiary.service.impl.UserDetailsServiceImpl;
+import com.ivan.trainingdiary.model.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,13 +19,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final JwtProperties jwtProperties;
+    private final PrincipalCache principalCache;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
     @Override
@@ -32,9 +36,8 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = getJWTFromRequest(request);
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                String username = jwtTokenProvider.getLoginFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (token != null) {
+                UserDetails userDetails = resolvePrincipal(jwtTokenProvider.parse(token));
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null,
                         userDetails.getAuthorities());
@@ -47,6 +50,22 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Resolves the principal of a verified token. When role claims are trusted and the token carries one,
+     * the principal is built from the claims; otherwise it is taken from the principal cache.
+     *
+     * @param claims verified claims of the token.
+     * @return The principal.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String login = claims.getSubject();
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        if (jwtProperties.isTrustRoleClaim() && role != null) {
+            return new User(login, "", Collections.singleton(Role.valueOf(role)));
+        }
+        return principalCache.get(login);
+    }
+
     /**
      * Extracts JWT token from the Authorization header in the request.
      *
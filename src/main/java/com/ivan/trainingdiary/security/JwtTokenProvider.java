@@ -1,7 +1,11 @@
 package com.ivan.trainingdiary.security;
 
+import com.ivan.trainingdiary.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -10,20 +14,35 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    public static final String ROLE_CLAIM = "role";
+
     private final JwtProperties jwtProperties;
     private Key key;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
 
     /**
-     * Initializes the key for JWT token signing using the provided secret from JwtProperties.
+     * Initializes the key for JWT token signing using the provided secret from JwtProperties,
+     * the parser shared by all requests and, if enabled, the cache of verified tokens.
      */
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        if (jwtProperties.getVerifiedTokenCacheSize() > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+                    .expireAfter(new UntilTokenExpiration())
+                    .build();
+        }
     }
 
     /**
@@ -33,7 +52,21 @@ public class JwtTokenProvider {
      * @return The generated access token.
      */
     public String createAccessToken(String login) {
+        return createAccessToken(login, null);
+    }
+
+    /**
+     * Creates a new access token for the given login carrying the athlete's role as a signed claim.
+     *
+     * @param login The user login for whom the token is created.
+     * @param role  The user role, or null to leave the role claim out.
+     * @return The generated access token.
+     */
+    public String createAccessToken(String login, Role role) {
         Claims claims = Jwts.claims().setSubject(login);
+        if (role != null) {
+            claims.put(ROLE_CLAIM, role.name());
+        }
         Date now = new Date();
         Date validity = new Date(now.getTime() + jwtProperties.getAccess());
 
@@ -47,6 +80,21 @@ public class JwtTokenProvider {
         return accessToken;
     }
 
+    /**
+     * Verifies the signature and expiration of the provided token and returns its claims.
+     * A token verified before is served from the cache until it expires; the returned claims must not be modified.
+     *
+     * @param token The JWT token to be parsed.
+     * @return The verified claims of the token.
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, has an invalid signature or is expired.
+     */
+    public Claims parse(String token) {
+        if (verifiedTokens == null) {
+            return jwtParser.parseClaimsJws(token).getBody();
+        }
+        return verifiedTokens.get(token, t -> jwtParser.parseClaimsJws(t).getBody());
+    }
+
     /**
      * Extracts the user login from the provided token.
      *
@@ -54,12 +102,7 @@ public class JwtTokenProvider {
      * @return The user login extracted from the token.
      */
     public String getLoginFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parse(token).getSubject();
     }
 
     /**
@@ -69,10 +112,28 @@ public class JwtTokenProvider {
      * @return true if the token is valid, false otherwise.
      */
     public boolean validateToken(String token) {
-        Jws<Claims> claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-        return !claims.getBody().getExpiration().before(new Date());
+        return !parse(token).getExpiration().before(new Date());
+    }
+
+    /**
+     * Keeps a verified token in the cache until its expiration time.
+     */
+    private static class UntilTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package com.ivan.trainingdiary.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class to hold the limits of authorization attempts.
+ */
+@Component
+@Data
+@ConfigurationProperties(prefix = "spring.security.login-rate-limit")
+public class LoginRateLimitProperties {
+
+    /**
+     * The number of logins or addresses whose token buckets are kept per limit; the least recently used are evicted.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * The limit of attempts for one login.
+     */
+    private Limit perLogin = new Limit(5, Duration.ofMinutes(1));
+
+    /**
+     * The limit of attempts from one client address.
+     */
+    private Limit perAddress = new Limit(30, Duration.ofMinutes(1));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * The number of attempts allowed in a burst.
+         */
+        private int capacity;
+
+        /**
+         * The time in which all attempts of a burst become available again.
+         */
+        private Duration refillPeriod;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ivan.trainingdiary.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class to hold the settings of the password hashing executor.
+ */
+@Component
+@Data
+@ConfigurationProperties(prefix = "spring.security.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * The number of threads hashing and verifying passwords, by default one per available processor.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of hashing tasks waiting for a thread; further tasks are rejected.
+     */
+    private int queueCapacity = 64;
+}
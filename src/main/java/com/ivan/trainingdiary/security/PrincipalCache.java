@@ -0,0 +1,72 @@
+package com.ivan.trainingdiary.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.service.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of authenticated principals keyed by login.
+ * Entries expire after the configured TTL, so that a changed role becomes visible without a restart;
+ * the principal of a login announced by another node is dropped at once.
+ *
+ * @author sergeenkovv
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          CacheProperties cacheProperties,
+                          MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getPrincipals().getMaximumSize())
+                .expireAfterWrite(cacheProperties.getPrincipals().getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Gets the principal for the given login, loading it from the database on a miss.
+     *
+     * @param login the athlete's login
+     * @return the principal
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the athlete is not found
+     */
+    public UserDetails get(String login) {
+        return cache.get(login, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Removes the principal for the given login from the cache.
+     *
+     * @param login the athlete's login
+     */
+    public void invalidate(String login) {
+        cache.invalidate(login);
+    }
+
+    /**
+     * Drops the principal of a login changed on another node, or every principal if changes may have been missed.
+     *
+     * @param event the invalidation received from another node
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL) {
+            cache.invalidateAll();
+        } else if (event.scope() == CacheInvalidationEvent.Scope.LOGIN) {
+            cache.invalidate(event.key());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ivan.trainingdiary.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for an unbounded set of keys, one bucket per key, kept in a bounded Caffeine map.
+ * A bucket that has not been used for a whole refill period is full again, so it expires after that time
+ * without changing any limit. When the map is full the least recently used buckets are evicted,
+ * which can only give their keys a full bucket again; keys never share a bucket.
+ * <p>
+ * Each bucket is a single {@code long} holding the time at which it will be full again
+ * (the generic cell rate algorithm). Taking a token is one compare-and-set on that value, so the buckets never lock.
+ *
+ * @author sergeenkovv
+ */
+final class TokenBuckets {
+
+    private final Cache<String, AtomicLong> fullAt;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    /**
+     * Creates token buckets.
+     *
+     * @param maximumKeys  the number of buckets kept at most
+     * @param capacity     the number of tokens of a full bucket
+     * @param refillPeriod the time in which an empty bucket refills completely
+     * @param nanoClock    the monotonic clock in nanoseconds, e.g. {@code System::nanoTime}
+     */
+    TokenBuckets(long maximumKeys, int capacity, Duration refillPeriod, LongSupplier nanoClock) {
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.fullAt = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param key the key, e.g. a login or an address
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    long tryAcquire(String key) {
+        AtomicLong bucket = fullAt.get(key, k -> new AtomicLong());
+        while (true) {
+            long now = nanoClock.getAsLong() - origin;
+            long current = bucket.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of buckets currently kept, after removing the expired ones.
+     *
+     * @return the estimated number of buckets
+     */
+    long size() {
+        fullAt.cleanUp();
+        return fullAt.estimatedSize();
+    }
+}
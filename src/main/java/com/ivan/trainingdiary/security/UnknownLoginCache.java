@@ -0,0 +1,75 @@
+package com.ivan.trainingdiary.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of logins that do not belong to any athlete.
+ * Authorization attempts for a cached login are rejected without a database query.
+ * A registration removes its login at once, on this node directly and on the other nodes when they receive
+ * its announcement; the TTL bounds how long a login stays rejected if the announcement is missed.
+ *
+ * @author sergeenkovv
+ */
+@Component
+public class UnknownLoginCache {
+
+    private final Cache<String, Boolean> cache;
+
+    public UnknownLoginCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getUnknownLogins().getMaximumSize())
+                .expireAfterWrite(cacheProperties.getUnknownLogins().getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "unknownLogins");
+    }
+
+    /**
+     * Checks whether a login is known not to exist.
+     *
+     * @param login the login
+     * @return {@code true} if the login was recently looked up and not found
+     */
+    public boolean isUnknown(String login) {
+        return cache.getIfPresent(login) != null;
+    }
+
+    /**
+     * Remembers that a login does not exist.
+     *
+     * @param login the login
+     */
+    public void markUnknown(String login) {
+        cache.put(login, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets a login, e.g. because it has just been registered.
+     *
+     * @param login the login
+     */
+    public void invalidate(String login) {
+        cache.invalidate(login);
+    }
+
+    /**
+     * Forgets a login registered on another node, or every login if registrations may have been missed.
+     *
+     * @param event the invalidation received from another node
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL) {
+            cache.invalidateAll();
+        } else if (event.scope() == CacheInvalidationEvent.Scope.LOGIN) {
+            cache.invalidate(event.key());
+        }
+    }
+}
@@ -12,10 +12,17 @@ import java.util.List;
 public interface AthleteService {
 
     /**
-     * Retrieves a list of all athletes.
+     * Retrieves a list of all athletes, without their password hashes.
      */
     List<Athlete> getAllAthletes();
 
+    /**
+     * Retrieves the clients with the given logins, or all clients, without their password hashes.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     */
+    List<Athlete> getClients(List<String> logins);
+
     /**
      * Retrieves an athlete by their unique identifier.
      *
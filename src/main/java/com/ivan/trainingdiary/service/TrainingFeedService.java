@@ -0,0 +1,44 @@
+package com.ivan.trainingdiary.service;
+
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Interface for following the training changes of clients as server-sent events.
+ *
+ * @author sergeenkovv
+ */
+public interface TrainingFeedService {
+
+    /**
+     * The name of the events carrying a training change.
+     */
+    String TRAINING_EVENT = "training";
+
+    /**
+     * The name of the last event sent to a subscriber that fell behind, before its subscription is closed.
+     */
+    String OVERFLOW_EVENT = "overflow";
+
+    /**
+     * Opens a subscription to the training changes of the specified clients.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     * @return The emitter the changes are sent to.
+     */
+    SseEmitter subscribe(List<String> logins);
+
+    /**
+     * Passes a committed training change to the subscribers following its athlete.
+     *
+     * @param event The training change.
+     */
+    void onTrainingChanged(TrainingChangedEvent event);
+
+    /**
+     * Sends a heartbeat to every subscriber and drops the subscribers whose send has stalled.
+     */
+    void sendHeartbeats();
+}
@@ -1,9 +1,14 @@
 package com.ivan.trainingdiary.service;
 
+import com.ivan.trainingdiary.dto.TrainingImportRequest;
+import com.ivan.trainingdiary.dto.TrainingImportResponse;
 import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface for managing athlete training data.
@@ -12,6 +17,16 @@ import java.util.List;
  */
 public interface TrainingService {
 
+    /**
+     * The maximum number of trainings in one import.
+     */
+    int MAX_IMPORT_ROWS = 10_000;
+
+    /**
+     * The maximum number of clients in one recent trainings request.
+     */
+    int MAX_RECENT_CLIENTS = 1_000;
+
     /**
      * Adds a new training for the specified athlete.
      *
@@ -32,19 +47,44 @@ public interface TrainingService {
     void editTraining(Long athleteId, LocalDate date, String typeName, Integer setsAmount);
 
     /**
-     * Retrieves a list of trainings for the specified athlete sorted by date.
+     * Retrieves one page of trainings for the specified athlete sorted by date, newest first.
      *
      * @param athleteId The ID of the athlete.
-     * @return A sorted list of trainings.
+     * @param cursor    The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size      The maximum number of trainings on the page.
+     * @return The page of trainings with the cursor of the next page.
      */
-    List<Training> getTrainingsSortedByDate(Long athleteId);
+    TrainingPage getTrainingsPageSortedByDate(Long athleteId, String cursor, int size);
 
     /**
-     * Retrieves a list of trainings for the specified athlete sorted by sets amount.
+     * Retrieves one page of trainings for the specified athlete sorted by sets amount, largest first.
      *
      * @param athleteId The ID of the athlete.
+     * @param cursor    The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size      The maximum number of trainings on the page.
+     * @return The page of trainings with the cursor of the next page.
+     */
+    TrainingPage getTrainingsPageSortedBySetsAmount(Long athleteId, String cursor, int size);
+
+    /**
+     * Retrieves the latest trainings of every client, or of the given clients, newest first.
+     * Clients without trainings are not included.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     * @param limit  The maximum number of trainings per client.
+     * @return The trainings of each client by login, in login order.
      */
-    List<Training> getTrainingsSortedBySetsAmount(Long athleteId);
+    Map<String, List<Training>> getRecentTrainingsOfClients(List<String> logins, int limit);
+
+    /**
+     * Passes all trainings of the specified athlete to a consumer sorted by date, newest first.
+     * The trainings are read in chunks and never held in memory all at once, and no database connection
+     * is held while the consumer runs.
+     *
+     * @param athleteId The ID of the athlete.
+     * @param consumer  The consumer called for every training.
+     */
+    void exportTrainings(Long athleteId, Consumer<Training> consumer);
 
     /**
      * Deletes a training for the specified athlete on the given date.
@@ -61,4 +101,13 @@ public interface TrainingService {
      * @param date      The date of the training.
      */
     Training getTrainingByAthleteIdAndDate(Long athleteId, LocalDate date);
+
+    /**
+     * Imports trainings in bulk. Invalid rows and trainings on a date the athlete already trained on
+     * are reported per row without aborting the import.
+     *
+     * @param rows The trainings to import.
+     * @return The number of imported trainings and the errors of the rejected rows.
+     */
+    TrainingImportResponse importTrainings(List<TrainingImportRequest> rows);
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.ivan.trainingdiary.service;
+
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.model.TrainingStatistics;
+
+/**
+ * Interface for retrieving aggregated training statistics of athletes.
+ *
+ * @author sergeenkovv
+ */
+public interface TrainingStatisticsService {
+
+    /**
+     * The number of recent weeks reported in the weekly sets.
+     */
+    int WEEKS = 12;
+
+    /**
+     * Retrieves the training statistics of the specified athlete.
+     *
+     * @param athleteId The ID of the athlete.
+     * @return The statistics of the athlete's trainings.
+     */
+    TrainingStatistics getStatistics(Long athleteId);
+
+    /**
+     * Applies a committed training change to the statistics of its athlete.
+     *
+     * @param event The training change.
+     */
+    void onTrainingChanged(TrainingChangedEvent event);
+
+    /**
+     * Drops the statistics of athletes whose trainings were changed on another node.
+     *
+     * @param event The invalidation received from another node.
+     */
+    void onCacheInvalidation(CacheInvalidationEvent event);
+
+    /**
+     * Rebuilds the statistics from the trainings in the database.
+     */
+    void rebuild();
+}
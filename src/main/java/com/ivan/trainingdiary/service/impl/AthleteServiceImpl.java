@@ -32,6 +32,18 @@ public class AthleteServiceImpl implements AthleteService {
         return athleteRepository.findAll();
     }
 
+    /**
+     * Retrieves the clients with the given logins, or all clients.
+     * Logins of unknown athletes and of trainers are left out.
+     *
+     * @param logins The logins of the clients, or {@code null} for all clients.
+     * @return A list of the clients found.
+     */
+    @Override
+    public List<Athlete> getClients(List<String> logins) {
+        return athleteRepository.findClients(logins);
+    }
+
     /**
      * Retrieves an athlete by their ID.
      *
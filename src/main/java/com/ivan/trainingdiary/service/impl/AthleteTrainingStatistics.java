@@ -0,0 +1,137 @@
+package com.ivan.trainingdiary.service.impl;
+
+import com.ivan.trainingdiary.model.TrainingStatistics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mutable training aggregates of one athlete, kept up to date change by change.
+ * Trainings are keyed by date because an athlete trains at most once a day, which makes every change idempotent:
+ * putting a day replaces the previous training of that day and removing a missing day does nothing.
+ * All methods are synchronized, since changes arrive from request threads after their transactions commit.
+ *
+ * @author sergeenkovv
+ */
+final class AthleteTrainingStatistics {
+
+    private final NavigableMap<LocalDate, Day> days = new TreeMap<>();
+    private final Map<String, Integer> setsByType = new HashMap<>();
+    private final NavigableMap<LocalDate, Integer> setsByWeek = new TreeMap<>();
+    private int totalSets;
+    private long modifications;
+
+    /**
+     * Adds the training of a day, replacing the training already recorded for that day.
+     *
+     * @param date       the date of the training
+     * @param typeName   the name of the training type, or {@code null} if the training has no type
+     * @param setsAmount the number of sets
+     */
+    synchronized void put(LocalDate date, String typeName, int setsAmount) {
+        Day previous = days.put(date, new Day(typeName, setsAmount));
+        if (previous != null) {
+            subtract(date, previous);
+        }
+        add(date, typeName, setsAmount);
+        modifications++;
+    }
+
+    /**
+     * Removes the training of a day, if there is one.
+     *
+     * @param date the date of the training
+     */
+    synchronized void remove(LocalDate date) {
+        Day previous = days.remove(date);
+        if (previous != null) {
+            subtract(date, previous);
+        }
+        modifications++;
+    }
+
+    /**
+     * Gets the number of changes applied so far, which tells a rebuild whether it raced with a change.
+     *
+     * @return the number of changes
+     */
+    synchronized long getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Builds an immutable view of the aggregates.
+     * Streaks are derived from the in-memory days, which costs one pass over the athlete's training dates.
+     *
+     * @param today the current date
+     * @param weeks the number of recent weeks, including the current one, to report the weekly sets of
+     * @return the statistics
+     */
+    synchronized TrainingStatistics snapshot(LocalDate today, int weeks) {
+        LocalDate currentWeek = weekOf(today);
+        Map<LocalDate, Integer> weeklySets = new LinkedHashMap<>();
+        for (LocalDate week = currentWeek.minusWeeks(weeks - 1L); !week.isAfter(currentWeek); week = week.plusWeeks(1)) {
+            weeklySets.put(week, setsByWeek.getOrDefault(week, 0));
+        }
+        return TrainingStatistics.builder()
+                .totalTrainings(days.size())
+                .totalSets(totalSets)
+                .setsByType(Map.copyOf(setsByType))
+                .weeklySets(weeklySets)
+                .currentStreak(currentStreak(today))
+                .longestStreak(longestStreak())
+                .lastTrainingDate(days.isEmpty() ? null : days.lastKey())
+                .build();
+    }
+
+    private void add(LocalDate date, String typeName, int setsAmount) {
+        totalSets += setsAmount;
+        setsByWeek.merge(weekOf(date), setsAmount, Integer::sum);
+        if (typeName != null) {
+            setsByType.merge(typeName, setsAmount, Integer::sum);
+        }
+    }
+
+    private void subtract(LocalDate date, Day day) {
+        totalSets -= day.setsAmount();
+        setsByWeek.computeIfPresent(weekOf(date), (week, sets) -> sets == day.setsAmount() ? null : sets - day.setsAmount());
+        if (day.typeName() != null) {
+            setsByType.computeIfPresent(day.typeName(), (type, sets) -> sets == day.setsAmount() ? null : sets - day.setsAmount());
+        }
+    }
+
+    private int currentStreak(LocalDate today) {
+        LocalDate day = days.containsKey(today) ? today : today.minusDays(1);
+        int streak = 0;
+        while (days.containsKey(day)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak;
+    }
+
+    private int longestStreak() {
+        int longest = 0;
+        int streak = 0;
+        LocalDate previous = null;
+        for (LocalDate date : days.keySet()) {
+            streak = previous != null && previous.plusDays(1).equals(date) ? streak + 1 : 1;
+            longest = Math.max(longest, streak);
+            previous = date;
+        }
+        return longest;
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Day(String typeName, int setsAmount) {
+    }
+}
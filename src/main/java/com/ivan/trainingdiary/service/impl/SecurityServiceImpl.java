@@ -4,18 +4,23 @@ package com.ivan.trainingdiary.service.impl;
 import com.ivan.auditstarter.annotation.Auditable;
 import com.ivan.loggingstarter.annotations.LoggableInfo;
 import com.ivan.trainingdiary.dto.JwtResponse;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
 import com.ivan.trainingdiary.exception.AuthorizationException;
 import com.ivan.trainingdiary.exception.RegistrationException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.repository.AthleteRepository;
 import com.ivan.trainingdiary.security.JwtTokenProvider;
+import com.ivan.trainingdiary.security.LoginRateLimiter;
+import com.ivan.trainingdiary.security.UnknownLoginCache;
 import com.ivan.trainingdiary.service.SecurityService;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -37,20 +42,26 @@ public class SecurityServiceImpl implements SecurityService {
 
     private final AthleteRepository athleteRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final LoginRateLimiter loginRateLimiter;
+    private final UnknownLoginCache unknownLoginCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Registers a new athlete with the provided login and password.
+     * Runs without a transaction, so that no database connection is held while the password is hashed;
+     * the unique login index still rejects a concurrent registration of the same login with the same {@link RegistrationException}.
+     * The login is forgotten by the unknown login cache here and, through the {@link CacheInvalidationBus}, on the other nodes.
      *
      * @param login    The login for the new athlete.
      * @param password The password for the new athlete.
      * @return The registered athlete.
-     * @throws RegistrationException If an athlete with the same login already exists.
+     * @throws RegistrationException    If an athlete with the same login already exists.
+     * @throws TooManyRequestsException If too many passwords are being hashed already.
      */
     @Auditable
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Athlete registration(String login, String password) {
         Optional<Athlete> athlete = athleteRepository.findByLogin(login);
 
@@ -64,30 +75,45 @@ public class SecurityServiceImpl implements SecurityService {
                 .role(Role.CLIENT)
                 .build();
 
-        return athleteRepository.save(newAthlete);
+        Athlete savedAthlete = athleteRepository.save(newAthlete);
+        unknownLoginCache.invalidate(login);
+        cacheInvalidationBus.publish(CacheInvalidationEvent.login(login));
+        return savedAthlete;
     }
 
     /**
      * Authorizes an athlete with the provided login and password.
+     * Runs without a transaction, so that no database connection is held while the password is verified.
+     * The attempt is taken from the login's rate limit first, and a login recently found not to exist
+     * is rejected without a query. Otherwise the athlete is loaded once and its password hash is verified directly.
      *
      * @param login    The login of the athlete.
      * @param password The password of the athlete.
      * @return The authorized athlete.
-     * @throws AuthorizationException If no athlete with the provided login is found
-     *                                or if the provided password is incorrect.
+     * @throws AuthorizationException   If no athlete with the provided login is found.
+     * @throws BadCredentialsException  If the provided password is incorrect.
+     * @throws TooManyRequestsException If the login has used up its attempts
+     *                                  or too many passwords are being verified already.
      */
     @Auditable
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public JwtResponse authorization(String login, String password) {
+        loginRateLimiter.acquireForLogin(login);
+        if (unknownLoginCache.isUnknown(login)) {
+            throw new AuthorizationException("There is no player with this login in the database!");
+        }
         Optional<Athlete> optionalPlayer = athleteRepository.findByLogin(login);
 
         if (optionalPlayer.isEmpty()) {
+            unknownLoginCache.markUnknown(login);
             throw new AuthorizationException("There is no player with this login in the database!");
         }
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(login, password));
+        if (!passwordEncoder.matches(password, optionalPlayer.get().getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
 
-        String accessToken = jwtTokenProvider.createAccessToken(login);
+        String accessToken = jwtTokenProvider.createAccessToken(login, optionalPlayer.get().getRole());
         return new JwtResponse(login, accessToken);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,396 @@
+package com.ivan.trainingdiary.service.impl;
+
+import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.trainingdiary.config.TrainingFeedProperties;
+import com.ivan.trainingdiary.dto.ExceptionResponse;
+import com.ivan.trainingdiary.dto.TrainingChangeResponse;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.service.AthleteService;
+import com.ivan.trainingdiary.service.TrainingFeedService;
+import com.ivan.trainingdiary.service.TrainingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for the training change feed.
+ * Committed {@link TrainingChangedEvent}s are fanned out in memory to the subscribers following their athlete.
+ * The publishing thread only puts a change into the bounded buffer of each subscriber; the changes are sent
+ * by a separate pool of {@code delivery-threads} threads, so a slow connection never holds up a write.
+ * A stalled send occupies one of those threads until the server's write timeout fails it; a subscriber whose
+ * send takes longer than {@code send-timeout} is dropped at the next heartbeat, so it is not given the thread
+ * again and the others are delivered by the remaining threads meanwhile.
+ * <p>
+ * Changes of the same training waiting in a buffer are coalesced into the latest one, so a subscriber should
+ * apply added and edited trainings alike. A subscriber whose buffer still overflows is sent an
+ * {@value #OVERFLOW_EVENT} event and dropped; it should reload the training histories after reconnecting.
+ * Only changes made on this node are sent.
+ * <p>
+ * The delivery pool is published under the name {@code trainingFeed}; {@code training.feed.subscribers}
+ * is the number of open subscriptions, {@code training.feed.coalesced} and {@code training.feed.dropped}
+ * count coalesced changes and subscribers dropped on overflow, {@code training.feed.stalled} the subscribers
+ * dropped because a send did not finish in time.
+ *
+ * @author sergeenkovv
+ */
+@LoggableInfo(name = "class - TrainingFeedServiceImpl")
+@Service
+public class TrainingFeedServiceImpl implements TrainingFeedService, DisposableBean {
+
+    private final AthleteService athleteService;
+    private final TrainingFeedProperties properties;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final ExecutorService deliveryExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reservedSubscribers = new AtomicInteger();
+    private final Map<Long, Set<Subscriber>> subscribersByAthleteId = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    @Autowired
+    public TrainingFeedServiceImpl(AthleteService athleteService,
+                                   TrainingFeedProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this(athleteService, properties, meterRegistry, () -> new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    TrainingFeedServiceImpl(AthleteService athleteService,
+                            TrainingFeedProperties properties,
+                            MeterRegistry meterRegistry,
+                            Supplier<SseEmitter> emitterFactory) {
+        this.athleteService = athleteService;
+        this.properties = properties;
+        this.emitterFactory = emitterFactory;
+        this.deliveryExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(properties.getDeliveryThreads(),
+                        new CustomizableThreadFactory("training-feed-")),
+                "trainingFeed");
+        Gauge.builder("training.feed.subscribers", subscribers, Set::size)
+                .description("Open subscriptions to the training change feed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("training.feed.coalesced")
+                .description("Training changes replaced by a later change of the same training before they were sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("training.feed.dropped")
+                .description("Training feed subscribers dropped because their buffer overflowed")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("training.feed.stalled")
+                .description("Training feed subscribers dropped because a send did not finish within the send timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription to the training changes of the specified clients.
+     * The clients are resolved once, with a single query for just these clients; clients registered later
+     * are not followed. The subscription slot is reserved before the query, so the limit holds under concurrent calls.
+     *
+     * @param logins the logins of the clients, or {@code null} for all clients
+     * @return the emitter the changes are sent to
+     */
+    @Override
+    public SseEmitter subscribe(List<String> logins) {
+        if (logins != null && logins.size() > TrainingService.MAX_RECENT_CLIENTS) {
+            throw new InvalidArgumentException("No more than " + TrainingService.MAX_RECENT_CLIENTS + " clients can be followed at once!");
+        }
+        reserveSubscriber();
+        Map<Long, String> loginsByAthleteId;
+        SseEmitter emitter;
+        try {
+            loginsByAthleteId = findClients(logins);
+            emitter = emitterFactory.get();
+        } catch (RuntimeException e) {
+            reservedSubscribers.decrementAndGet();
+            throw e;
+        }
+        Subscriber subscriber = new Subscriber(emitter, loginsByAthleteId);
+        subscribers.add(subscriber);
+        for (Long athleteId : loginsByAthleteId.keySet()) {
+            subscribersByAthleteId.compute(athleteId, (id, followers) -> {
+                Set<Subscriber> updated = followers == null ? ConcurrentHashMap.newKeySet() : followers;
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    private void reserveSubscriber() {
+        while (true) {
+            int reserved = reservedSubscribers.get();
+            if (reserved >= properties.getMaxSubscribers()) {
+                throw new TooManyRequestsException("Too many training feed subscribers, try again later!");
+            }
+            if (reservedSubscribers.compareAndSet(reserved, reserved + 1)) {
+                return;
+            }
+        }
+    }
+
+    private Map<Long, String> findClients(List<String> logins) {
+        Set<String> unknown = logins == null ? Set.of() : new HashSet<>(logins);
+        Map<Long, String> loginsByAthleteId = new HashMap<>();
+        for (Athlete client : athleteService.getClients(logins)) {
+            if (logins != null) {
+                unknown.remove(client.getLogin());
+            }
+            loginsByAthleteId.put(client.getId(), client.getLogin());
+        }
+        if (!unknown.isEmpty()) {
+            throw new AthleteNotFoundException("No client found with login: " + unknown.iterator().next());
+        }
+        return loginsByAthleteId;
+    }
+
+    /**
+     * Passes a training change to the subscribers following its athlete once its transaction has committed.
+     * Never waits for a subscriber.
+     *
+     * @param event the training change
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingChanged(TrainingChangedEvent event) {
+        Set<Subscriber> followers = subscribersByAthleteId.get(event.athleteId());
+        if (followers == null) {
+            return;
+        }
+        for (Subscriber subscriber : followers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, so that connections closed by the client are noticed and released,
+     * and drops the subscribers whose send has taken longer than {@code send-timeout}.
+     */
+    @Override
+    @Scheduled(initialDelayString = "#{@trainingFeedProperties.heartbeatInterval.toMillis()}",
+            fixedDelayString = "#{@trainingFeedProperties.heartbeatInterval.toMillis()}")
+    public void sendHeartbeats() {
+        long stalledSince = System.nanoTime() - properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isSendingSince(stalledSince)) {
+                subscriber.dropStalled();
+            } else {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+        deliveryExecutor.shutdown();
+    }
+
+    private record TrainingKey(Long athleteId, LocalDate date) {
+    }
+
+    /**
+     * An open subscription: the changes waiting to be sent, keyed by training, and whether a delivery
+     * thread is currently sending them. At most one delivery thread works for a subscriber at a time;
+     * while it is inside a send, the start of the send is kept to detect a stalled connection.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<Long, String> loginsByAthleteId;
+        private final Map<TrainingKey, TrainingChangedEvent> pending = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+        private boolean overflowed;
+        private boolean draining;
+        private volatile boolean closed;
+        private volatile boolean sending;
+        private volatile long sendStartedAt;
+        private volatile boolean timedOut;
+
+        private Subscriber(SseEmitter emitter, Map<Long, String> loginsByAthleteId) {
+            this.emitter = emitter;
+            this.loginsByAthleteId = loginsByAthleteId;
+        }
+
+        private void offer(TrainingChangedEvent event) {
+            synchronized (this) {
+                if (closed || overflowed) {
+                    return;
+                }
+                if (pending.put(new TrainingKey(event.athleteId(), event.date()), event) != null) {
+                    coalesced.increment();
+                } else if (pending.size() > properties.getBufferSize()) {
+                    pending.clear();
+                    overflowed = true;
+                    dropped.increment();
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            startDraining();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            startDraining();
+        }
+
+        private void startDraining() {
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<TrainingChangedEvent> changes;
+                boolean heartbeat;
+                boolean overflow;
+                synchronized (this) {
+                    if (closed || pending.isEmpty() && !heartbeatDue && !overflowed) {
+                        draining = false;
+                        break;
+                    }
+                    changes = List.copyOf(pending.values());
+                    pending.clear();
+                    heartbeat = heartbeatDue;
+                    heartbeatDue = false;
+                    overflow = overflowed;
+                }
+                try {
+                    if (overflow) {
+                        close();
+                        send(SseEmitter.event()
+                                .name(OVERFLOW_EVENT)
+                                .data(new ExceptionResponse("The feed fell behind, reload the training histories!"),
+                                        MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                        return;
+                    }
+                    for (TrainingChangedEvent change : changes) {
+                        if (closed) {
+                            break;
+                        }
+                        send(SseEmitter.event()
+                                .name(TRAINING_EVENT)
+                                .data(toResponse(change), MediaType.APPLICATION_JSON));
+                    }
+                    if (heartbeat) {
+                        send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+            if (timedOut) {
+                emitter.complete();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedAt = System.nanoTime();
+            sending = true;
+            try {
+                emitter.send(event);
+            } finally {
+                sending = false;
+            }
+        }
+
+        private boolean isSendingSince(long nanoTime) {
+            return sending && sendStartedAt - nanoTime < 0;
+        }
+
+        /**
+         * Drops the subscriber while its delivery thread is stuck in a send, freeing its slot and sending it
+         * nothing more. The emitter is left to that thread, which holds its lock: once the send returns, or fails
+         * on the server's write timeout, the thread completes the emitter.
+         */
+        private void dropStalled() {
+            boolean completeNow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                timedOut = true;
+                completeNow = !draining;
+            }
+            close();
+            stalled.increment();
+            if (completeNow) {
+                emitter.complete();
+            }
+        }
+
+        private TrainingChangeResponse toResponse(TrainingChangedEvent event) {
+            return new TrainingChangeResponse(event.change().name(), loginsByAthleteId.get(event.athleteId()),
+                    event.date().toString(), event.typeName(), event.setsAmount());
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            reservedSubscribers.decrementAndGet();
+            subscribers.remove(this);
+            for (Long athleteId : loginsByAthleteId.keySet()) {
+                subscribersByAthleteId.computeIfPresent(athleteId, (id, followers) -> {
+                    followers.remove(this);
+                    return followers.isEmpty() ? null : followers;
+                });
+            }
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.ivan.trainingdiary.service.impl;
 
 import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.trainingdiary.dto.TrainingImportError;
+import com.ivan.trainingdiary.dto.TrainingImportRequest;
+import com.ivan.trainingdiary.dto.TrainingImportResponse;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
 import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
 import com.ivan.trainingdiary.exception.TrainingNotFoundException;
+import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingCursor;
+import com.ivan.trainingdiary.model.TrainingPage;
 import com.ivan.trainingdiary.model.TrainingType;
 import com.ivan.trainingdiary.repository.TrainingRepository;
 import com.ivan.trainingdiary.service.AthleteService;
 import com.ivan.trainingdiary.service.TrainingService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing athlete trainings.
@@ -24,6 +46,8 @@ import java.util.Optional;
  * It interacts with the database through {@link TrainingRepository} for data access,
  * {@link TrainingTypeService} to retrieve training types and
  * {@link AthleteService} to retrieve athlete information.
+ * Every added, edited and deleted training is announced with a {@link TrainingChangedEvent}
+ * and to the other nodes through the {@link CacheInvalidationBus}.
  *
  * @author sergeenkovv
  */
@@ -33,14 +57,22 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class TrainingServiceImpl implements TrainingService {
 
+    private static final String SORT_BY_DATE = "date";
+    private static final String SORT_BY_SETS_AMOUNT = "sets";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final TrainingRepository trainingDao;
     private final TrainingTypeService trainingTypeService;
     private final AthleteService athleteService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Adds a training for the specified athlete.
-     * Throws {@link TrainingLimitExceededException} if the athlete has already performed
-     * a training of the same type on the current day.
+     * Throws {@link TrainingLimitExceededException} if the athlete has already trained on the current day.
+     * The training type is resolved from the cached catalog, and the one-training-a-day limit is enforced
+     * by the database within the insert itself, so adding a training takes a single round trip.
      *
      * @param athleteId  the ID of the athlete
      * @param typeName   the type of training to add
@@ -49,20 +81,16 @@ public class TrainingServiceImpl implements TrainingService {
     @Override
     @Transactional
     public void addTraining(Long athleteId, String typeName, Integer setsAmount) {
-        Optional<Training> maybeTraining = trainingDao.findByAthleteIdAndTrainingDate(athleteId, LocalDate.now());
-        TrainingType byTypeName = trainingTypeService.getByTypeName(typeName);
-
-        if (maybeTraining.isPresent()) {
-            throw new TrainingLimitExceededException("You cannot do one type of training more than once a day!");
-        }
-
         Training training = Training.builder()
                 .setsAmount(setsAmount)
-                .trainingType(trainingTypeService.getById(byTypeName.getId()))
-                .athlete(athleteService.getById(athleteId))
+                .trainingType(trainingTypeService.getByTypeName(typeName))
+                .athlete(Athlete.builder().id(athleteId).build())
                 .build();
 
-        trainingDao.save(training);
+        if (trainingDao.saveIfAbsent(training).isEmpty()) {
+            throw new TrainingLimitExceededException("You cannot do one type of training more than once a day!");
+        }
+        publish(TrainingChangedEvent.Change.ADDED, athleteId, training);
     }
 
     /**
@@ -83,34 +111,100 @@ public class TrainingServiceImpl implements TrainingService {
         existingTraining.setSetsAmount(setsAmount);
 
         trainingDao.update(existingTraining);
+        publish(TrainingChangedEvent.Change.EDITED, athleteId, existingTraining);
     }
 
     /**
-     * Retrieves a list of athlete trainings sorted by date.
+     * Retrieves a page of athlete trainings sorted by date in descending order.
+     * Sorting and paging are done by the database with a keyset on date and training ID.
      *
      * @param athleteId the ID of the athlete
-     * @return a list of athlete trainings sorted by date
+     * @param cursor    the cursor of the previous page, or {@code null} for the first page
+     * @param size      the maximum number of trainings on the page
+     * @return the page of athlete trainings
+     * @throws InvalidArgumentException if the cursor or the page size is invalid
      */
     @Override
-    public List<Training> getTrainingsSortedByDate(Long athleteId) {
-        List<Training> allByAthleteId = trainingDao.findAllByAthleteId(athleteId);
-        allByAthleteId.sort(Comparator.comparing(Training::getDate).reversed());
-
-        return allByAthleteId;
+    public TrainingPage getTrainingsPageSortedByDate(Long athleteId, String cursor, int size) {
+        validatePageSize(size);
+        List<Training> trainings;
+        if (cursor == null) {
+            trainings = trainingDao.findPageByAthleteIdOrderByDate(athleteId, null, null, size + 1);
+        } else {
+            TrainingCursor after = TrainingCursor.decode(cursor, SORT_BY_DATE);
+            trainings = trainingDao.findPageByAthleteIdOrderByDate(athleteId, parseDate(after.sortKey()), after.id(), size + 1);
+        }
+        return toPage(trainings, size, SORT_BY_DATE, training -> training.getDate().toString());
     }
 
     /**
-     * Retrieves a list of athlete trainings sorted by sets amount in descending order.
+     * Retrieves a page of athlete trainings sorted by sets amount in descending order.
+     * Sorting and paging are done by the database with a keyset on sets amount and training ID.
      *
      * @param athleteId the ID of the athlete
-     * @return a list of athlete trainings sorted by sets amount
+     * @param cursor    the cursor of the previous page, or {@code null} for the first page
+     * @param size      the maximum number of trainings on the page
+     * @return the page of athlete trainings
+     * @throws InvalidArgumentException if the cursor or the page size is invalid
      */
     @Override
-    public List<Training> getTrainingsSortedBySetsAmount(Long athleteId) {
-        List<Training> allByAthleteId = trainingDao.findAllByAthleteId(athleteId);
-        allByAthleteId.sort(Comparator.comparingInt(Training::getSetsAmount).reversed());
+    public TrainingPage getTrainingsPageSortedBySetsAmount(Long athleteId, String cursor, int size) {
+        validatePageSize(size);
+        List<Training> trainings;
+        if (cursor == null) {
+            trainings = trainingDao.findPageByAthleteIdOrderBySetsAmount(athleteId, null, null, size + 1);
+        } else {
+            TrainingCursor after = TrainingCursor.decode(cursor, SORT_BY_SETS_AMOUNT);
+            trainings = trainingDao.findPageByAthleteIdOrderBySetsAmount(athleteId, parseSetsAmount(after.sortKey()), after.id(), size + 1);
+        }
+        return toPage(trainings, size, SORT_BY_SETS_AMOUNT, training -> training.getSetsAmount().toString());
+    }
+
+    /**
+     * Retrieves the latest trainings of clients with one query and groups them by client login.
+     *
+     * @param logins the logins of the clients, or {@code null} for all clients
+     * @param limit  the maximum number of trainings per client
+     * @return the trainings of each client by login, in login order
+     * @throws InvalidArgumentException if the limit or the number of logins is invalid
+     */
+    @Override
+    public Map<String, List<Training>> getRecentTrainingsOfClients(List<String> logins, int limit) {
+        validatePageSize(limit);
+        if (logins != null && logins.size() > MAX_RECENT_CLIENTS) {
+            throw new InvalidArgumentException("No more than " + MAX_RECENT_CLIENTS + " clients can be requested at once!");
+        }
+        Map<String, List<Training>> trainingsByLogin = new LinkedHashMap<>();
+        for (Training training : trainingDao.findRecentOfClients(logins, limit)) {
+            trainingsByLogin.computeIfAbsent(training.getAthlete().getLogin(), login -> new ArrayList<>()).add(training);
+        }
+        return trainingsByLogin;
+    }
 
-        return allByAthleteId;
+    /**
+     * Passes all athlete trainings to a consumer sorted by date in descending order.
+     * Trainings are read in keyset chunks of {@value #EXPORT_CHUNK_SIZE} outside a transaction, so each chunk
+     * borrows a connection only for its own query and the consumer, which may write to a slow client,
+     * never runs while a connection is held. Each chunk sees the trainings committed when it is read.
+     *
+     * @param athleteId the ID of the athlete
+     * @param consumer  the consumer of the trainings
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportTrainings(Long athleteId, Consumer<Training> consumer) {
+        LocalDate afterDate = null;
+        Long afterId = null;
+        while (true) {
+            List<Training> chunk = trainingDao.findPageByAthleteIdOrderByDate(athleteId, afterDate, afterId, EXPORT_CHUNK_SIZE);
+            chunk.forEach(consumer);
+            if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                return;
+            }
+            Training last = chunk.get(chunk.size() - 1);
+            afterDate = last.getDate();
+            afterId = last.getId();
+        }
     }
 
     /**
@@ -124,6 +218,7 @@ public class TrainingServiceImpl implements TrainingService {
     public void deleteTraining(Long athleteId, LocalDate date) {
         Training training = getTrainingByAthleteIdAndDate(athleteId, date);
         trainingDao.delete(training.getId());
+        publish(TrainingChangedEvent.Change.DELETED, athleteId, training);
     }
 
     /**
@@ -139,4 +234,148 @@ public class TrainingServiceImpl implements TrainingService {
         return trainingDao.findByAthleteIdAndTrainingDate(athleteId, date)
                 .orElseThrow(() -> new TrainingNotFoundException("Training not found!"));
     }
+
+    /**
+     * Imports trainings in bulk in a single transaction.
+     * Training types are resolved once against the catalog and every athlete is loaded once,
+     * then all valid rows are inserted with batched statements.
+     * Invalid rows, rows repeating an athlete and date of an earlier row and trainings on a date
+     * the athlete already trained on are reported as row errors; the other rows are still imported.
+     *
+     * @param rows the trainings to import, numbered from 1 in the errors
+     * @return the number of imported trainings and the errors of the rejected rows
+     * @throws InvalidArgumentException if there are no rows or more than {@value #MAX_IMPORT_ROWS}
+     */
+    @Override
+    @Transactional
+    public TrainingImportResponse importTrainings(List<TrainingImportRequest> rows) {
+        if (rows == null || rows.isEmpty() || rows.size() > MAX_IMPORT_ROWS) {
+            throw new InvalidArgumentException("An import must contain between 1 and " + MAX_IMPORT_ROWS + " trainings!");
+        }
+        Map<String, TrainingType> trainingTypes = trainingTypeService.getAllTrainingTypes().stream()
+                .collect(Collectors.toMap(TrainingType::getTypeName, Function.identity()));
+        Map<String, Athlete> athletes = new HashMap<>();
+        Set<String> athleteDates = new HashSet<>();
+
+        List<TrainingImportError> errors = new ArrayList<>();
+        List<Training> trainings = new ArrayList<>();
+        List<Integer> trainingRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                Training training = toTraining(rows.get(i), trainingTypes, athletes);
+                if (!athleteDates.add(training.getAthlete().getId() + "|" + training.getDate())) {
+                    throw new InvalidArgumentException("The athlete already has a training on this date in the import!");
+                }
+                trainings.add(training);
+                trainingRows.add(i + 1);
+            } catch (InvalidArgumentException | AthleteNotFoundException e) {
+                errors.add(new TrainingImportError(i + 1, e.getMessage()));
+            }
+        }
+
+        int imported = 0;
+        if (!trainings.isEmpty()) {
+            boolean[] saved = trainingDao.saveAll(trainings);
+            for (int i = 0; i < saved.length; i++) {
+                if (saved[i]) {
+                    imported++;
+                    publish(TrainingChangedEvent.Change.ADDED, trainings.get(i).getAthlete().getId(), trainings.get(i));
+                } else {
+                    errors.add(new TrainingImportError(trainingRows.get(i),
+                            "You cannot do one type of training more than once a day!"));
+                }
+            }
+        }
+        errors.sort(Comparator.comparingInt(TrainingImportError::row));
+        return new TrainingImportResponse(imported, errors);
+    }
+
+    /**
+     * Validates an import row and builds the training from it.
+     *
+     * @throws InvalidArgumentException if a field is missing or invalid
+     * @throws AthleteNotFoundException if the athlete does not exist
+     */
+    private Training toTraining(TrainingImportRequest row,
+                                Map<String, TrainingType> trainingTypes,
+                                Map<String, Athlete> athletes) {
+        if (row == null || row.athleteLogin() == null || row.typeName() == null || row.date() == null) {
+            throw new InvalidArgumentException("Athlete login, type name, sets amount and date are required!");
+        }
+        if (row.setsAmount() == null || row.setsAmount() < 1) {
+            throw new InvalidArgumentException("The sets amount must be a positive number!");
+        }
+        TrainingType trainingType = trainingTypes.get(row.typeName());
+        if (trainingType == null) {
+            throw new InvalidArgumentException("Unknown training type: " + row.typeName() + "!");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(row.date());
+        } catch (DateTimeParseException e) {
+            throw new InvalidArgumentException("Invalid date: " + row.date() + "!");
+        }
+        Athlete athlete = athletes.get(row.athleteLogin());
+        if (athlete == null) {
+            athlete = athleteService.getByLogin(row.athleteLogin());
+            athletes.put(row.athleteLogin(), athlete);
+        }
+        return Training.builder()
+                .setsAmount(row.setsAmount())
+                .date(date)
+                .trainingType(trainingType)
+                .athlete(athlete)
+                .build();
+    }
+
+    /**
+     * Publishes a training change; listeners interested in committed changes only receive it after commit,
+     * and the other nodes are told to drop what they cache about the athlete once the transaction commits.
+     */
+    private void publish(TrainingChangedEvent.Change change, Long athleteId, Training training) {
+        cacheInvalidationBus.publish(CacheInvalidationEvent.athlete(athleteId));
+        eventPublisher.publishEvent(new TrainingChangedEvent(change, athleteId, training.getDate(),
+                training.getTrainingType() == null ? null : training.getTrainingType().getTypeName(),
+                training.getSetsAmount()));
+    }
+
+    /**
+     * Cuts the look-ahead row off a page query result and builds the cursor of the next page.
+     *
+     * @param trainings the query result with up to {@code size + 1} trainings
+     * @param size      the requested page size
+     * @param sort      the sort order of the page
+     * @param sortKey   extracts the sort key of a training
+     * @return the page of trainings
+     */
+    private TrainingPage toPage(List<Training> trainings, int size, String sort, Function<Training, String> sortKey) {
+        if (trainings.size() <= size) {
+            return new TrainingPage(trainings, null);
+        }
+        List<Training> page = trainings.subList(0, size);
+        Training last = page.get(size - 1);
+        return new TrainingPage(page, new TrainingCursor(sort, sortKey.apply(last), last.getId()).encode());
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + "!");
+        }
+    }
+
+    private LocalDate parseDate(String sortKey) {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidArgumentException("Invalid cursor!");
+        }
+    }
+
+    private Integer parseSetsAmount(String sortKey) {
+        try {
+            return Integer.valueOf(sortKey);
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException("Invalid cursor!");
+        }
+    }
 }
\ No newline at end of file
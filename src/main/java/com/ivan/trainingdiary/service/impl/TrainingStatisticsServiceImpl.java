@@ -0,0 +1,168 @@
+package com.ivan.trainingdiary.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.model.TrainingStatistics;
+import com.ivan.trainingdiary.repository.TrainingRepository;
+import com.ivan.trainingdiary.service.TrainingStatisticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service implementation for training statistics.
+ * The statistics of an athlete are built from the database once, with a single streamed query,
+ * when they are first requested; after that every committed {@link TrainingChangedEvent} updates them
+ * in memory, so requests never rescan the trainings table.
+ * Statistics of athletes whose trainings were changed on another node are dropped when its announcement arrives
+ * and loaded again on the next request. A scheduled job periodically rebuilds the statistics held in memory to pick up
+ * changes made outside this service, such as deleted training types or missed announcements.
+ * <p>
+ * Statistics are loaded outside the cache, so a slow scan never holds a lock of the cache's map
+ * nor pins a virtual thread. A change arriving during the load may be missing from the loaded statistics;
+ * each change bumps a counter of the athlete's stripe, and statistics loaded while it moved are not kept.
+ *
+ * @author sergeenkovv
+ */
+@LoggableInfo(name = "class - TrainingStatisticsServiceImpl")
+@Service
+public class TrainingStatisticsServiceImpl implements TrainingStatisticsService {
+
+    private static final int CHANGE_STRIPES = 1024;
+
+    private final TrainingRepository trainingDao;
+    private final Cache<Long, AthleteTrainingStatistics> statistics;
+    private final AtomicLongArray changes = new AtomicLongArray(CHANGE_STRIPES);
+
+    public TrainingStatisticsServiceImpl(TrainingRepository trainingDao,
+                                         CacheProperties cacheProperties,
+                                         MeterRegistry meterRegistry) {
+        this.trainingDao = trainingDao;
+        this.statistics = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getStatistics().getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, statistics, "trainingStatistics");
+    }
+
+    /**
+     * Retrieves the statistics of an athlete, loading them from the database on first use.
+     *
+     * @param athleteId the ID of the athlete
+     * @return the statistics of the athlete's trainings
+     */
+    @Override
+    public TrainingStatistics getStatistics(Long athleteId) {
+        AthleteTrainingStatistics athleteStatistics = statistics.getIfPresent(athleteId);
+        if (athleteStatistics == null) {
+            athleteStatistics = loadAndCache(athleteId);
+        }
+        return athleteStatistics.snapshot(LocalDate.now(), WEEKS);
+    }
+
+    /**
+     * Loads the statistics of an athlete and caches them unless a change of the athlete's stripe arrived meanwhile.
+     * A change counts before it is applied, so one counted after the check finds the cached statistics and is applied to them.
+     */
+    private AthleteTrainingStatistics loadAndCache(Long athleteId) {
+        int stripe = stripe(athleteId);
+        long changesBefore = changes.get(stripe);
+        AthleteTrainingStatistics loaded = load(athleteId);
+        AthleteTrainingStatistics cached = statistics.asMap().putIfAbsent(athleteId, loaded);
+        if (cached != null) {
+            return cached;
+        }
+        if (changes.get(stripe) != changesBefore) {
+            statistics.asMap().remove(athleteId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Applies a training change once its transaction has committed.
+     * Athletes whose statistics are not in memory are skipped: they will be loaded with the change included.
+     *
+     * @param event the training change
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingChanged(TrainingChangedEvent event) {
+        changes.incrementAndGet(stripe(event.athleteId()));
+        statistics.asMap().computeIfPresent(event.athleteId(), (athleteId, athleteStatistics) -> {
+            if (event.change() == TrainingChangedEvent.Change.DELETED) {
+                athleteStatistics.remove(event.date());
+            } else {
+                athleteStatistics.put(event.date(), event.typeName(), event.setsAmount());
+            }
+            return athleteStatistics;
+        });
+    }
+
+    /**
+     * Drops the statistics of an athlete whose trainings were changed on another node,
+     * or of every athlete if changes may have been missed.
+     *
+     * @param event the invalidation received from another node
+     */
+    @Override
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL) {
+            for (int stripe = 0; stripe < CHANGE_STRIPES; stripe++) {
+                changes.incrementAndGet(stripe);
+            }
+            statistics.invalidateAll();
+        } else if (event.scope() == CacheInvalidationEvent.Scope.ATHLETE) {
+            Long athleteId = Long.valueOf(event.key());
+            changes.incrementAndGet(stripe(athleteId));
+            statistics.invalidate(athleteId);
+        }
+    }
+
+    /**
+     * Rebuilds the statistics of every athlete held in memory from the database.
+     * If a change was applied to an athlete while the athlete was being reloaded, the reloaded statistics
+     * are discarded, because the change may be missing from them; the next run reloads the athlete again.
+     */
+    @Override
+    @Scheduled(initialDelayString = "#{@cacheProperties.statistics.rebuildInterval.toMillis()}",
+            fixedDelayString = "#{@cacheProperties.statistics.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        for (Long athleteId : List.copyOf(statistics.asMap().keySet())) {
+            AthleteTrainingStatistics current = statistics.getIfPresent(athleteId);
+            if (current == null) {
+                continue;
+            }
+            long modifications = current.getModifications();
+            AthleteTrainingStatistics rebuilt = load(athleteId);
+            statistics.asMap().computeIfPresent(athleteId, (id, athleteStatistics) ->
+                    athleteStatistics == current && current.getModifications() == modifications
+                            ? rebuilt
+                            : athleteStatistics);
+        }
+    }
+
+    private static int stripe(Long athleteId) {
+        return Long.hashCode(athleteId) & (CHANGE_STRIPES - 1);
+    }
+
+    private AthleteTrainingStatistics load(Long athleteId) {
+        AthleteTrainingStatistics athleteStatistics = new AthleteTrainingStatistics();
+        trainingDao.forEachByAthleteId(athleteId, training -> athleteStatistics.put(
+                training.getDate(),
+                training.getTrainingType() == null ? null : training.getTrainingType().getTypeName(),
+                training.getSetsAmount()));
+        return athleteStatistics;
+    }
+}
@@ -2,11 +2,14 @@ package com.ivan.trainingdiary.service.impl;
 
 
 import com.ivan.loggingstarter.annotations.LoggableInfo;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
 import com.ivan.trainingdiary.repository.TrainingTypeRepository;
 import com.ivan.trainingdiary.exception.DuplicateTrainingTypeException;
 import com.ivan.trainingdiary.exception.InvalidTrainingTypeException;
 import com.ivan.trainingdiary.model.TrainingType;
 import com.ivan.trainingdiary.service.TrainingTypeService;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
+import com.ivan.trainingdiary.util.ResourceVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +21,8 @@ import java.util.Optional;
  * Service implementation for managing training types.
  * This class provides methods to retrieve, add, and delete training types.
  * It interacts with the database through {@link TrainingTypeRepository} for data access.
+ * Every added and deleted training type changes the catalog version in {@link ResourceVersions}
+ * and is announced to the other nodes through the {@link CacheInvalidationBus}.
  *
  * @author sergeenkovv
  */
@@ -28,6 +33,8 @@ import java.util.Optional;
 public class TrainingTypeServiceImpl implements TrainingTypeService {
 
     private final TrainingTypeRepository trainingTypeDao;
+    private final ResourceVersions resourceVersions;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Retrieves all training types.
@@ -59,6 +66,8 @@ public class TrainingTypeServiceImpl implements TrainingTypeService {
                 .build();
 
         trainingTypeDao.save(type);
+        resourceVersions.catalogChanged();
+        cacheInvalidationBus.publish(CacheInvalidationEvent.trainingTypes());
     }
 
     /**
@@ -70,6 +79,8 @@ public class TrainingTypeServiceImpl implements TrainingTypeService {
     @Transactional
     public void deleteTrainingType(String typeName) {
         trainingTypeDao.delete(getByTypeName(typeName).getId());
+        resourceVersions.catalogChanged();
+        cacheInvalidationBus.publish(CacheInvalidationEvent.trainingTypes());
     }
 
     /**
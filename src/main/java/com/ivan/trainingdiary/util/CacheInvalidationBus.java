@@ -0,0 +1,269 @@
+package com.ivan.trainingdiary.util;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the caches of all nodes consistent through PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * A write announces what it changed with {@link #publish(CacheInvalidationEvent)}. Inside a transaction the messages
+ * are collected, deduplicated and sent with one {@code pg_notify} statement just before commit, on the transaction's
+ * connection, so PostgreSQL delivers them only if the transaction commits; outside a transaction they are sent at once.
+ * Messages are short text of the form {@code node:SCOPE:key}.
+ * <p>
+ * Every node listens on a dedicated connection outside the pool, opened by {@link ConnectionManager}, and publishes
+ * each message from another node as a {@link CacheInvalidationEvent} that the caches apply. Notifications sent while
+ * a node is not listening are lost, so after every (re)connection the node publishes {@link CacheInvalidationEvent#all()}
+ * and starts over with empty caches. A lost connection is noticed when a poll fails or, on an idle connection,
+ * when the check after every {@code poll-interval} fails; reconnection attempts back off up to {@code max-reconnect-delay}.
+ * <p>
+ * {@code cache.invalidation.messages} counts messages sent and received, {@code cache.invalidation.flushes} the full
+ * flushes and {@code cache.invalidation.connected} is 1 while the node is listening.
+ *
+ * @author sergeenkovv
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private static final String SQL_NOTIFY = """
+            SELECT pg_notify(?, message) FROM unnest(?) AS message
+            """;
+
+    private final ConnectionManager connectionProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheProperties.Invalidation properties;
+    private final String nodeId = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Counter sent;
+    private final Counter received;
+    private final Counter flushes;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Thread listener;
+
+    public CacheInvalidationBus(ConnectionManager connectionProvider,
+                                ApplicationEventPublisher eventPublisher,
+                                CacheProperties cacheProperties,
+                                MeterRegistry meterRegistry) {
+        this.connectionProvider = connectionProvider;
+        this.eventPublisher = eventPublisher;
+        this.properties = cacheProperties.getInvalidation();
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + properties.getChannel());
+        }
+        this.sent = Counter.builder("cache.invalidation.messages")
+                .tag("direction", "sent")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.messages")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.flushes = Counter.builder("cache.invalidation.flushes")
+                .description("Caches cleared because invalidations from other nodes may have been missed")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.connected", this, bus -> bus.connected ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Announces a change to the other nodes. Inside a transaction the announcement is sent just before commit.
+     * Outside a transaction a failure to send it is logged, because the change itself has already been made.
+     *
+     * @param event what changed
+     */
+    public void publish(CacheInvalidationEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String message = nodeId + ":" + event.scope() + ":" + (event.key() == null ? "" : event.key());
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+            || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                notify(List.of(message));
+            } catch (RuntimeException e) {
+                log.warn("Failed to announce a cache invalidation: {}", e.getMessage());
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> messages = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, messages);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    CacheInvalidationBus.this.notify(messages);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = messages;
+        }
+        pending.add(message);
+    }
+
+    private void notify(Collection<String> messages) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_NOTIFY)) {
+            preparedStatement.setString(1, properties.getChannel());
+            preparedStatement.setArray(2, connection.createArrayOf("text", messages.toArray()));
+            preparedStatement.execute();
+            sent.increment(messages.size());
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a message received from the channel. Messages of this node are skipped;
+     * a message that cannot be read clears every cache.
+     *
+     * @param payload the message
+     */
+    void receive(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length == 3 && parts[0].equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        CacheInvalidationEvent event;
+        try {
+            CacheInvalidationEvent.Scope scope = CacheInvalidationEvent.Scope.valueOf(parts[1]);
+            event = new CacheInvalidationEvent(scope, parts[2].isEmpty() ? null : parts[2]);
+        } catch (RuntimeException e) {
+            log.warn("Unreadable cache invalidation, clearing all caches: {}", payload);
+            event = CacheInvalidationEvent.all();
+        }
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL) {
+            flushes.increment();
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Tells whether this node learns of the changes made on other nodes: either the listener is connected,
+     * or invalidation is disabled because this node is the only one.
+     *
+     * @return {@code false} while announcements of other nodes may be missed
+     */
+    public boolean isListening() {
+        return !properties.isEnabled() || connected;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listener = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        listener = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long reconnectDelay = properties.getReconnectDelay().toMillis();
+        while (running) {
+            try (Connection connection = connectionProvider.openDedicatedConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                connected = true;
+                reconnectDelay = properties.getReconnectDelay().toMillis();
+                log.info("Listening for cache invalidations on channel {}", properties.getChannel());
+                flushes.increment();
+                eventPublisher.publishEvent(CacheInvalidationEvent.all());
+                poll(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {}ms: {}", reconnectDelay, e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            if (!sleep(reconnectDelay)) {
+                return;
+            }
+            reconnectDelay = Math.min(reconnectDelay * 2, properties.getMaxReconnectDelay().toMillis());
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        int pollMillis = (int) properties.getPollInterval().toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (running && !connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("The listener connection is no longer valid.");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                receive(notification.getParameter());
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,48 +1,144 @@
 package com.ivan.trainingdiary.util;
 
-import lombok.Getter;
-import org.springframework.beans.factory.annotation.Value;
+import com.ivan.trainingdiary.config.JdbcProperties;
+import com.ivan.trainingdiary.exception.DatabaseUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
 
 /**
  * Manages database connections.
+ * Connections are borrowed from the pooled {@link DataSource} configured under {@code spring.datasource.hikari}
+ * and returned to the pool when closed. The pool size is the limit on concurrent database work:
+ * a request that cannot borrow a connection within {@code connection-timeout} fails with
+ * {@link DatabaseUnavailableException} instead of waiting indefinitely.
+ * <p>
+ * Inside a {@code @Transactional} method every repository call gets the connection bound to the transaction,
+ * so the whole method runs on one connection and is committed or rolled back once; closing the connection
+ * in a repository leaves it open for the transaction. Outside a transaction each call borrows its own connection
+ * in autocommit mode.
+ * <p>
+ * With {@code app.jdbc.statement-metrics} enabled, prepared statements are counted as
+ * {@code jdbc.statements.prepared}, tagged with whether the driver prepared them on the server.
+ * Connections are only wrapped for counting when it is enabled.
+ *
+ * @author sergeenkovv
  */
 @Component
-@Getter
 public class ConnectionManager {
 
-    @Value("${spring.datasource.url}")
-    private String url;
-    @Value("${spring.datasource.driver-class-name}")
-    private String driver;
-    @Value("${spring.datasource.username}")
-    private String username;
-    @Value("${spring.datasource.password}")
-    private String password;
+    private final DataSource dataSource;
+    private final DataSource transactionAwareDataSource;
+    private final Counter serverPreparedStatements;
+    private final Counter clientPreparedStatements;
+
+    public ConnectionManager(DataSource dataSource, JdbcProperties properties, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.transactionAwareDataSource = new TransactionAwareDataSourceProxy(dataSource);
+        if (properties.isStatementMetrics()) {
+            this.serverPreparedStatements = preparedStatementCounter("true", meterRegistry);
+            this.clientPreparedStatements = preparedStatementCounter("false", meterRegistry);
+        } else {
+            this.serverPreparedStatements = null;
+            this.clientPreparedStatements = null;
+        }
+    }
+
+    private static Counter preparedStatementCounter(String serverPrepared, MeterRegistry meterRegistry) {
+        return Counter.builder("jdbc.statements.prepared")
+                .description("Prepared statements, by whether the driver prepared them on the server")
+                .tag("server.prepared", serverPrepared)
+                .register(meterRegistry);
+    }
 
     /**
-     * Gets a connection to the database.
+     * Gets the connection of the current transaction, or borrows a connection from the pool if there is no transaction.
      *
      * @return the connection
-     * @throws RuntimeException if a connection cannot be established
+     * @throws DatabaseUnavailableException if no connection became available within the pool's connection timeout
+     * @throws RuntimeException             if a connection cannot be obtained
      */
     public Connection getConnection() {
         try {
-            Class.forName(getDriver());
-
-            return DriverManager.getConnection(
-                    getUrl(),
-                    getUsername(),
-                    getPassword()
-            );
+            Connection connection = transactionAwareDataSource.getConnection();
+            // the proxy borrows lazily; touching it here reports an exhausted pool before any statement is prepared
+            connection.getAutoCommit();
+            return serverPreparedStatements == null ? connection : countingPreparedStatements(connection);
+        } catch (SQLTransientConnectionException e) {
+            throw new DatabaseUnavailableException("The database is busy, try again later!", e);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to get a database connection.", e);
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Opens a connection of its own, outside the pool, for a session that stays open indefinitely,
+     * such as one listening for notifications. Holding a pooled connection that long would shrink the pool
+     * and be reported as a leak. The caller must close the connection.
+     *
+     * @return the connection
+     * @throws RuntimeException if the connection cannot be opened
+     */
+    public Connection openDedicatedConnection() {
+        try {
+            if (dataSource instanceof HikariDataSource hikariDataSource) {
+                Properties properties = new Properties();
+                properties.putAll(hikariDataSource.getDataSourceProperties());
+                properties.setProperty("user", hikariDataSource.getUsername());
+                properties.setProperty("password", hikariDataSource.getPassword());
+                return DriverManager.getConnection(hikariDataSource.getJdbcUrl(), properties);
+            }
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open a dedicated database connection.", e);
+        }
+    }
+
+    private Connection countingPreparedStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (result instanceof PreparedStatement preparedStatement) {
+                        countPreparedStatement(preparedStatement);
+                    }
+                    return result;
+                });
+    }
+
+    private void countPreparedStatement(PreparedStatement preparedStatement) throws SQLException {
+        if (preparedStatement.isWrapperFor(PGStatement.class)) {
+            boolean serverPrepared = preparedStatement.unwrap(PGStatement.class).isUseServerPrepare();
+            (serverPrepared ? serverPreparedStatements : clientPreparedStatements).increment();
+        }
+    }
+
+    /**
+     * Gets the runtime statistics of the connection pool (active, idle, pending and total connections).
+     *
+     * @return the pool MXBean, or {@code null} if the data source is not a started Hikari pool
+     */
+    public HikariPoolMXBean getPoolMXBean() {
+        return dataSource instanceof HikariDataSource hikariDataSource
+                ? hikariDataSource.getHikariPoolMXBean()
+                : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.ivan.trainingdiary.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.model.Athlete;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the weak ETags of the training history and training type catalog responses.
+ * The catalog has one counter, bumped when a training type is added or deleted; athletes have counters
+ * kept in a fixed number of stripes, bumped when a training change is committed. Athletes sharing a stripe
+ * share its counter, which only makes their clients revalidate more often.
+ * <p>
+ * A tag is taken before the data it describes is read, so a response never carries a newer tag than its data.
+ * History tags include the catalog version, because trainings are returned with their type names.
+ * Every tag contains an epoch chosen at startup, so tags issued before a restart never match.
+ * The counters are held per node; changes made on other nodes, by either the servlet or the reactive application,
+ * bump them when {@link CacheInvalidationBus} delivers their announcements, and every tag changes when announcements
+ * may have been missed. While the bus is not listening, every tag is new, so no request is answered as not modified
+ * from a counter that may be missing a change.
+ * <p>
+ * The athlete ID of each login a tag was issued for is remembered, so that a conditional request
+ * can be answered before the athlete is loaded.
+ *
+ * @author sergeenkovv
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLongArray athleteVersions;
+    private final int mask;
+    private final Cache<String, Long> athleteIds;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public ResourceVersions(CacheProperties cacheProperties,
+                            CacheInvalidationBus cacheInvalidationBus,
+                            MeterRegistry meterRegistry) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        int size = Integer.highestOneBit(Math.max(1, cacheProperties.getVersions().getStripes() - 1)) << 1;
+        this.athleteVersions = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.athleteIds = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getVersions().getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, athleteIds, "athleteIds");
+    }
+
+    /**
+     * Gets the current tag of the training type catalog.
+     *
+     * @return the weak ETag of the catalog
+     */
+    public String getCatalogTag() {
+        return "W/\"" + epoch + "-" + catalogVersion() + "\"";
+    }
+
+    /**
+     * Gets the current tag of the training history of an athlete and remembers the athlete's ID by login.
+     *
+     * @param athlete the athlete
+     * @return the weak ETag of the athlete's training history
+     */
+    public String getAthleteTag(Athlete athlete) {
+        athleteIds.put(athlete.getLogin(), athlete.getId());
+        return athleteTag(athlete.getId());
+    }
+
+    /**
+     * Gets the current tag of the training history of an athlete by login, without loading the athlete.
+     *
+     * @param login the athlete's login
+     * @return the weak ETag of the athlete's training history,
+     * or {@code null} if no tag was issued for the login since it was last evicted
+     */
+    public String findAthleteTag(String login) {
+        Long athleteId = athleteIds.getIfPresent(login);
+        return athleteId == null ? null : athleteTag(athleteId);
+    }
+
+    /**
+     * Changes the tags of the catalog and of all training histories. If a transaction is active,
+     * they are changed again after it completes, so that a tag taken while the transaction was running
+     * cannot stay attached to the state from before the change.
+     */
+    public void catalogChanged() {
+        catalogVersion.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    catalogVersion.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Changes the tag of the training history of an athlete once the training change has committed.
+     *
+     * @param event the training change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingChanged(TrainingChangedEvent event) {
+        athleteVersions.incrementAndGet(stripe(event.athleteId()));
+    }
+
+    /**
+     * Changes the tags affected by a change made on another node.
+     *
+     * @param event the invalidation received from another node
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.scope() == CacheInvalidationEvent.Scope.ALL || event.scope() == CacheInvalidationEvent.Scope.TRAINING_TYPES) {
+            catalogVersion.incrementAndGet();
+        } else if (event.scope() == CacheInvalidationEvent.Scope.ATHLETE) {
+            athleteVersions.incrementAndGet(stripe(Long.valueOf(event.key())));
+        }
+    }
+
+    private String athleteTag(Long athleteId) {
+        return "W/\"" + epoch + "-" + catalogVersion() + "-" + athleteVersions.get(stripe(athleteId)) + "\"";
+    }
+
+    private long catalogVersion() {
+        return cacheInvalidationBus.isListening() ? catalogVersion.get() : catalogVersion.incrementAndGet();
+    }
+
+    private int stripe(Long athleteId) {
+        int hash = athleteId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
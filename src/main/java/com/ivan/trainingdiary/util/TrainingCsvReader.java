@@ -0,0 +1,135 @@
+package com.ivan.trainingdiary.util;
+
+import com.ivan.trainingdiary.dto.TrainingImportRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads trainings to import from CSV with the columns {@code athleteLogin,typeName,setsAmount,date}.
+ * Fields are quoted as in RFC 4180 and as {@link TrainingExportWriter} writes them: a field in double quotes
+ * may contain commas, line breaks and quotes doubled. Records end with LF or CRLF.
+ * An optional header line starting with {@code athleteLogin} and blank lines are skipped.
+ * Missing or unparsable values are left {@code null}, so that they are reported as row errors by the import.
+ *
+ * @author sergeenkovv
+ */
+public final class TrainingCsvReader {
+
+    private static final String HEADER_PREFIX = "athletelogin";
+
+    private TrainingCsvReader() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Reads all rows of a CSV stream.
+     *
+     * @param inputStream the UTF-8 encoded CSV
+     * @param maxRows     the maximum number of rows to read; one more row is returned if the stream has more
+     * @return the rows in stream order
+     * @throws IOException if the stream cannot be read
+     */
+    public static List<TrainingImportRequest> read(InputStream inputStream, int maxRows) throws IOException {
+        List<TrainingImportRequest> rows = new ArrayList<>();
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> record;
+        boolean first = true;
+        while (rows.size() <= maxRows && (record = readRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (first && record.get(0).strip().toLowerCase().startsWith(HEADER_PREFIX)) {
+                first = false;
+                continue;
+            }
+            first = false;
+            rows.add(parse(record));
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the fields of the next record. A quote opens a quoted field only at the start of the field;
+     * elsewhere it is taken literally, and a quoted field left open runs to the end of the stream.
+     *
+     * @param reader the reader positioned at the start of a record
+     * @return the unquoted fields, or {@code null} at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    static List<String> readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean quoteClosed = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    quoted = false;
+                    quoteClosed = true;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoteClosed = false;
+            } else if (c == '"' && quoteClosed) {
+                field.append('"');
+                quoted = true;
+                quoteClosed = false;
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+                quoteClosed = false;
+            }
+            c = reader.read();
+        }
+    }
+
+    private static TrainingImportRequest parse(List<String> values) {
+        return new TrainingImportRequest(
+                value(values, 0),
+                value(values, 1),
+                parseSetsAmount(value(values, 2)),
+                value(values, 3));
+    }
+
+    private static String value(List<String> values, int index) {
+        if (index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseSetsAmount(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ivan.trainingdiary.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ivan.trainingdiary.dto.TrainingResponse;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported trainings to an output stream one at a time, either as NDJSON (one JSON object per line)
+ * or as CSV with the columns {@code id,setsAmount,trainingType,date}.
+ * Nothing but the current row and the write buffer is held in memory.
+ *
+ * @author sergeenkovv
+ */
+public final class TrainingExportWriter {
+
+    /**
+     * The header line of the CSV format.
+     */
+    public static final String CSV_HEADER = "id,setsAmount,trainingType,date";
+
+    private final Writer writer;
+    private final Format format;
+    private final ObjectWriter objectWriter;
+
+    /**
+     * Creates a writer and, for CSV, writes the header line.
+     *
+     * @param outputStream the stream to write the UTF-8 encoded trainings to
+     * @param format       the export format
+     * @param objectMapper the object mapper used for NDJSON rows
+     */
+    public TrainingExportWriter(OutputStream outputStream, Format format, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectWriter = objectMapper.writerFor(TrainingResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == Format.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+
+    /**
+     * Writes a training as one line.
+     *
+     * @param training the training to write
+     * @throws UncheckedIOException if the stream cannot be written, e.g. because the client disconnected
+     */
+    public void write(TrainingResponse training) {
+        try {
+            if (format == Format.NDJSON) {
+                objectWriter.writeValue(writer, training);
+                writer.write('\n');
+            } else {
+                writeLine(toCsvLine(training));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the buffered rows to the output stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Formats a training as a CSV line without the line break.
+     *
+     * @param training the training to format
+     * @return the CSV line
+     */
+    public static String toCsvLine(TrainingResponse training) {
+        return training.id() + "," + training.setsAmount() + ","
+               + csvValue(training.trainingType()) + "," + training.date();
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Export format of trainings.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        /**
+         * Resolves a format by its name, ignoring case.
+         *
+         * @param value the name of the format
+         * @return the format
+         * @throws InvalidArgumentException if there is no format with the given name
+         */
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
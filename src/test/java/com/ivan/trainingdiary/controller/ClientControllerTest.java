@@ -4,16 +4,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ivan.trainingdiary.dto.*;
 import com.ivan.trainingdiary.mapper.AthleteMapper;
 import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingStatisticsMapper;
 import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
+import com.ivan.trainingdiary.model.TrainingStatistics;
 import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.security.JwtProperties;
 import com.ivan.trainingdiary.security.JwtTokenProvider;
+import com.ivan.trainingdiary.security.PrincipalCache;
 import com.ivan.trainingdiary.service.AthleteService;
 import com.ivan.trainingdiary.service.TrainingService;
+import com.ivan.trainingdiary.service.TrainingStatisticsService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
 import com.ivan.trainingdiary.service.impl.UserDetailsServiceImpl;
+import com.ivan.trainingdiary.util.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +31,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,9 +42,14 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +57,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(controllers = ClientController.class)
+@Import(TrainingExportResponses.class)
 @WithMockUser(username = "vanya", password = "123", roles = {"CLIENT", "TRAINER"})
 class ClientControllerTest {
 
@@ -51,6 +66,8 @@ class ClientControllerTest {
     @MockBean
     private TrainingService trainingService;
     @MockBean
+    private TrainingStatisticsService trainingStatisticsService;
+    @MockBean
     private TrainingTypeService trainingTypeService;
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceImpl;
@@ -59,9 +76,17 @@ class ClientControllerTest {
     @MockBean
     private TrainingMapper trainingMapper;
     @MockBean
+    private TrainingStatisticsMapper trainingStatisticsMapper;
+    @MockBean
     private TrainingTypeMapper trainingTypeMapper;
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
+    @MockBean
+    private JwtProperties jwtProperties;
+    @MockBean
+    private PrincipalCache principalCache;
+    @MockBean
+    private ResourceVersions resourceVersions;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -85,7 +110,8 @@ class ClientControllerTest {
     private TrainingEditRequest trainingEditRequest;
     private TrainingResponse trainingResponse1;
     private TrainingResponse trainingResponse2;
-    private TrainingHistoryResponse trainingHistoryResponse;
+    private TrainingPage trainingPage;
+    private TrainingHistoryPageResponse trainingHistoryPageResponse;
     private ObjectMapper objectMapper;
 
 
@@ -135,7 +161,8 @@ class ClientControllerTest {
 
         trainingResponse1 = new TrainingResponse(training1.getId(), training1.getSetsAmount(), training1.getTrainingType().getTypeName(), String.valueOf(training1.getDate()));
         trainingResponse2 = new TrainingResponse(training2.getId(), training2.getSetsAmount(), training2.getTrainingType().getTypeName(), String.valueOf(training2.getDate()));
-        trainingHistoryResponse = new TrainingHistoryResponse(athlete.getLogin(), Arrays.asList(trainingResponse1, trainingResponse2));
+        trainingPage = new TrainingPage(Arrays.asList(training1, training2), "nextCursor");
+        trainingHistoryPageResponse = new TrainingHistoryPageResponse(athlete.getLogin(), Arrays.asList(trainingResponse1, trainingResponse2), "nextCursor");
 
         objectMapper = new ObjectMapper();
     }
@@ -160,7 +187,8 @@ class ClientControllerTest {
     @Test
     void showTrainingByDate_Success() throws Exception {
         given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
-        given(trainingMapper.toDtoList(trainingService.getTrainingsSortedByDate(athlete.getId()))).willReturn(trainingHistoryResponse.trainings());
+        given(trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
 
         ResultActions perform = mockMvc.perform(get("/api/client/training/show-by-date")
                 .with(csrf())
@@ -169,23 +197,139 @@ class ClientControllerTest {
                 .accept(MediaType.APPLICATION_JSON));
 
         perform.andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryResponse)));
+                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryPageResponse)));
     }
 
     @DisplayName("Test showTrainingBySetsAmount method")
     @Test
     void showTrainingBySetsAmount_Success() throws Exception {
         given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
-        given(trainingMapper.toDtoList(trainingService.getTrainingsSortedBySetsAmount(athlete.getId()))).willReturn(trainingHistoryResponse.trainings());
+        given(trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
 
-        ResultActions perform = mockMvc.perform(get("/api/client/training/show-by-date")
+        ResultActions perform = mockMvc.perform(get("/api/client/training/show-by-sets-amount")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .param("login", athlete.getLogin())
                 .accept(MediaType.APPLICATION_JSON));
 
         perform.andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryResponse)));
+                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryPageResponse)));
+    }
+
+    @DisplayName("Test showAllTrainingTypes method with a current ETag")
+    @Test
+    void showAllTrainingTypes_NotModified() throws Exception {
+        given(resourceVersions.getCatalogTag()).willReturn("W/\"e-1\"");
+
+        mockMvc.perform(get("/api/client/training-types/show-all")
+                        .param("login", athlete.getLogin())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"e-1\""))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(trainingTypeService, trainingTypeMapper);
+    }
+
+    @DisplayName("Test showTrainingByDate method with a current ETag")
+    @Test
+    void showTrainingByDate_NotModified() throws Exception {
+        given(resourceVersions.findAthleteTag(athlete.getLogin())).willReturn("W/\"e-1-7\"");
+
+        mockMvc.perform(get("/api/client/training/show-by-date")
+                        .param("login", athlete.getLogin())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+        verifyNoInteractions(athleteService, trainingService, trainingMapper);
+    }
+
+    @DisplayName("Test showTrainingByDate method with an outdated ETag")
+    @Test
+    void showTrainingByDate_Modified() throws Exception {
+        given(resourceVersions.findAthleteTag(athlete.getLogin())).willReturn("W/\"e-1-8\"");
+        given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
+        given(resourceVersions.getAthleteTag(athlete)).willReturn("W/\"e-1-8\"");
+        given(trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
+
+        mockMvc.perform(get("/api/client/training/show-by-date")
+                        .param("login", athlete.getLogin())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e-1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"e-1-8\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryPageResponse)));
+    }
+
+    @DisplayName("Test showTrainingByDate method takes the ETag once")
+    @Test
+    void showTrainingByDate_KnownTag_OneETag() throws Exception {
+        given(resourceVersions.findAthleteTag(athlete.getLogin())).willReturn("W/\"e-1-8\"");
+        given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
+        given(trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
+
+        mockMvc.perform(get("/api/client/training/show-by-date")
+                        .param("login", athlete.getLogin())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e-1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "W/\"e-1-8\""));
+
+        verify(resourceVersions, never()).getAthleteTag(any());
+    }
+
+    @DisplayName("Test showTrainingByDate method with a tag not known before the athlete is loaded")
+    @Test
+    void showTrainingByDate_UnknownTag_OneETag() throws Exception {
+        given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
+        given(resourceVersions.getAthleteTag(athlete)).willReturn("W/\"e-1-9\"");
+        given(trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
+
+        mockMvc.perform(get("/api/client/training/show-by-date")
+                        .param("login", athlete.getLogin()))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "W/\"e-1-9\""));
+    }
+
+    @DisplayName("Test showAllTrainingTypes method sends a single ETag")
+    @Test
+    void showAllTrainingTypes_OneETag() throws Exception {
+        given(resourceVersions.getCatalogTag()).willReturn("W/\"e-1\"");
+
+        mockMvc.perform(get("/api/client/training-types/show-all")
+                        .param("login", athlete.getLogin()))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "W/\"e-1\""));
+    }
+
+    @DisplayName("Test showTrainingStatistics method")
+    @Test
+    void showTrainingStatistics_Success() throws Exception {
+        TrainingStatistics statistics = TrainingStatistics.builder()
+                .totalTrainings(2)
+                .totalSets(6)
+                .setsByType(Map.of("CARDIO", 6))
+                .weeklySets(Map.of(LocalDate.parse("2022-11-07"), 3))
+                .currentStreak(0)
+                .longestStreak(1)
+                .lastTrainingDate(LocalDate.parse("2022-12-09"))
+                .build();
+        TrainingStatisticsResponse response = new TrainingStatisticsResponse(athlete.getLogin(), 2, 6,
+                Map.of("CARDIO", 6), Map.of("2022-11-07", 3), 0, 1, "2022-12-09");
+        given(athleteService.getByLogin(athlete.getLogin())).willReturn(athlete);
+        given(trainingStatisticsService.getStatistics(athlete.getId())).willReturn(statistics);
+        given(trainingStatisticsMapper.toDto(athlete.getLogin(), statistics)).willReturn(response);
+
+        ResultActions perform = mockMvc.perform(get("/api/client/training/statistics")
+                .param("login", athlete.getLogin())
+                .accept(MediaType.APPLICATION_JSON));
+
+        perform.andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
     }
 
     @DisplayName("Test addTraining method")
@@ -0,0 +1,84 @@
+package com.ivan.trainingdiary.controller;
+
+import com.ivan.trainingdiary.mapper.AthleteMapper;
+import com.ivan.trainingdiary.security.LoginRateLimiter;
+import com.ivan.trainingdiary.service.SecurityService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the authorization endpoint on an embedded Tomcat configured by {@code application.yaml},
+ * because {@code X-Forwarded-For} is applied by the server, which {@code MockMvc} leaves out.
+ */
+@DisplayName("securityController client address test")
+@SpringBootTest(classes = SecurityControllerClientAddressTest.WebConfiguration.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SecurityControllerClientAddressTest {
+
+    @MockBean
+    private SecurityService securityService;
+    @MockBean
+    private AthleteMapper athleteMapper;
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @LocalServerPort
+    private int port;
+
+    @DisplayName("behind a trusted proxy the address limit is taken for the forwarded client address")
+    @Test
+    void authorize_ForwardedByTrustedProxy_LimitsClientAddress() throws Exception {
+        int status = authorize("203.0.113.7");
+
+        assertThat(status).isEqualTo(200);
+        verify(loginRateLimiter).acquireForAddress("203.0.113.7");
+    }
+
+    @DisplayName("addresses a client puts in front of the forwarded chain are ignored")
+    @Test
+    void authorize_SpoofedForwardedChain_LimitsAddressSeenByProxy() throws Exception {
+        authorize("10.0.0.1, 198.51.100.2");
+
+        verify(loginRateLimiter).acquireForAddress("198.51.100.2");
+    }
+
+    private int authorize(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/authorization"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"login\":\"vanya\",\"password\":\"1234\"}"))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import(SecurityController.class)
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    static class WebConfiguration {
+    }
+}
@@ -7,7 +7,10 @@ import com.ivan.trainingdiary.dto.SecurityRequest;
 import com.ivan.trainingdiary.mapper.AthleteMapper;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.security.JwtProperties;
 import com.ivan.trainingdiary.security.JwtTokenProvider;
+import com.ivan.trainingdiary.security.LoginRateLimiter;
+import com.ivan.trainingdiary.security.PrincipalCache;
 import com.ivan.trainingdiary.service.SecurityService;
 import com.ivan.trainingdiary.service.impl.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +49,12 @@ class SecurityControllerTest {
     private AthleteMapper athleteMapper;
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
+    @MockBean
+    private JwtProperties jwtProperties;
+    @MockBean
+    private PrincipalCache principalCache;
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
 
     @Mock
     private PasswordEncoder passwordEncoder;
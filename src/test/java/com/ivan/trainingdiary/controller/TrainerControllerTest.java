@@ -4,16 +4,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ivan.trainingdiary.dto.*;
 import com.ivan.trainingdiary.mapper.AthleteMapper;
 import com.ivan.trainingdiary.mapper.TrainingMapper;
+import com.ivan.trainingdiary.mapper.TrainingStatisticsMapper;
 import com.ivan.trainingdiary.mapper.TrainingTypeMapper;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
 import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.security.JwtProperties;
 import com.ivan.trainingdiary.security.JwtTokenProvider;
+import com.ivan.trainingdiary.security.PrincipalCache;
 import com.ivan.trainingdiary.service.AthleteService;
+import com.ivan.trainingdiary.service.TrainingFeedService;
 import com.ivan.trainingdiary.service.TrainingService;
+import com.ivan.trainingdiary.service.TrainingStatisticsService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
 import com.ivan.trainingdiary.service.impl.UserDetailsServiceImpl;
+import com.ivan.trainingdiary.util.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,19 +31,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +62,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(controllers = TrainerController.class)
+@Import(TrainingExportResponses.class)
 @WithMockUser(username = "trainer", password = "trainer", roles = "TRAINER")
 class TrainerControllerTest {
 
@@ -52,6 +71,10 @@ class TrainerControllerTest {
     @MockBean
     private TrainingService trainingService;
     @MockBean
+    private TrainingStatisticsService trainingStatisticsService;
+    @MockBean
+    private TrainingFeedService trainingFeedService;
+    @MockBean
     private TrainingTypeService trainingTypeService;
     @MockBean
     private UserDetailsServiceImpl userDetailsServiceImpl;
@@ -60,9 +83,17 @@ class TrainerControllerTest {
     @MockBean
     private TrainingMapper trainingMapper;
     @MockBean
+    private TrainingStatisticsMapper trainingStatisticsMapper;
+    @MockBean
     private TrainingTypeMapper trainingTypeMapper;
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
+    @MockBean
+    private JwtProperties jwtProperties;
+    @MockBean
+    private PrincipalCache principalCache;
+    @MockBean
+    private ResourceVersions resourceVersions;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -87,7 +118,8 @@ class TrainerControllerTest {
     private TrainingTypeRequest trainingTypeRequest1;
     private TrainingResponse trainingResponse1;
     private TrainingResponse trainingResponse2;
-    private TrainingHistoryResponse trainingHistoryResponse;
+    private TrainingPage trainingPage;
+    private TrainingHistoryPageResponse trainingHistoryPageResponse;
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -146,7 +178,8 @@ class TrainerControllerTest {
 
         trainingResponse1 = new TrainingResponse(training1.getId(), training1.getSetsAmount(), training1.getTrainingType().getTypeName(), String.valueOf(training1.getDate()));
         trainingResponse2 = new TrainingResponse(training2.getId(), training2.getSetsAmount(), training2.getTrainingType().getTypeName(), String.valueOf(training2.getDate()));
-        trainingHistoryResponse = new TrainingHistoryResponse(athlete1.getLogin(), Arrays.asList(trainingResponse1, trainingResponse2));
+        trainingPage = new TrainingPage(Arrays.asList(training1, training2), "nextCursor");
+        trainingHistoryPageResponse = new TrainingHistoryPageResponse(athlete1.getLogin(), Arrays.asList(trainingResponse1, trainingResponse2), "nextCursor");
 
         objectMapper = new ObjectMapper();
     }
@@ -219,7 +252,8 @@ class TrainerControllerTest {
     @Test
     void showTrainingByDate_Success() throws Exception {
         given(athleteService.getByLogin(athlete1.getLogin())).willReturn(athlete1);
-        given(trainingMapper.toDtoList(trainingService.getTrainingsSortedByDate(athlete1.getId()))).willReturn(trainingHistoryResponse.trainings());
+        given(trainingService.getTrainingsPageSortedByDate(athlete1.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
 
         ResultActions perform = mockMvc.perform(get("/api/trainer/training/show-by-date")
                 .with(csrf())
@@ -229,16 +263,17 @@ class TrainerControllerTest {
                 .accept(MediaType.APPLICATION_JSON));
 
         perform.andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryResponse)));
+                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryPageResponse)));
     }
 
     @DisplayName("Test showTrainingBySetsAmount method")
     @Test
     void showTrainingBySetsAmount_Success() throws Exception {
         given(athleteService.getByLogin(athlete1.getLogin())).willReturn(athlete1);
-        given(trainingMapper.toDtoList(trainingService.getTrainingsSortedByDate(athlete1.getId()))).willReturn(trainingHistoryResponse.trainings());
+        given(trainingService.getTrainingsPageSortedBySetsAmount(athlete1.getId(), null, 20)).willReturn(trainingPage);
+        given(trainingMapper.toDtoList(trainingPage.getTrainings())).willReturn(trainingHistoryPageResponse.trainings());
 
-        ResultActions perform = mockMvc.perform(get("/api/trainer/training/show-by-date")
+        ResultActions perform = mockMvc.perform(get("/api/trainer/training/show-by-sets-amount")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .param("login", athlete1.getLogin())
@@ -246,6 +281,173 @@ class TrainerControllerTest {
                 .accept(MediaType.APPLICATION_JSON));
 
         perform.andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryResponse)));
+                .andExpect(content().json(objectMapper.writeValueAsString(trainingHistoryPageResponse)));
+    }
+
+    @DisplayName("Test showRecentTrainings method")
+    @Test
+    void showRecentTrainings_Success() throws Exception {
+        Map<String, List<Training>> recent = new LinkedHashMap<>();
+        recent.put(athlete2.getLogin(), List.of(training1, training2));
+        given(trainingService.getRecentTrainingsOfClients(List.of(athlete2.getLogin()), 2)).willReturn(recent);
+        given(trainingMapper.toDtoList(List.of(training1, training2))).willReturn(List.of(trainingResponse1, trainingResponse2));
+        TrainingHistoriesResponse response = new TrainingHistoriesResponse(List.of(
+                new TrainingHistoryResponse(athlete2.getLogin(), List.of(trainingResponse1, trainingResponse2))));
+
+        ResultActions perform = mockMvc.perform(get("/api/trainer/training/show-recent")
+                .param("login", athlete1.getLogin())
+                .param("loginClients", athlete2.getLogin())
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON));
+
+        perform.andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @DisplayName("Test followTrainingChanges method")
+    @Test
+    void followTrainingChanges_Success() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        given(trainingFeedService.subscribe(List.of(athlete2.getLogin()))).willReturn(emitter);
+
+        mockMvc.perform(get("/api/trainer/training/feed")
+                        .param("login", athlete1.getLogin())
+                        .param("loginClients", athlete2.getLogin()))
+                .andExpect(request().asyncStarted());
+    }
+
+    @DisplayName("Test followTrainingChanges method with the login of another user")
+    @Test
+    void followTrainingChanges_IncorrectLogin() throws Exception {
+        mockMvc.perform(get("/api/trainer/training/feed")
+                        .param("login", athlete2.getLogin()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Incorrect login!"));
+
+        verifyNoInteractions(trainingFeedService);
+    }
+
+    @DisplayName("Test importTrainings method")
+    @Test
+    void importTrainings_Success() throws Exception {
+        List<TrainingImportRequest> rows = List.of(new TrainingImportRequest("lesha", "CARDIO", 3, "2024-01-01"));
+        TrainingImportResponse response = new TrainingImportResponse(1, List.of());
+        given(trainingService.importTrainings(rows)).willReturn(response);
+
+        ResultActions perform = mockMvc.perform(post("/api/trainer/training/import")
+                .with(csrf())
+                .param("login", athlete1.getLogin())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rows))
+                .accept(MediaType.APPLICATION_JSON));
+
+        perform.andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @DisplayName("Test importTrainingsCsv method")
+    @Test
+    void importTrainingsCsv_Success() throws Exception {
+        List<TrainingImportRequest> rows = List.of(
+                new TrainingImportRequest("lesha", "CARDIO", 3, "2024-01-01"),
+                new TrainingImportRequest("lesha", "SWIMMING", null, "2024-01-02"));
+        TrainingImportResponse response = new TrainingImportResponse(1,
+                List.of(new TrainingImportError(2, "The sets amount must be a positive number!")));
+        given(trainingService.importTrainings(rows)).willReturn(response);
+
+        ResultActions perform = mockMvc.perform(post("/api/trainer/training/import")
+                .with(csrf())
+                .param("login", athlete1.getLogin())
+                .contentType("text/csv")
+                .content("""
+                        athleteLogin,typeName,setsAmount,date
+                        lesha,CARDIO,3,2024-01-01
+                        lesha,SWIMMING,many,2024-01-02
+                        """)
+                .accept(MediaType.APPLICATION_JSON));
+
+        perform.andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @DisplayName("Test exportTrainings method with NDJSON")
+    @Test
+    void exportTrainings_Ndjson() throws Exception {
+        given(athleteService.getByLogin(athlete2.getLogin())).willReturn(athlete2);
+        givenExportedTrainings();
+
+        MvcResult result = mockMvc.perform(get("/api/trainer/training/export")
+                        .param("login", athlete1.getLogin())
+                        .param("loginClient", athlete2.getLogin()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lesha-trainings.ndjson\""))
+                .andExpect(content().string(objectMapper.writeValueAsString(trainingResponse1) + "\n"
+                                            + objectMapper.writeValueAsString(trainingResponse2) + "\n"));
+    }
+
+    @DisplayName("Test exportTrainings method with CSV")
+    @Test
+    void exportTrainings_Csv() throws Exception {
+        given(athleteService.getByLogin(athlete2.getLogin())).willReturn(athlete2);
+        givenExportedTrainings();
+
+        MvcResult result = mockMvc.perform(get("/api/trainer/training/export")
+                        .param("login", athlete1.getLogin())
+                        .param("loginClient", athlete2.getLogin())
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("""
+                        id,setsAmount,trainingType,date
+                        1,3,CARDIO,2022-11-11
+                        2,3,SWIMMING,2022-12-09
+                        """));
+    }
+
+    @DisplayName("Test exportTrainings method with a current ETag")
+    @Test
+    void exportTrainings_NotModified() throws Exception {
+        given(resourceVersions.findAthleteTag(athlete2.getLogin())).willReturn("W/\"e-1-3\"");
+
+        mockMvc.perform(get("/api/trainer/training/export")
+                        .param("login", athlete1.getLogin())
+                        .param("loginClient", athlete2.getLogin())
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"e-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"e-1-3\""));
+
+        verifyNoInteractions(athleteService, trainingService, trainingMapper);
+    }
+
+    @DisplayName("Test exportTrainings method with an unsupported format")
+    @Test
+    void exportTrainings_UnsupportedFormat() throws Exception {
+        given(athleteService.getByLogin(athlete2.getLogin())).willReturn(athlete2);
+
+        mockMvc.perform(get("/api/trainer/training/export")
+                        .param("login", athlete1.getLogin())
+                        .param("loginClient", athlete2.getLogin())
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void givenExportedTrainings() {
+        given(trainingMapper.toDto(training1)).willReturn(trainingResponse1);
+        given(trainingMapper.toDto(training2)).willReturn(trainingResponse2);
+        willAnswer(invocation -> {
+            Consumer<Training> consumer = invocation.getArgument(1);
+            consumer.accept(training1);
+            consumer.accept(training2);
+            return null;
+        }).given(trainingService).exportTrainings(eq(athlete2.getId()), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import com.ivan.trainingdiary.exception.RegistrationException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.util.ConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("athleteRepositoryImpl projection test")
+@ExtendWith(MockitoExtension.class)
+class AthleteRepositoryImplTest {
+
+    @InjectMocks
+    private AthleteRepositoryImpl athleteRepository;
+
+    @Mock
+    private ConnectionManager connectionManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connectionManager.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @DisplayName("save reports a login taken by a concurrent registration as a registration error")
+    @Test
+    void save_DuplicateLogin_ThrowsRegistrationException() throws Exception {
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLException("ERROR: duplicate key value violates unique constraint", "23505"));
+        Athlete athlete = Athlete.builder().login("vanya").password("hash").role(Role.CLIENT).build();
+
+        RegistrationException exception = assertThrows(RegistrationException.class, () -> athleteRepository.save(athlete));
+
+        assertThat(exception.getMessage()).isEqualTo("The athlete with this login already exists!");
+    }
+
+    @DisplayName("findAll selects and reads no password hashes")
+    @Test
+    void findAll_WithoutPasswords() throws Exception {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getLong(1)).thenReturn(1L, 2L);
+        when(resultSet.getString(2)).thenReturn("vanya", "lesha");
+        when(resultSet.getString(3)).thenReturn("CLIENT", "TRAINER");
+
+        List<Athlete> athletes = athleteRepository.findAll();
+
+        assertThat(athletes).extracting(Athlete::getLogin).containsExactly("vanya", "lesha");
+        assertThat(athletes).extracting(Athlete::getRole).containsExactly(Role.CLIENT, Role.TRAINER);
+        assertThat(athletes).extracting(Athlete::getPassword).containsOnlyNulls();
+        assertThat(preparedSql()).doesNotContain("*").doesNotContain("password");
+        verify(resultSet, never()).getString(anyString());
+        verify(resultSet, never()).getString(4);
+    }
+
+    @DisplayName("findByLogin reads the athlete with its password hash by column index")
+    @Test
+    void findByLogin_ReadsByIndex() throws Exception {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.getString(anyInt())).thenReturn("vanya", "hash", "CLIENT");
+
+        Optional<Athlete> athlete = athleteRepository.findByLogin("vanya");
+
+        assertThat(athlete).get()
+                .extracting(Athlete::getLogin, Athlete::getPassword, Athlete::getRole)
+                .containsExactly("vanya", "hash", Role.CLIENT);
+        assertThat(preparedSql()).contains("id, login, password, role").doesNotContain("*");
+        verify(resultSet, never()).getString(anyString());
+    }
+
+    @DisplayName("findClients filters by role and login in the query")
+    @Test
+    void findClients_FiltersInQuery() throws Exception {
+        Array logins = mock(Array.class);
+        when(connection.createArrayOf(eq("varchar"), any(Object[].class))).thenReturn(logins);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.getString(2)).thenReturn("vanya");
+        when(resultSet.getString(3)).thenReturn("CLIENT");
+
+        List<Athlete> clients = athleteRepository.findClients(List.of("vanya", "petya"));
+
+        assertThat(clients).extracting(Athlete::getLogin).containsExactly("vanya");
+        assertThat(preparedSql()).contains("role = 'CLIENT'", "login = ANY (?)").doesNotContain("password");
+        verify(preparedStatement).setArray(1, logins);
+    }
+
+    @DisplayName("findClients of all clients binds no logins")
+    @Test
+    void findClients_All() throws Exception {
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(athleteRepository.findClients(null)).isEmpty();
+        assertThat(preparedSql()).contains("role = 'CLIENT'").doesNotContain("ANY");
+        verify(preparedStatement, never()).setArray(anyInt(), any());
+    }
+
+    private String preparedSql() throws Exception {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        return sql.getValue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.model.TrainingType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("cachingTrainingTypeRepository implementation test")
+@ExtendWith(MockitoExtension.class)
+class CachingTrainingTypeRepositoryTest {
+
+    @Mock
+    private TrainingTypeRepositoryImpl delegate;
+
+    private CacheProperties cacheProperties;
+    private MeterRegistry meterRegistry;
+    private CachingTrainingTypeRepository repository;
+
+    private final TrainingType back = TrainingType.builder().id(1L).typeName("BACK").build();
+    private final TrainingType legs = TrainingType.builder().id(2L).typeName("LEGS").build();
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingTrainingTypeRepository(delegate, cacheProperties, meterRegistry);
+    }
+
+    @DisplayName("lookups by id and name are served from one loaded snapshot")
+    @Test
+    void lookups_LoadCatalogOnce() {
+        when(delegate.findAll()).thenReturn(List.of(back, legs));
+
+        assertThat(repository.findByTypeName("BACK")).contains(back);
+        assertThat(repository.findById(2L)).contains(legs);
+        assertThat(repository.findByTypeName("CHEST")).isEmpty();
+        assertThat(repository.findAll()).containsExactly(back, legs);
+
+        verify(delegate, times(1)).findAll();
+        verifyNoMoreInteractions(delegate);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(3);
+    }
+
+    @DisplayName("findAll returns an immutable snapshot")
+    @Test
+    void findAll_Immutable() {
+        when(delegate.findAll()).thenReturn(List.of(back));
+
+        List<TrainingType> trainingTypes = repository.findAll();
+
+        assertThatThrownBy(() -> trainingTypes.add(legs)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @DisplayName("save and delete invalidate the snapshot")
+    @Test
+    void saveAndDelete_Invalidate() {
+        when(delegate.findAll()).thenReturn(List.of(back), List.of(back, legs), List.of(back));
+        when(delegate.save(legs)).thenReturn(legs);
+        when(delegate.delete(2L)).thenReturn(true);
+
+        assertThat(repository.findByTypeName("LEGS")).isEmpty();
+        repository.save(legs);
+        assertThat(repository.findByTypeName("LEGS")).contains(legs);
+        repository.delete(2L);
+        assertThat(repository.findById(2L)).isEmpty();
+
+        verify(delegate, times(3)).findAll();
+    }
+
+    @DisplayName("an expired snapshot is reloaded")
+    @Test
+    void expiredSnapshot_Reloaded() {
+        cacheProperties.getTrainingTypes().setTtl(Duration.ZERO);
+        repository = new CachingTrainingTypeRepository(delegate, cacheProperties, meterRegistry);
+        when(delegate.findAll()).thenReturn(List.of(back));
+
+        repository.findAll();
+        repository.findAll();
+
+        verify(delegate, times(2)).findAll();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import liquibase.Scope;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionCommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("index usage test")
+@Testcontainers(disabledWithoutDocker = true)
+class IndexUsageTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS migration");
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            database.setDefaultSchemaName("migration");
+            Scope.child(Map.of(Scope.Attr.resourceAccessor.name(), new ClassLoaderResourceAccessor()), () ->
+                    new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                            .addArgumentValue(DbUrlConnectionCommandStep.DATABASE_ARG, database)
+                            .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "db/changelog/changelog.xml")
+                            .execute());
+        }
+    }
+
+    @DisplayName("trainings lookup by athlete and date uses the composite index")
+    @Test
+    void findByAthleteIdAndTrainingDate_UsesIndex() throws Exception {
+        assertThat(explain("SELECT * FROM develop.trainings WHERE athlete_id = 1 AND date = DATE '2024-01-01'"))
+                .contains("trainings_athlete_id_date_uindex");
+    }
+
+    @DisplayName("trainings lookup by athlete uses the composite index")
+    @Test
+    void findPageByAthleteIdOrderByDate_UsesIndex() throws Exception {
+        assertThat(explain("SELECT * FROM develop.trainings WHERE athlete_id = 1 ORDER BY date DESC"))
+                .contains("trainings_athlete_id_date_uindex");
+    }
+
+    @DisplayName("athletes lookup by login uses the unique index")
+    @Test
+    void findByLogin_UsesIndex() throws Exception {
+        assertThat(explain("SELECT * FROM develop.athletes WHERE login = 'vanya'"))
+                .contains("athletes_login_uindex");
+    }
+
+    @DisplayName("training types lookup by name uses the unique index")
+    @Test
+    void findByTypeName_UsesIndex() throws Exception {
+        assertThat(explain("SELECT * FROM develop.training_types WHERE type_name = 'BACK'"))
+                .contains("training_types_type_name_uindex");
+    }
+
+    /**
+     * Returns the plan of a query. Sequential scans are disabled because the seeded tables are too small
+     * for the planner to prefer an index on its own; the test checks that a matching index exists and is usable.
+     */
+    private String explain(String sql) throws Exception {
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql);
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Connection getConnection() throws Exception {
+        return DriverManager.getConnection(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
@@ -0,0 +1,213 @@
+package com.ivan.trainingdiary.repository.impl;
+
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.util.ConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("trainingRepositoryImpl statement count test")
+@ExtendWith(MockitoExtension.class)
+class TrainingRepositoryImplTest {
+
+    private static final int ROWS = 500;
+
+    @InjectMocks
+    private TrainingRepositoryImpl trainingRepository;
+
+    @Mock
+    private ConnectionManager connectionManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connectionManager.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @DisplayName("findPageByAthleteIdOrderByDate loads trainings, types and athletes with one statement")
+    @Test
+    void findPageByAthleteIdOrderByDate_SingleStatement() throws Exception {
+        Boolean[] hasNext = new Boolean[ROWS];
+        for (int i = 0; i < ROWS - 1; i++) {
+            hasNext[i] = true;
+        }
+        hasNext[ROWS - 1] = false;
+        when(resultSet.next()).thenReturn(true, hasNext);
+        stubTrainingRow();
+
+        List<Training> trainings = trainingRepository.findPageByAthleteIdOrderByDate(1L, null, null, ROWS);
+
+        assertThat(trainings).hasSize(ROWS);
+        assertThat(trainings.get(0).getTrainingType().getTypeName()).isEqualTo("BACK");
+        assertThat(trainings.get(0).getAthlete().getLogin()).isEqualTo("vanya");
+        assertThat(trainings.get(0).getAthlete().getPassword()).isNull();
+        verifySingleStatement();
+        verify(resultSet, never()).getString(anyString());
+    }
+
+    @DisplayName("findById loads training, type and athlete with one statement")
+    @Test
+    void findById_SingleStatement() throws Exception {
+        when(resultSet.next()).thenReturn(true);
+        stubTrainingRow();
+
+        Optional<Training> training = trainingRepository.findById(1L);
+
+        assertThat(training).isPresent();
+        assertThat(training.get().getAthlete().getRole()).isEqualTo(Role.CLIENT);
+        verifySingleStatement();
+    }
+
+    @DisplayName("findByAthleteIdAndTrainingDate loads training, type and athlete with one statement")
+    @Test
+    void findByAthleteIdAndTrainingDate_SingleStatement() throws Exception {
+        when(resultSet.next()).thenReturn(true);
+        stubTrainingRow();
+
+        Optional<Training> training = trainingRepository.findByAthleteIdAndTrainingDate(1L, LocalDate.parse("2024-01-01"));
+
+        assertThat(training).isPresent();
+        assertThat(training.get().getSetsAmount()).isEqualTo(3);
+        verifySingleStatement();
+    }
+
+    @DisplayName("saveIfAbsent inserts a training with one statement")
+    @Test
+    void saveIfAbsent_Inserted() throws Exception {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(7L);
+
+        Optional<Training> saved = trainingRepository.saveIfAbsent(newTraining());
+
+        assertThat(saved).isPresent();
+        assertThat(saved.get().getId()).isEqualTo(7L);
+        verifySingleStatement();
+    }
+
+    @DisplayName("saveIfAbsent skips a training on a date the athlete already trained on")
+    @Test
+    void saveIfAbsent_Conflict() throws Exception {
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(trainingRepository.saveIfAbsent(newTraining())).isEmpty();
+        verifySingleStatement();
+    }
+
+    @DisplayName("update changes the training with the id of the given training")
+    @Test
+    void update_BindsTrainingId() throws Exception {
+        Training training = newTraining();
+        training.setId(7L);
+        training.setSetsAmount(5);
+        training.setTrainingType(TrainingType.builder().id(2L).build());
+
+        trainingRepository.update(training);
+
+        verify(preparedStatement).setInt(1, 5);
+        verify(preparedStatement).setLong(2, 2L);
+        verify(preparedStatement).setLong(3, 7L);
+        verify(preparedStatement).executeUpdate();
+    }
+
+    @DisplayName("findRecentOfClients loads the trainings of many clients with one statement")
+    @Test
+    void findRecentOfClients_SingleStatement() throws Exception {
+        when(resultSet.next()).thenReturn(true, true, false);
+        stubTrainingRow();
+
+        List<Training> trainings = trainingRepository.findRecentOfClients(List.of("vanya", "lesha"), 5);
+
+        assertThat(trainings).hasSize(2);
+        verify(preparedStatement).setInt(1, 5);
+        verifySingleStatement();
+    }
+
+    @DisplayName("forEachByAthleteId reads trainings through a cursor")
+    @Test
+    void forEachByAthleteId_Cursor() throws Exception {
+        Boolean[] hasNext = new Boolean[ROWS];
+        for (int i = 0; i < ROWS - 1; i++) {
+            hasNext[i] = true;
+        }
+        hasNext[ROWS - 1] = false;
+        when(resultSet.next()).thenReturn(true, hasNext);
+        stubTrainingRow();
+        AtomicInteger consumed = new AtomicInteger();
+
+        trainingRepository.forEachByAthleteId(1L, training -> consumed.incrementAndGet());
+
+        assertThat(consumed).hasValue(ROWS);
+        verify(preparedStatement).setFetchSize(anyInt());
+        verifySingleStatement();
+    }
+
+    @DisplayName("forEachByAthleteId propagates a consumer failure and releases the connection")
+    @Test
+    void forEachByAthleteId_ConsumerFails() throws Exception {
+        when(resultSet.next()).thenReturn(true);
+        stubTrainingRow();
+
+        assertThatThrownBy(() -> trainingRepository.forEachByAthleteId(1L, training -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        })).isInstanceOf(UncheckedIOException.class);
+
+        verify(resultSet).close();
+        verify(preparedStatement).close();
+        verify(connection).close();
+    }
+
+    private Training newTraining() {
+        return Training.builder()
+                .setsAmount(3)
+                .date(LocalDate.parse("2024-01-01"))
+                .trainingType(TrainingType.builder().id(1L).build())
+                .athlete(Athlete.builder().id(1L).build())
+                .build();
+    }
+
+    private void stubTrainingRow() throws Exception {
+        when(resultSet.getLong(anyInt())).thenReturn(1L);
+        when(resultSet.wasNull()).thenReturn(false);
+        when(resultSet.getInt(2)).thenReturn(3);
+        when(resultSet.getObject(3, LocalDate.class)).thenReturn(LocalDate.parse("2024-01-01"));
+        when(resultSet.getString(5)).thenReturn("BACK");
+        when(resultSet.getString(7)).thenReturn("vanya");
+        when(resultSet.getString(8)).thenReturn("CLIENT");
+    }
+
+    private void verifySingleStatement() throws Exception {
+        verify(connectionManager, times(1)).getConnection();
+        verify(connection, times(1)).prepareStatement(anyString());
+        verify(preparedStatement, times(1)).executeQuery();
+    }
+}
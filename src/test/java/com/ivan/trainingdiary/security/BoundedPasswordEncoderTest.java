@@ -0,0 +1,135 @@
+package com.ivan.trainingdiary.security;
+
+import com.ivan.trainingdiary.exception.ServiceUnavailableException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("boundedPasswordEncoder test")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingProperties properties;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @DisplayName("passwords are hashed and verified on the hashing executor")
+    @Test
+    void encodeAndMatches_RunOnExecutor() {
+        passwordEncoder = new BoundedPasswordEncoder(new RecordingPasswordEncoder(false), properties, meterRegistry);
+
+        String encoded = passwordEncoder.encode("secret");
+
+        assertThat(encoded).isEqualTo("{hashed}secret");
+        assertThat(passwordEncoder.matches("secret", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(hashingThread.get()).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("executor").tag("name", "passwordHashing").timer().count()).isEqualTo(3);
+    }
+
+    @DisplayName("a call is rejected at once when the thread is busy and the queue is full")
+    @Test
+    void matches_Saturated_ThrowsTooManyRequestsException() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(new RecordingPasswordEncoder(true), properties, meterRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordEncoder.matches("a", "{hashed}a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.matches("b", "{hashed}b"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> passwordEncoder.matches("c", "{hashed}c"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Server busy, try again later!");
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @DisplayName("a caller interrupted while waiting for its hash gets service unavailable")
+    @Test
+    void matches_Interrupted_ThrowsServiceUnavailableException() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(new RecordingPasswordEncoder(true), properties, meterRegistry);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                passwordEncoder.matches("a", "{hashed}a");
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        caller.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        caller.interrupt();
+        caller.join(5000);
+
+        assertThat(failure.get()).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() != expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private class RecordingPasswordEncoder implements PasswordEncoder {
+
+        private final boolean blocking;
+
+        RecordingPasswordEncoder(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            if (blocking) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encodedPassword.equals("{hashed}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ivan.trainingdiary.security;
+
+import com.ivan.trainingdiary.model.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("jwtTokenFilter test")
+@ExtendWith(MockitoExtension.class)
+class JwtTokenFilterTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private JwtProperties jwtProperties;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenFilter jwtTokenFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("cGFzc3dvcmRmb3JJdmFuZ2lnYWNoYWRvdmljaA==");
+        jwtProperties.setAccess(3600000L);
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        jwtTokenProvider.init();
+        jwtTokenFilter = new JwtTokenFilter(jwtTokenProvider, jwtProperties, principalCache, handlerExceptionResolver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("principal is built from the role claim without a lookup")
+    @Test
+    void doFilter_TrustedRoleClaim_NoLookup() throws Exception {
+        jwtProperties.setTrustRoleClaim(true);
+
+        Authentication authentication = filter(jwtTokenProvider.createAccessToken("vanya", Role.TRAINER));
+
+        assertThat(((User) authentication.getPrincipal()).getUsername()).isEqualTo("vanya");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("TRAINER");
+        verifyNoInteractions(principalCache);
+    }
+
+    @DisplayName("principal is taken from the cache when role claims are not trusted")
+    @Test
+    void doFilter_UntrustedRoleClaim_UsesCache() throws Exception {
+        when(principalCache.get("vanya"))
+                .thenReturn(new User("vanya", "password", Collections.singleton(Role.CLIENT)));
+
+        Authentication authentication = filter(jwtTokenProvider.createAccessToken("vanya", Role.TRAINER));
+
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("CLIENT");
+        verify(principalCache).get("vanya");
+    }
+
+    @DisplayName("principal is taken from the cache when the token has no role claim")
+    @Test
+    void doFilter_NoRoleClaim_UsesCache() throws Exception {
+        jwtProperties.setTrustRoleClaim(true);
+        when(principalCache.get("vanya"))
+                .thenReturn(new User("vanya", "password", Collections.singleton(Role.CLIENT)));
+
+        Authentication authentication = filter(jwtTokenProvider.createAccessToken("vanya"));
+
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("CLIENT");
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ivan.trainingdiary.security;
+
+import com.ivan.trainingdiary.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("jwtTokenProvider test")
+class JwtTokenProviderTest {
+
+    private JwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("cGFzc3dvcmRmb3JJdmFuZ2lnYWNoYWRvdmljaA==");
+        jwtProperties.setAccess(3600000L);
+    }
+
+    @DisplayName("parse returns the verified claims")
+    @Test
+    void parse_ReturnsClaims() {
+        JwtTokenProvider jwtTokenProvider = provider();
+
+        Claims claims = jwtTokenProvider.parse(jwtTokenProvider.createAccessToken("vanya", Role.CLIENT));
+
+        assertThat(claims.getSubject()).isEqualTo("vanya");
+        assertThat(claims.get(JwtTokenProvider.ROLE_CLAIM, String.class)).isEqualTo("CLIENT");
+    }
+
+    @DisplayName("a verified token is served from the cache")
+    @Test
+    void parse_CachedToken_SameClaims() {
+        jwtProperties.setVerifiedTokenCacheSize(10);
+        JwtTokenProvider jwtTokenProvider = provider();
+        String token = jwtTokenProvider.createAccessToken("vanya");
+
+        assertThat(jwtTokenProvider.parse(token)).isSameAs(jwtTokenProvider.parse(token));
+    }
+
+    @DisplayName("a tampered token is rejected even when the original one is cached")
+    @Test
+    void parse_TamperedToken_ThrowsSignatureException() {
+        jwtProperties.setVerifiedTokenCacheSize(10);
+        JwtTokenProvider jwtTokenProvider = provider();
+        String token = jwtTokenProvider.createAccessToken("vanya");
+        jwtTokenProvider.parse(token);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        assertThatThrownBy(() -> jwtTokenProvider.parse(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @DisplayName("an expired token is rejected")
+    @Test
+    void parse_ExpiredToken_ThrowsExpiredJwtException() {
+        jwtProperties.setAccess(-1000L);
+        jwtProperties.setVerifiedTokenCacheSize(10);
+        JwtTokenProvider jwtTokenProvider = provider();
+        String token = jwtTokenProvider.createAccessToken("vanya");
+
+        assertThatThrownBy(() -> jwtTokenProvider.parse(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private JwtTokenProvider provider() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        jwtTokenProvider.init();
+        return jwtTokenProvider;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ivan.trainingdiary.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("tokenBuckets test")
+class TokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final TokenBuckets buckets = new TokenBuckets(1024, 5, Duration.ofMinutes(1), clock::get);
+
+    @DisplayName("a full bucket allows a burst of its capacity and then reports the wait for the next token")
+    @Test
+    void tryAcquire_Burst_ThenRejected() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("vanya")).isZero();
+        }
+
+        assertThat(buckets.tryAcquire("vanya")).isEqualTo(Duration.ofSeconds(12).toNanos());
+    }
+
+    @DisplayName("tokens are refilled evenly over the refill period")
+    @Test
+    void tryAcquire_Refill() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("vanya");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(12).toNanos());
+        assertThat(buckets.tryAcquire("vanya")).isZero();
+        assertThat(buckets.tryAcquire("vanya")).isPositive();
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("vanya")).isZero();
+        }
+        assertThat(buckets.tryAcquire("vanya")).isPositive();
+    }
+
+    @DisplayName("different keys do not share a bucket")
+    @Test
+    void tryAcquire_IndependentKeys() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("vanya");
+        }
+
+        assertThat(buckets.tryAcquire("vanya")).isPositive();
+        assertThat(buckets.tryAcquire("lesha")).isZero();
+    }
+
+    @DisplayName("a rejected attempt does not take a token")
+    @Test
+    void tryAcquire_Rejected_DoesNotDrain() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("vanya");
+        }
+        for (int i = 0; i < 100; i++) {
+            buckets.tryAcquire("vanya");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(12).toNanos());
+        assertThat(buckets.tryAcquire("vanya")).isZero();
+    }
+
+    @DisplayName("keys with the same hash code do not share a bucket")
+    @Test
+    void tryAcquire_CollidingKeys_Independent() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("Aa");
+        }
+
+        assertThat(buckets.tryAcquire("Aa")).isPositive();
+        assertThat(buckets.tryAcquire("BB")).isZero();
+    }
+
+    @DisplayName("a bucket unused for a whole refill period is full again and no longer kept")
+    @Test
+    void tryAcquire_Idle_Expires() {
+        for (int i = 0; i < 5; i++) {
+            buckets.tryAcquire("vanya");
+        }
+
+        clock.addAndGet(Duration.ofMinutes(1).plusSeconds(1).toNanos());
+        buckets.tryAcquire("lesha");
+
+        assertThat(buckets.size()).isEqualTo(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("vanya")).isZero();
+        }
+    }
+}
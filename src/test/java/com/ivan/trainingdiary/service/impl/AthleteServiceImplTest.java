@@ -62,6 +62,18 @@ class AthleteServiceImplTest {
         assertThat(result).containsExactlyInAnyOrder(athlete1, athlete2);
     }
 
+    @DisplayName("Test getClients method")
+    @Test
+    void getClients_Success() {
+        List<String> logins = List.of("Ivan", "Lesha");
+
+        when(athleteRepository.findClients(logins)).thenReturn(Arrays.asList(athlete1, athlete2));
+
+        List<Athlete> result = athleteService.getClients(logins);
+
+        assertThat(result).containsExactly(athlete1, athlete2);
+    }
+
     @DisplayName("Test getAthleteById method")
     @Test
     void getAthleteById_Success() {
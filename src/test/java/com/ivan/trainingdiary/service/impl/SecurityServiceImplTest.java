@@ -1,12 +1,17 @@
 package com.ivan.trainingdiary.service.impl;
 
 import com.ivan.trainingdiary.dto.JwtResponse;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
 import com.ivan.trainingdiary.exception.AuthorizationException;
 import com.ivan.trainingdiary.exception.RegistrationException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.repository.AthleteRepository;
 import com.ivan.trainingdiary.security.JwtTokenProvider;
+import com.ivan.trainingdiary.security.LoginRateLimiter;
+import com.ivan.trainingdiary.security.UnknownLoginCache;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -22,7 +27,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @DisplayName("securityServiceImpl implementation test")
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +41,13 @@ class SecurityServiceImplTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
     @Mock
-    private AuthenticationManager authenticationManager;
-    @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+    @Mock
+    private UnknownLoginCache unknownLoginCache;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
 
     private Athlete athlete;
 
@@ -61,6 +70,8 @@ class SecurityServiceImplTest {
         Athlete registerAthlete = securityServiceImpl.registration(athlete.getLogin(), athlete.getPassword());
         assertEquals(athlete.getLogin(), registerAthlete.getLogin());
         assertEquals(athlete.getPassword(), registerAthlete.getPassword());
+        verify(unknownLoginCache).invalidate(athlete.getLogin());
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.login(athlete.getLogin()));
     }
 
     @DisplayName("Test registration method with exception")
@@ -76,12 +87,25 @@ class SecurityServiceImplTest {
     @Test
     void authorization_Success() {
         when(athleteRepository.findByLogin(athlete.getLogin())).thenReturn(Optional.of(athlete));
-        when(jwtTokenProvider.createAccessToken(athlete.getLogin())).thenReturn("testAccessToken");
+        when(passwordEncoder.matches("1234", athlete.getPassword())).thenReturn(true);
+        when(jwtTokenProvider.createAccessToken(athlete.getLogin(), athlete.getRole())).thenReturn("testAccessToken");
 
-        JwtResponse result = securityServiceImpl.authorization(athlete.getLogin(), athlete.getPassword());
+        JwtResponse result = securityServiceImpl.authorization(athlete.getLogin(), "1234");
 
         assertEquals(athlete.getLogin(), result.login());
         assertEquals("testAccessToken", result.accessToken());
+        verify(athleteRepository, times(1)).findByLogin(athlete.getLogin());
+    }
+
+    @DisplayName("Test authorization method with wrong password")
+    @Test
+    void authorization_WrongPassword_ThrowsBadCredentialsException() {
+        when(athleteRepository.findByLogin(athlete.getLogin())).thenReturn(Optional.of(athlete));
+        when(passwordEncoder.matches("wrong", athlete.getPassword())).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> securityServiceImpl.authorization(athlete.getLogin(), "wrong"));
+        verify(jwtTokenProvider, never()).createAccessToken(any(), any());
     }
 
     @DisplayName("Test authorization method with non existing athlete")
@@ -91,5 +115,30 @@ class SecurityServiceImplTest {
 
         assertThrows(AuthorizationException.class,
                 () -> securityServiceImpl.authorization("nonExistingLogin", "password"));
+        verify(unknownLoginCache).markUnknown("nonExistingLogin");
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @DisplayName("Test authorization method with a cached unknown login")
+    @Test
+    void authorization_CachedUnknownLogin_SkipsRepository() {
+        when(unknownLoginCache.isUnknown("nonExistingLogin")).thenReturn(true);
+
+        assertThrows(AuthorizationException.class,
+                () -> securityServiceImpl.authorization("nonExistingLogin", "password"));
+        verifyNoInteractions(athleteRepository);
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @DisplayName("Test authorization method with a rate limited login")
+    @Test
+    void authorization_RateLimited_ThrowsTooManyRequestsException() {
+        doThrow(new TooManyRequestsException("Too many login attempts, try again later!"))
+                .when(loginRateLimiter).acquireForLogin(athlete.getLogin());
+
+        assertThrows(TooManyRequestsException.class,
+                () -> securityServiceImpl.authorization(athlete.getLogin(), "1234"));
+        verifyNoInteractions(athleteRepository);
+        verify(passwordEncoder, never()).matches(any(), any());
     }
 }
\ No newline at end of file
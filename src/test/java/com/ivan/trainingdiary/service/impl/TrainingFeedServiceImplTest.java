@@ -0,0 +1,287 @@
+package com.ivan.trainingdiary.service.impl;
+
+import com.ivan.trainingdiary.config.TrainingFeedProperties;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.exception.AthleteNotFoundException;
+import com.ivan.trainingdiary.exception.TooManyRequestsException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Role;
+import com.ivan.trainingdiary.service.AthleteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("trainingFeedServiceImpl implementation test")
+@ExtendWith(MockitoExtension.class)
+class TrainingFeedServiceImplTest {
+
+    private static final LocalDate DATE = LocalDate.parse("2024-01-01");
+    private static final List<Athlete> CLIENTS = List.of(
+            Athlete.builder().id(1L).login("vanya").role(Role.CLIENT).build(),
+            Athlete.builder().id(2L).login("lesha").role(Role.CLIENT).build());
+
+    @Mock
+    private AthleteService athleteService;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrainingFeedProperties properties;
+    private TrainingFeedServiceImpl trainingFeedService;
+    private RecordingEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TrainingFeedProperties();
+        properties.setDeliveryThreads(1);
+        emitter = newEmitter();
+        trainingFeedService = new TrainingFeedServiceImpl(athleteService, properties, meterRegistry, () -> emitter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(recorded -> recorded.release.countDown());
+        trainingFeedService.destroy();
+    }
+
+    @DisplayName("a subscriber is sent the changes of the clients it follows only")
+    @Test
+    void onTrainingChanged_SendsFollowedClients() throws Exception {
+        givenClients();
+        emitter.release.countDown();
+        trainingFeedService.subscribe(List.of("vanya"));
+        assertThat(emitter.next()).startsWith(":heartbeat");
+
+        trainingFeedService.onTrainingChanged(change(2L, TrainingChangedEvent.Change.ADDED, DATE));
+        trainingFeedService.onTrainingChanged(change(1L, TrainingChangedEvent.Change.ADDED, DATE));
+
+        assertThat(emitter.next()).startsWith("event:training")
+                .contains("change=ADDED", "athleteLogin=vanya", "date=2024-01-01");
+        assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @DisplayName("changes of the same training waiting for a slow subscriber are coalesced into the latest one")
+    @Test
+    void onTrainingChanged_SlowSubscriber_Coalesces() throws Exception {
+        givenClients();
+        trainingFeedService.subscribe(null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        trainingFeedService.onTrainingChanged(change(1L, TrainingChangedEvent.Change.ADDED, DATE));
+        trainingFeedService.onTrainingChanged(change(1L, TrainingChangedEvent.Change.EDITED, DATE));
+        emitter.release.countDown();
+
+        assertThat(emitter.next()).startsWith(":heartbeat");
+        assertThat(emitter.next()).contains("change=EDITED", "athleteLogin=vanya");
+        assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.get("training.feed.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("a subscriber whose buffer overflows is dropped without holding up the publisher")
+    @Test
+    void onTrainingChanged_Overflow_DropsSubscriber() throws Exception {
+        properties.setBufferSize(2);
+        givenClients();
+        trainingFeedService.subscribe(null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int day = 0; day < 3; day++) {
+            trainingFeedService.onTrainingChanged(change(1L, TrainingChangedEvent.Change.ADDED, DATE.plusDays(day)));
+        }
+        assertThat(meterRegistry.get("training.feed.dropped").counter().count()).isEqualTo(1);
+        emitter.release.countDown();
+
+        assertThat(emitter.next()).startsWith(":heartbeat");
+        assertThat(emitter.next()).startsWith("event:overflow");
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("training.feed.subscribers").gauge().value()).isZero();
+    }
+
+    @DisplayName("following an unknown client fails")
+    @Test
+    void subscribe_UnknownClient_ThrowsAthleteNotFoundException() {
+        givenClients();
+
+        assertThatThrownBy(() -> trainingFeedService.subscribe(List.of("vanya", "petya")))
+                .isInstanceOf(AthleteNotFoundException.class)
+                .hasMessage("No client found with login: petya");
+    }
+
+    @DisplayName("a subscription over the limit is rejected")
+    @Test
+    void subscribe_TooManySubscribers_ThrowsTooManyRequestsException() {
+        properties.setMaxSubscribers(1);
+        givenClients();
+        trainingFeedService.subscribe(null);
+
+        assertThatThrownBy(() -> trainingFeedService.subscribe(null))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @DisplayName("a failed subscription gives its slot back")
+    @Test
+    void subscribe_UnknownClient_ReleasesSlot() {
+        properties.setMaxSubscribers(1);
+        givenClients();
+
+        assertThatThrownBy(() -> trainingFeedService.subscribe(List.of("petya")))
+                .isInstanceOf(AthleteNotFoundException.class);
+        trainingFeedService.subscribe(null);
+    }
+
+    @DisplayName("concurrent subscriptions never exceed the limit")
+    @Test
+    void subscribe_Concurrently_KeepsLimit() throws Exception {
+        properties.setMaxSubscribers(4);
+        givenClients();
+        emitter.release.countDown();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    try {
+                        trainingFeedService.subscribe(null);
+                        return true;
+                    } catch (TooManyRequestsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int subscribed = 0;
+            for (Future<Boolean> result : results) {
+                subscribed += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            assertThat(subscribed).isEqualTo(4);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @DisplayName("a stalled subscriber holds up only its own delivery thread")
+    @Test
+    void onTrainingChanged_StalledSubscriber_OthersDelivered() throws Exception {
+        trainingFeedService.destroy();
+        properties.setDeliveryThreads(2);
+        meterRegistry = new SimpleMeterRegistry();
+        trainingFeedService = new TrainingFeedServiceImpl(athleteService, properties, meterRegistry, () -> emitter);
+        givenClients();
+        trainingFeedService.subscribe(null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        RecordingEmitter stalled = emitter;
+        emitter = newEmitter();
+        emitter.release.countDown();
+        trainingFeedService.subscribe(null);
+        assertThat(emitter.next()).startsWith(":heartbeat");
+        trainingFeedService.onTrainingChanged(change(1L, TrainingChangedEvent.Change.ADDED, DATE));
+
+        assertThat(emitter.next()).contains("change=ADDED", "athleteLogin=vanya");
+        assertThat(stalled.sent).isEmpty();
+    }
+
+    @DisplayName("a subscriber whose send does not finish in time is dropped at the next heartbeat")
+    @Test
+    void sendHeartbeats_StalledSend_DropsSubscriber() throws Exception {
+        properties.setMaxSubscribers(1);
+        properties.setSendTimeout(Duration.ZERO);
+        givenClients();
+        trainingFeedService.subscribe(null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        trainingFeedService.sendHeartbeats();
+
+        assertThat(meterRegistry.get("training.feed.stalled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("training.feed.subscribers").gauge().value()).isZero();
+        RecordingEmitter stalled = emitter;
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        emitter = newEmitter();
+        trainingFeedService.subscribe(null);
+    }
+
+    /**
+     * Stubs the client lookup the way the query filters: clients only, restricted to the logins if any.
+     */
+    private void givenClients() {
+        when(athleteService.getClients(any())).thenAnswer(invocation -> {
+            List<String> logins = invocation.getArgument(0);
+            return CLIENTS.stream()
+                    .filter(client -> logins == null || logins.contains(client.getLogin()))
+                    .toList();
+        });
+    }
+
+    private RecordingEmitter newEmitter() {
+        RecordingEmitter recording = new RecordingEmitter();
+        emitters.add(recording);
+        return recording;
+    }
+
+    private TrainingChangedEvent change(Long athleteId, TrainingChangedEvent.Change change, LocalDate date) {
+        return new TrainingChangedEvent(change, athleteId, date, "LEGS", 3);
+    }
+
+    /**
+     * Emitter recording the text of every event sent; the first send waits until the test releases it.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType data : builder.build()) {
+                text.append(data.getData());
+            }
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private String next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
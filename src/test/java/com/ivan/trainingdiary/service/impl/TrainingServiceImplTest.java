@@ -1,16 +1,24 @@
 package com.ivan.trainingdiary.service.impl;
 
+import com.ivan.trainingdiary.dto.TrainingImportError;
+import com.ivan.trainingdiary.dto.TrainingImportRequest;
+import com.ivan.trainingdiary.dto.TrainingImportResponse;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.exception.InvalidArgumentException;
 import com.ivan.trainingdiary.exception.InvalidTrainingTypeException;
 import com.ivan.trainingdiary.exception.TrainingLimitExceededException;
 import com.ivan.trainingdiary.exception.TrainingNotFoundException;
 import com.ivan.trainingdiary.model.Athlete;
 import com.ivan.trainingdiary.model.Role;
 import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingPage;
 import com.ivan.trainingdiary.model.TrainingType;
 import com.ivan.trainingdiary.repository.TrainingRepository;
 import com.ivan.trainingdiary.repository.TrainingTypeRepository;
 import com.ivan.trainingdiary.service.AthleteService;
 import com.ivan.trainingdiary.service.TrainingTypeService;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,16 +26,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +59,10 @@ class TrainingServiceImplTest {
     private TrainingTypeService trainingTypeService;
     @Mock
     private AthleteService athleteService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
 
     Athlete athlete;
     Training training1;
@@ -95,33 +112,39 @@ class TrainingServiceImplTest {
     @DisplayName("Test addTraining method")
     @Test
     void addTraining_Success() {
-        when(trainingDao.findByAthleteIdAndTrainingDate(anyLong(), any(LocalDate.class))).thenReturn(Optional.empty());
-        when(athleteService.getById(training1.getAthlete().getId())).thenReturn(new Athlete());
         when(trainingTypeService.getByTypeName(training1.getTrainingType().getTypeName())).thenReturn(trainingType);
+        when(trainingDao.saveIfAbsent(any(Training.class))).thenReturn(Optional.of(training1));
 
         trainingService.addTraining(training1.getAthlete().getId(), training1.getTrainingType().getTypeName(), training1.getSetsAmount());
 
-        verify(trainingDao, times(1)).save(any(Training.class));
+        verify(trainingDao, times(1)).saveIfAbsent(any(Training.class));
+        verify(trainingDao, never()).findByAthleteIdAndTrainingDate(anyLong(), any(LocalDate.class));
+        verifyNoInteractions(athleteService);
+        verify(eventPublisher).publishEvent(new TrainingChangedEvent(TrainingChangedEvent.Change.ADDED,
+                training1.getAthlete().getId(), LocalDate.now(), trainingType.getTypeName(), training1.getSetsAmount()));
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.athlete(training1.getAthlete().getId()));
     }
 
     @DisplayName("Test addTraining method with exception")
     @Test
     void addTraining_TrainingLimitExceededException() {
-        when(trainingDao.findByAthleteIdAndTrainingDate(training1.getId(), LocalDate.now())).thenReturn(Optional.ofNullable(training1));
+        when(trainingTypeService.getByTypeName(training1.getTrainingType().getTypeName())).thenReturn(trainingType);
+        when(trainingDao.saveIfAbsent(any(Training.class))).thenReturn(Optional.empty());
 
         assertThrows(TrainingLimitExceededException.class,
                 () -> trainingService.addTraining(training1.getAthlete().getId(), training1.getTrainingType().getTypeName(), training1.getSetsAmount()));
+        verifyNoInteractions(eventPublisher);
     }
 
     @DisplayName("Test addTraining method with exception")
     @Test
     void addTraining_InvalidTrainingTypeException() {
-        when(trainingDao.findByAthleteIdAndTrainingDate(training1.getId(), LocalDate.now())).thenReturn(Optional.ofNullable(training1));
         when(trainingTypeService.getByTypeName(anyString()))
                 .thenThrow(new InvalidTrainingTypeException("Such type of training does not exist!"));
 
         assertThrows(InvalidTrainingTypeException.class,
                 () -> trainingService.addTraining(training2.getAthlete().getId(), training1.getTrainingType().getTypeName(), training1.getSetsAmount()));
+        verify(trainingDao, never()).saveIfAbsent(any(Training.class));
     }
 
     @DisplayName("Test editTraining method")
@@ -157,30 +180,70 @@ class TrainingServiceImplTest {
                 () -> trainingService.editTraining(training1.getAthlete().getId(), LocalDate.now(), training1.getTrainingType().getTypeName(), training1.getSetsAmount()));
     }
 
-    @DisplayName("Test getTrainingsSortedByDate method")
+    @DisplayName("Test getTrainingsPageSortedByDate method")
     @Test
-    void getTrainingsSortedByDate_Success() {
-        List<Training> unsortedTrainings = Arrays.asList(training3, training1, training2);
-        List<Training> sortedTrainings = Arrays.asList(training1, training2, training3);
+    void getTrainingsPageSortedByDate_Success() {
+        when(trainingDao.findPageByAthleteIdOrderByDate(athlete.getId(), null, null, 3))
+                .thenReturn(Arrays.asList(training1, training2, training3));
+
+        TrainingPage firstPage = trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 2);
+
+        assertThat(firstPage.getTrainings()).containsExactly(training1, training2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
 
-        when(trainingDao.findAllByAthleteId(training1.getAthlete().getId())).thenReturn(unsortedTrainings);
+        when(trainingDao.findPageByAthleteIdOrderByDate(athlete.getId(), training2.getDate(), training2.getId(), 3))
+                .thenReturn(List.of(training3));
 
-        List<Training> result = trainingService.getTrainingsSortedByDate(training1.getAthlete().getId());
+        TrainingPage lastPage = trainingService.getTrainingsPageSortedByDate(athlete.getId(), firstPage.getNextCursor(), 2);
 
-        assertThat(result).isNotNull().hasSize(3).containsExactlyElementsOf(sortedTrainings);
+        assertThat(lastPage.getTrainings()).containsExactly(training3);
+        assertThat(lastPage.getNextCursor()).isNull();
     }
 
-    @DisplayName("Test getTrainingsSortedBySetsAmount method")
+    @DisplayName("Test getTrainingsPageSortedBySetsAmount method")
     @Test
-    void getTrainingsSortedBySetsAmount_Success() {
-        List<Training> unsortedTrainings = Arrays.asList(training3, training1, training2);
-        List<Training> sortedTrainings = Arrays.asList(training1, training2, training3);
+    void getTrainingsPageSortedBySetsAmount_Success() {
+        when(trainingDao.findPageByAthleteIdOrderBySetsAmount(athlete.getId(), null, null, 2))
+                .thenReturn(Arrays.asList(training2, training3));
 
-        when(trainingDao.findAllByAthleteId(training1.getAthlete().getId())).thenReturn(unsortedTrainings);
+        TrainingPage firstPage = trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), null, 1);
 
-        List<Training> result = trainingService.getTrainingsSortedByDate(training1.getAthlete().getId());
+        assertThat(firstPage.getTrainings()).containsExactly(training2);
 
-        assertThat(result).isNotNull().hasSize(3).containsExactlyElementsOf(sortedTrainings);
+        when(trainingDao.findPageByAthleteIdOrderBySetsAmount(athlete.getId(), training2.getSetsAmount(), training2.getId(), 2))
+                .thenReturn(List.of(training3));
+
+        TrainingPage lastPage = trainingService.getTrainingsPageSortedBySetsAmount(athlete.getId(), firstPage.getNextCursor(), 1);
+
+        assertThat(lastPage.getTrainings()).containsExactly(training3);
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Test getTrainingsPageSortedByDate method with exception")
+    @Test
+    void getTrainingsPageSortedByDate_InvalidArgumentException() {
+        assertThrows(InvalidArgumentException.class,
+                () -> trainingService.getTrainingsPageSortedByDate(athlete.getId(), "not-a-cursor", 20));
+        assertThrows(InvalidArgumentException.class,
+                () -> trainingService.getTrainingsPageSortedByDate(athlete.getId(), null, 0));
+    }
+
+    @DisplayName("Test exportTrainings method reads full chunks until a short one")
+    @Test
+    void exportTrainings_Chunks() {
+        List<Training> firstChunk = new ArrayList<>();
+        for (long id = 500; id > 0; id--) {
+            firstChunk.add(Training.builder().id(id).date(LocalDate.parse("2022-11-11")).build());
+        }
+        when(trainingDao.findPageByAthleteIdOrderByDate(athlete.getId(), null, null, 500)).thenReturn(firstChunk);
+        when(trainingDao.findPageByAthleteIdOrderByDate(athlete.getId(), LocalDate.parse("2022-11-11"), 1L, 500))
+                .thenReturn(List.of(training3));
+        List<Training> exported = new ArrayList<>();
+
+        trainingService.exportTrainings(athlete.getId(), exported::add);
+
+        assertThat(exported).hasSize(501).endsWith(training3);
+        verify(trainingDao, times(2)).findPageByAthleteIdOrderByDate(eq(athlete.getId()), any(), any(), anyInt());
     }
 
     @DisplayName("Test deleteTraining method")
@@ -191,6 +254,8 @@ class TrainingServiceImplTest {
         trainingService.deleteTraining(training1.getAthlete().getId(), training1.getDate());
 
         verify(trainingDao).delete(training1.getId());
+        verify(eventPublisher).publishEvent(new TrainingChangedEvent(TrainingChangedEvent.Change.DELETED,
+                athlete.getId(), training1.getDate(), trainingType.getTypeName(), training1.getSetsAmount()));
     }
 
     @DisplayName("Test deleteTraining method with exception")
@@ -220,4 +285,75 @@ class TrainingServiceImplTest {
         assertThrows(TrainingNotFoundException.class,
                 () -> trainingService.getTrainingByAthleteIdAndDate(training1.getAthlete().getId(), training1.getDate()));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Test importTrainings method")
+    @Test
+    void importTrainings_Success() {
+        when(trainingTypeService.getAllTrainingTypes()).thenReturn(List.of(trainingType));
+        when(athleteService.getByLogin(athlete.getLogin())).thenReturn(athlete);
+        when(trainingDao.saveAll(anyList())).thenReturn(new boolean[]{true, true});
+
+        TrainingImportResponse result = trainingService.importTrainings(List.of(
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 3, "2024-01-01"),
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 5, "2024-01-02")));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).isEmpty();
+        verify(athleteService, times(1)).getByLogin(athlete.getLogin());
+        verify(trainingDao, times(1)).saveAll(anyList());
+    }
+
+    @DisplayName("Test importTrainings method with row errors")
+    @Test
+    void importTrainings_RowErrors() {
+        when(trainingTypeService.getAllTrainingTypes()).thenReturn(List.of(trainingType));
+        when(athleteService.getByLogin(athlete.getLogin())).thenReturn(athlete);
+        when(trainingDao.saveAll(anyList())).thenReturn(new boolean[]{true, false});
+
+        TrainingImportResponse result = trainingService.importTrainings(List.of(
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 3, "2024-01-01"),
+                new TrainingImportRequest(athlete.getLogin(), "YOGA", 3, "2024-01-02"),
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 4, "2024-01-01"),
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 0, "2024-01-03"),
+                new TrainingImportRequest(athlete.getLogin(), "LEGS", 2, "2024-01-04")));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(TrainingImportError::row).containsExactly(2, 3, 4, 5);
+    }
+
+    @DisplayName("Test importTrainings method without rows")
+    @Test
+    void importTrainings_InvalidArgumentException() {
+        assertThrows(InvalidArgumentException.class, () -> trainingService.importTrainings(List.of()));
+    }
+
+    @DisplayName("Test getRecentTrainingsOfClients method")
+    @Test
+    void getRecentTrainingsOfClients_GroupsByLogin() {
+        Athlete lesha = Athlete.builder().id(2L).login("lesha").role(Role.CLIENT).build();
+        Training leshaTraining = Training.builder()
+                .id(4L)
+                .setsAmount(2)
+                .date(LocalDate.parse("2023-01-01"))
+                .trainingType(trainingType)
+                .athlete(lesha)
+                .build();
+        when(trainingDao.findRecentOfClients(null, 2)).thenReturn(List.of(training1, training2, leshaTraining));
+
+        Map<String, List<Training>> result = trainingService.getRecentTrainingsOfClients(null, 2);
+
+        assertThat(result).containsOnlyKeys("Ivan", "lesha");
+        assertThat(result.get("Ivan")).containsExactly(training1, training2);
+        assertThat(result.get("lesha")).containsExactly(leshaTraining);
+        verify(trainingDao, times(1)).findRecentOfClients(null, 2);
+    }
+
+    @DisplayName("Test getRecentTrainingsOfClients method with an invalid limit")
+    @Test
+    void getRecentTrainingsOfClients_InvalidArgumentException() {
+        assertThrows(InvalidArgumentException.class,
+                () -> trainingService.getRecentTrainingsOfClients(List.of("Ivan"), 0));
+
+        verifyNoInteractions(trainingDao);
+    }
+}
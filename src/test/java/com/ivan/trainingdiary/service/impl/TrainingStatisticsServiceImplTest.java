@@ -0,0 +1,222 @@
+package com.ivan.trainingdiary.service.impl;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingStatistics;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.repository.TrainingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.ivan.trainingdiary.event.TrainingChangedEvent.Change.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("trainingStatisticsServiceImpl test")
+@ExtendWith(MockitoExtension.class)
+class TrainingStatisticsServiceImplTest {
+
+    private static final Long ATHLETE_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TrainingRepository trainingDao;
+
+    private TrainingStatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new TrainingStatisticsServiceImpl(trainingDao, new CacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @DisplayName("statistics are loaded with one query and aggregated")
+    @Test
+    void getStatistics_LoadsOnce() {
+        givenTrainings(
+                training(TODAY, "BACK", 3),
+                training(TODAY.minusDays(1), "LEGS", 4),
+                training(TODAY.minusDays(2), "BACK", 2),
+                training(TODAY.minusDays(10), "BACK", 5));
+
+        TrainingStatistics statistics = statisticsService.getStatistics(ATHLETE_ID);
+        statisticsService.getStatistics(ATHLETE_ID);
+
+        assertThat(statistics.getTotalTrainings()).isEqualTo(4);
+        assertThat(statistics.getTotalSets()).isEqualTo(14);
+        assertThat(statistics.getSetsByType()).containsOnly(entry("BACK", 10), entry("LEGS", 4));
+        assertThat(statistics.getCurrentStreak()).isEqualTo(3);
+        assertThat(statistics.getLongestStreak()).isEqualTo(3);
+        assertThat(statistics.getLastTrainingDate()).isEqualTo(TODAY);
+        assertThat(statistics.getWeeklySets()).hasSize(TrainingStatisticsServiceImpl.WEEKS);
+        assertThat(statistics.getWeeklySets().values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(14);
+        verify(trainingDao, times(1)).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    @DisplayName("committed changes update the statistics without querying the database")
+    @Test
+    void onTrainingChanged_UpdatesIncrementally() {
+        givenTrainings(training(TODAY.minusDays(1), "BACK", 3));
+        statisticsService.getStatistics(ATHLETE_ID);
+
+        statisticsService.onTrainingChanged(new TrainingChangedEvent(ADDED, ATHLETE_ID, TODAY, "LEGS", 4));
+        statisticsService.onTrainingChanged(new TrainingChangedEvent(EDITED, ATHLETE_ID, TODAY.minusDays(1), "CHEST", 2));
+        TrainingStatistics edited = statisticsService.getStatistics(ATHLETE_ID);
+        statisticsService.onTrainingChanged(new TrainingChangedEvent(DELETED, ATHLETE_ID, TODAY, "LEGS", 4));
+        TrainingStatistics deleted = statisticsService.getStatistics(ATHLETE_ID);
+
+        assertThat(edited.getTotalSets()).isEqualTo(6);
+        assertThat(edited.getSetsByType()).containsOnly(entry("LEGS", 4), entry("CHEST", 2));
+        assertThat(edited.getCurrentStreak()).isEqualTo(2);
+        assertThat(deleted.getTotalTrainings()).isEqualTo(1);
+        assertThat(deleted.getSetsByType()).containsOnly(entry("CHEST", 2));
+        assertThat(deleted.getCurrentStreak()).isEqualTo(1);
+        assertThat(deleted.getLastTrainingDate()).isEqualTo(TODAY.minusDays(1));
+        verify(trainingDao, times(1)).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    @DisplayName("changes of athletes without loaded statistics are ignored")
+    @Test
+    void onTrainingChanged_NotLoaded() {
+        statisticsService.onTrainingChanged(new TrainingChangedEvent(ADDED, ATHLETE_ID, TODAY, "LEGS", 4));
+
+        verifyNoInteractions(trainingDao);
+    }
+
+    @DisplayName("statistics of an athlete changed on another node are loaded again")
+    @Test
+    void onCacheInvalidation_ReloadsAthlete() {
+        givenTrainings(training(TODAY, "BACK", 3));
+        statisticsService.getStatistics(ATHLETE_ID);
+        givenTrainings(training(TODAY, "BACK", 3), training(TODAY.minusDays(1), "LEGS", 2));
+
+        statisticsService.onCacheInvalidation(CacheInvalidationEvent.athlete(ATHLETE_ID));
+
+        assertThat(statisticsService.getStatistics(ATHLETE_ID).getTotalTrainings()).isEqualTo(2);
+        verify(trainingDao, times(2)).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    @DisplayName("rebuild reloads the statistics from the database")
+    @Test
+    void rebuild_Reloads() {
+        givenTrainings(training(TODAY, "BACK", 3));
+        statisticsService.getStatistics(ATHLETE_ID);
+        givenTrainings(training(TODAY, "BACK", 3), training(TODAY.minusDays(7), "LEGS", 1));
+
+        statisticsService.rebuild();
+
+        assertThat(statisticsService.getStatistics(ATHLETE_ID).getTotalTrainings()).isEqualTo(2);
+        verify(trainingDao, times(2)).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    @DisplayName("rebuild keeps the statistics if they changed while the athlete was reloaded")
+    @Test
+    void rebuild_RacingChange() {
+        givenTrainings(training(TODAY, "BACK", 3));
+        statisticsService.getStatistics(ATHLETE_ID);
+        doAnswer(invocation -> {
+            statisticsService.onTrainingChanged(new TrainingChangedEvent(ADDED, ATHLETE_ID, TODAY.minusDays(1), "LEGS", 2));
+            return null;
+        }).when(trainingDao).forEachByAthleteId(eq(ATHLETE_ID), any());
+
+        statisticsService.rebuild();
+
+        assertThat(statisticsService.getStatistics(ATHLETE_ID).getTotalTrainings()).isEqualTo(2);
+    }
+
+    @DisplayName("statistics that may miss a change made while they were loaded are not kept")
+    @Test
+    void getStatistics_RacingChange_NotCached() {
+        doAnswer(invocation -> {
+            Consumer<Training> consumer = invocation.getArgument(1);
+            consumer.accept(training(TODAY, "BACK", 3));
+            statisticsService.onTrainingChanged(new TrainingChangedEvent(ADDED, ATHLETE_ID, TODAY.minusDays(1), "LEGS", 2));
+            return null;
+        }).doAnswer(invocation -> {
+            Consumer<Training> consumer = invocation.getArgument(1);
+            consumer.accept(training(TODAY, "BACK", 3));
+            consumer.accept(training(TODAY.minusDays(1), "LEGS", 2));
+            return null;
+        }).when(trainingDao).forEachByAthleteId(eq(ATHLETE_ID), any());
+
+        statisticsService.getStatistics(ATHLETE_ID);
+
+        assertThat(statisticsService.getStatistics(ATHLETE_ID).getTotalTrainings()).isEqualTo(2);
+        verify(trainingDao, times(2)).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    @DisplayName("a change of another athlete is applied while statistics are being loaded")
+    @Test
+    void getStatistics_Loading_DoesNotBlockChanges() throws Exception {
+        Long otherAthleteId = 2L;
+        doAnswer(invocation -> null).when(trainingDao).forEachByAthleteId(eq(otherAthleteId), any());
+        statisticsService.getStatistics(otherAthleteId);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(trainingDao).forEachByAthleteId(eq(ATHLETE_ID), any());
+        CompletableFuture<TrainingStatistics> load = CompletableFuture.supplyAsync(() -> statisticsService.getStatistics(ATHLETE_ID));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.runAsync(() -> statisticsService.onTrainingChanged(
+                new TrainingChangedEvent(ADDED, otherAthleteId, TODAY, "LEGS", 4))).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(statisticsService.getStatistics(otherAthleteId).getTotalTrainings()).isEqualTo(1);
+        assertThat(load.get(5, TimeUnit.SECONDS).getTotalTrainings()).isZero();
+    }
+
+    @DisplayName("streaks are counted over consecutive days only")
+    @Test
+    void getStatistics_Streaks() {
+        givenTrainings(
+                training(TODAY.minusDays(2), "BACK", 1),
+                training(TODAY.minusDays(20), "BACK", 1),
+                training(TODAY.minusDays(21), "BACK", 1),
+                training(TODAY.minusDays(22), "BACK", 1));
+
+        TrainingStatistics statistics = statisticsService.getStatistics(ATHLETE_ID);
+
+        assertThat(statistics.getCurrentStreak()).isZero();
+        assertThat(statistics.getLongestStreak()).isEqualTo(3);
+        assertThat(statistics.getWeeklySets().keySet().iterator().next())
+                .isEqualTo(TODAY.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(11));
+    }
+
+    private void givenTrainings(Training... trainings) {
+        doAnswer(invocation -> {
+            Consumer<Training> consumer = invocation.getArgument(1);
+            List.of(trainings).forEach(consumer);
+            return null;
+        }).when(trainingDao).forEachByAthleteId(eq(ATHLETE_ID), any());
+    }
+
+    private static Training training(LocalDate date, String typeName, int setsAmount) {
+        return Training.builder()
+                .setsAmount(setsAmount)
+                .date(date)
+                .trainingType(TrainingType.builder().typeName(typeName).build())
+                .build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.ivan.trainingdiary.service.impl;
 
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
 import com.ivan.trainingdiary.exception.DuplicateTrainingTypeException;
 import com.ivan.trainingdiary.exception.InvalidTrainingTypeException;
 import com.ivan.trainingdiary.model.TrainingType;
 import com.ivan.trainingdiary.repository.TrainingTypeRepository;
+import com.ivan.trainingdiary.util.CacheInvalidationBus;
+import com.ivan.trainingdiary.util.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,6 +32,10 @@ class TrainingTypeServiceImplTest {
 
     @Mock
     private TrainingTypeRepository trainingTypeDao;
+    @Mock
+    private ResourceVersions resourceVersions;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
 
     private List<TrainingType> mockTrainingTypes;
 
@@ -72,6 +79,8 @@ class TrainingTypeServiceImplTest {
         trainingTypeServiceImpl.addTrainingType(newTrainingType.getTypeName());
 
         verify(trainingTypeDao).save(newTrainingType);
+        verify(resourceVersions).catalogChanged();
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.trainingTypes());
     }
 
     @DisplayName("Test addTrainingType method with exception")
@@ -85,6 +94,7 @@ class TrainingTypeServiceImplTest {
 
         assertThrows(DuplicateTrainingTypeException.class,
                 () -> trainingTypeServiceImpl.addTrainingType(newTrainingType.getTypeName()));
+        verifyNoInteractions(resourceVersions);
     }
 
     @DisplayName("Test deleteTrainingType method")
@@ -95,6 +105,8 @@ class TrainingTypeServiceImplTest {
         trainingTypeServiceImpl.deleteTrainingType(trainingType1.getTypeName());
 
         verify(trainingTypeDao, times(1)).delete(trainingType1.getId());
+        verify(resourceVersions).catalogChanged();
+        verify(cacheInvalidationBus).publish(CacheInvalidationEvent.trainingTypes());
     }
 
     @DisplayName("Test deleteTrainingType method with exception")
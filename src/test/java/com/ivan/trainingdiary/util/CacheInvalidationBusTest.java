@@ -0,0 +1,184 @@
+package com.ivan.trainingdiary.util;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("cacheInvalidationBus test")
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private ConnectionManager connectionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private Array array;
+
+    private CacheProperties cacheProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getInvalidation().setReconnectDelay(Duration.ofMillis(10));
+        cacheProperties.getInvalidation().setPollInterval(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        cacheInvalidationBus = new CacheInvalidationBus(connectionManager, eventPublisher, cacheProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheInvalidationBus.stop();
+    }
+
+    @DisplayName("outside a transaction a change is announced at once")
+    @Test
+    void publish_WithoutTransaction_NotifiesAtOnce() throws Exception {
+        givenNotifyStatement();
+
+        cacheInvalidationBus.publish(CacheInvalidationEvent.login("vanya"));
+
+        Object[] messages = captureMessages();
+        assertThat(messages).hasSize(1);
+        assertThat((String) messages[0]).endsWith(":LOGIN:vanya");
+        verify(preparedStatement).setString(1, "cache_invalidation");
+        verify(preparedStatement).execute();
+    }
+
+    @DisplayName("inside a transaction changes are deduplicated and announced once, before commit")
+    @Test
+    void publish_InTransaction_NotifiesBeforeCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cacheInvalidationBus.publish(CacheInvalidationEvent.athlete(1L));
+            cacheInvalidationBus.publish(CacheInvalidationEvent.athlete(1L));
+            cacheInvalidationBus.publish(CacheInvalidationEvent.athlete(2L));
+            verifyNoInteractions(connectionManager);
+
+            givenNotifyStatement();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+
+            assertThat(captureMessages()).hasSize(2);
+            verify(preparedStatement, times(1)).execute();
+            assertThat(TransactionSynchronizationManager.hasResource(cacheInvalidationBus)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("nothing is announced when the bus is disabled")
+    @Test
+    void publish_Disabled_DoesNothing() {
+        cacheProperties.getInvalidation().setEnabled(false);
+
+        cacheInvalidationBus.publish(CacheInvalidationEvent.trainingTypes());
+
+        verifyNoInteractions(connectionManager);
+    }
+
+    @DisplayName("messages of other nodes are published, messages of this node are skipped")
+    @Test
+    void receive_PublishesMessagesOfOtherNodes() throws Exception {
+        givenNotifyStatement();
+        cacheInvalidationBus.publish(CacheInvalidationEvent.trainingTypes());
+        String ownMessage = (String) captureMessages()[0];
+
+        cacheInvalidationBus.receive(ownMessage);
+        cacheInvalidationBus.receive("othernode:ATHLETE:7");
+        cacheInvalidationBus.receive("othernode:TRAINING_TYPES:");
+
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.athlete(7L));
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.trainingTypes());
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @DisplayName("an unreadable message clears every cache")
+    @Test
+    void receive_Unreadable_ClearsAllCaches() {
+        cacheInvalidationBus.receive("garbage");
+
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.all());
+        assertThat(meterRegistry.get("cache.invalidation.flushes").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("the listener reconnects after a failure, clears every cache and applies notifications")
+    @Test
+    void start_Reconnects_FlushesAndListens() throws Exception {
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PGNotification notification = mock(PGNotification.class);
+        when(connectionManager.openDedicatedConnection())
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        lenient().when(connection.isValid(anyInt())).thenReturn(true);
+        when(notification.getParameter()).thenReturn("othernode:LOGIN:vanya");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{notification})
+                .thenAnswer(invocation -> {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(invocation.<Integer>getArgument(0)));
+                    return null;
+                });
+        assertThat(cacheInvalidationBus.isListening()).isFalse();
+
+        cacheInvalidationBus.start();
+
+        verify(eventPublisher, timeout(5000)).publishEvent(CacheInvalidationEvent.login("vanya"));
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.all());
+        verify(statement).execute("LISTEN cache_invalidation");
+        verify(connectionManager, times(2)).openDedicatedConnection();
+        assertThat(meterRegistry.get("cache.invalidation.connected").gauge().value()).isEqualTo(1);
+        assertThat(cacheInvalidationBus.isListening()).isTrue();
+    }
+
+    private void givenNotifyStatement() throws Exception {
+        when(connectionManager.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(any(String.class))).thenReturn(preparedStatement);
+        when(connection.createArrayOf(eq("text"), any(Object[].class))).thenReturn(array);
+    }
+
+    private Object[] captureMessages() throws Exception {
+        ArgumentCaptor<Object[]> messages = ArgumentCaptor.forClass(Object[].class);
+        verify(connection).createArrayOf(eq("text"), messages.capture());
+        return messages.getValue();
+    }
+}
@@ -0,0 +1,191 @@
+package com.ivan.trainingdiary.util;
+
+import com.ivan.trainingdiary.config.JdbcProperties;
+import com.ivan.trainingdiary.exception.DatabaseUnavailableException;
+import com.ivan.trainingdiary.model.Athlete;
+import com.ivan.trainingdiary.model.Training;
+import com.ivan.trainingdiary.model.TrainingType;
+import com.ivan.trainingdiary.repository.impl.TrainingRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("connectionManager test")
+@ExtendWith(MockitoExtension.class)
+class ConnectionManagerTest {
+
+    private ConnectionManager connectionManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private PGStatement pgStatement;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = new ConnectionManager(dataSource, new JdbcProperties(), meterRegistry);
+    }
+
+    @DisplayName("an exhausted pool is reported as an unavailable database")
+    @Test
+    void getConnection_PoolExhausted_ThrowsDatabaseUnavailableException() throws Exception {
+        when(dataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"));
+
+        assertThatThrownBy(() -> connectionManager.getConnection())
+                .isInstanceOf(DatabaseUnavailableException.class);
+    }
+
+    @DisplayName("other connection failures stay runtime exceptions")
+    @Test
+    void getConnection_Failure_ThrowsRuntimeException() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThatThrownBy(() -> connectionManager.getConnection())
+                .isExactlyInstanceOf(RuntimeException.class);
+    }
+
+    @DisplayName("without a transaction every call borrows and returns its own connection")
+    @Test
+    void getConnection_NoTransaction_BorrowsPerCall() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        connectionManager.getConnection().close();
+        connectionManager.getConnection().close();
+
+        verify(dataSource, times(2)).getConnection();
+        verify(connection, times(2)).close();
+    }
+
+    @DisplayName("repository calls of one transaction share one connection and one commit")
+    @Test
+    void getConnection_Transaction_SharesConnection() throws Exception {
+        stubTransaction();
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(7L);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        TrainingRepositoryImpl trainingRepository = new TrainingRepositoryImpl(connectionManager);
+
+        transactionTemplate().executeWithoutResult(status -> {
+            Training training = trainingRepository.saveIfAbsent(newTraining()).orElseThrow();
+            trainingRepository.delete(training.getId());
+        });
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(2)).prepareStatement(anyString());
+        verify(connection, times(1)).commit();
+        verify(connection, never()).rollback();
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+        inOrder.verify(connection).close();
+    }
+
+    @DisplayName("a failure after a repository call rolls the whole transaction back")
+    @Test
+    void getConnection_TransactionFails_RollsBack() throws Exception {
+        stubTransaction();
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(7L);
+        TrainingRepositoryImpl trainingRepository = new TrainingRepositoryImpl(connectionManager);
+
+        assertThatThrownBy(() -> transactionTemplate().executeWithoutResult(status -> {
+            trainingRepository.saveIfAbsent(newTraining());
+            throw new IllegalStateException("Failed after the insert");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(1)).rollback();
+        verify(connection, never()).commit();
+        verify(connection, times(1)).close();
+    }
+
+    @DisplayName("without statement metrics prepared statements are not inspected")
+    @Test
+    void getConnection_NoStatementMetrics_NotCounted() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        try (Connection managed = connectionManager.getConnection()) {
+            managed.prepareStatement("SELECT 1").close();
+        }
+
+        verify(preparedStatement, never()).isWrapperFor(any());
+        assertThat(meterRegistry.find("jdbc.statements.prepared").counter()).isNull();
+    }
+
+    @DisplayName("prepared statements are counted by whether they run server-prepared")
+    @Test
+    void getConnection_StatementMetrics_CountsServerPrepared() throws Exception {
+        JdbcProperties properties = new JdbcProperties();
+        properties.setStatementMetrics(true);
+        connectionManager = new ConnectionManager(dataSource, properties, meterRegistry);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.isWrapperFor(PGStatement.class)).thenReturn(true);
+        when(preparedStatement.unwrap(PGStatement.class)).thenReturn(pgStatement);
+        when(pgStatement.isUseServerPrepare()).thenReturn(false, true, true);
+
+        try (Connection managed = connectionManager.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                managed.prepareStatement("SELECT 1").close();
+            }
+        }
+
+        assertThat(meterRegistry.get("jdbc.statements.prepared").tag("server.prepared", "true")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("jdbc.statements.prepared").tag("server.prepared", "false")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new JdbcTransactionManager(dataSource));
+    }
+
+    private void stubTransaction() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private Training newTraining() {
+        return Training.builder()
+                .setsAmount(3)
+                .date(LocalDate.parse("2024-01-01"))
+                .trainingType(TrainingType.builder().id(1L).build())
+                .athlete(Athlete.builder().id(1L).build())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ivan.trainingdiary.util;
+
+import com.ivan.trainingdiary.config.CacheProperties;
+import com.ivan.trainingdiary.event.CacheInvalidationEvent;
+import com.ivan.trainingdiary.event.TrainingChangedEvent;
+import com.ivan.trainingdiary.model.Athlete;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("resourceVersions test")
+class ResourceVersionsTest {
+
+    private CacheInvalidationBus cacheInvalidationBus;
+    private ResourceVersions resourceVersions;
+    private Athlete vanya;
+    private Athlete lesha;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        when(cacheInvalidationBus.isListening()).thenReturn(true);
+        resourceVersions = newResourceVersions();
+        vanya = Athlete.builder().id(1L).login("vanya").build();
+        lesha = Athlete.builder().id(2L).login("lesha").build();
+    }
+
+    @DisplayName("tags are weak and stay the same while nothing changes")
+    @Test
+    void tags_Stable() {
+        String catalogTag = resourceVersions.getCatalogTag();
+        String athleteTag = resourceVersions.getAthleteTag(vanya);
+
+        assertThat(catalogTag).startsWith("W/\"").endsWith("\"");
+        assertThat(athleteTag).startsWith("W/\"").endsWith("\"");
+        assertThat(resourceVersions.getCatalogTag()).isEqualTo(catalogTag);
+        assertThat(resourceVersions.getAthleteTag(vanya)).isEqualTo(athleteTag);
+    }
+
+    @DisplayName("the tag of a login is only known after a tag was issued for the athlete")
+    @Test
+    void findAthleteTag_KnownAfterIssued() {
+        assertThat(resourceVersions.findAthleteTag("vanya")).isNull();
+
+        String athleteTag = resourceVersions.getAthleteTag(vanya);
+
+        assertThat(resourceVersions.findAthleteTag("vanya")).isEqualTo(athleteTag);
+        assertThat(resourceVersions.findAthleteTag("lesha")).isNull();
+    }
+
+    @DisplayName("a training change changes the tag of its athlete only")
+    @Test
+    void onTrainingChanged_ChangesAthleteTag() {
+        String vanyaTag = resourceVersions.getAthleteTag(vanya);
+        String leshaTag = resourceVersions.getAthleteTag(lesha);
+        String catalogTag = resourceVersions.getCatalogTag();
+
+        resourceVersions.onTrainingChanged(new TrainingChangedEvent(TrainingChangedEvent.Change.ADDED,
+                vanya.getId(), LocalDate.parse("2024-01-01"), "LEGS", 3));
+
+        assertThat(resourceVersions.findAthleteTag("vanya")).isNotEqualTo(vanyaTag);
+        assertThat(resourceVersions.findAthleteTag("lesha")).isEqualTo(leshaTag);
+        assertThat(resourceVersions.getCatalogTag()).isEqualTo(catalogTag);
+    }
+
+    @DisplayName("a catalog change changes the tags of the catalog and of every history")
+    @Test
+    void catalogChanged_ChangesAllTags() {
+        String catalogTag = resourceVersions.getCatalogTag();
+        String vanyaTag = resourceVersions.getAthleteTag(vanya);
+
+        resourceVersions.catalogChanged();
+
+        assertThat(resourceVersions.getCatalogTag()).isNotEqualTo(catalogTag);
+        assertThat(resourceVersions.findAthleteTag("vanya")).isNotEqualTo(vanyaTag);
+    }
+
+    @DisplayName("a catalog change in a transaction changes the tags again after completion")
+    @Test
+    void catalogChanged_InTransaction_ChangesAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resourceVersions.catalogChanged();
+            String tagDuringTransaction = resourceVersions.getCatalogTag();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(resourceVersions.getCatalogTag()).isNotEqualTo(tagDuringTransaction);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("changes announced by another node change the affected tags")
+    @Test
+    void onCacheInvalidation_ChangesAffectedTags() {
+        String vanyaTag = resourceVersions.getAthleteTag(vanya);
+        String leshaTag = resourceVersions.getAthleteTag(lesha);
+
+        resourceVersions.onCacheInvalidation(CacheInvalidationEvent.athlete(vanya.getId()));
+
+        assertThat(resourceVersions.findAthleteTag("vanya")).isNotEqualTo(vanyaTag);
+        assertThat(resourceVersions.findAthleteTag("lesha")).isEqualTo(leshaTag);
+
+        resourceVersions.onCacheInvalidation(CacheInvalidationEvent.all());
+
+        assertThat(resourceVersions.findAthleteTag("lesha")).isNotEqualTo(leshaTag);
+    }
+
+    @DisplayName("tags issued before a restart do not match")
+    @Test
+    void tags_DifferAfterRestart() {
+        String catalogTag = resourceVersions.getCatalogTag();
+        String athleteTag = resourceVersions.getAthleteTag(vanya);
+
+        ResourceVersions restarted = newResourceVersions();
+
+        assertThat(restarted.getCatalogTag()).isNotEqualTo(catalogTag);
+        assertThat(restarted.getAthleteTag(vanya)).isNotEqualTo(athleteTag);
+    }
+
+    @DisplayName("tags never match while changes of other nodes may be missed")
+    @Test
+    void tags_NotListening_NeverMatch() {
+        when(cacheInvalidationBus.isListening()).thenReturn(false);
+
+        String catalogTag = resourceVersions.getCatalogTag();
+        String athleteTag = resourceVersions.getAthleteTag(vanya);
+
+        assertThat(resourceVersions.getCatalogTag()).isNotEqualTo(catalogTag);
+        assertThat(resourceVersions.findAthleteTag("vanya")).isNotEqualTo(athleteTag);
+
+        when(cacheInvalidationBus.isListening()).thenReturn(true);
+        String listeningTag = resourceVersions.getAthleteTag(vanya);
+
+        assertThat(resourceVersions.findAthleteTag("vanya")).isEqualTo(listeningTag);
+    }
+
+    private ResourceVersions newResourceVersions() {
+        return new ResourceVersions(new CacheProperties(), cacheInvalidationBus, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,73 @@
+package com.ivan.trainingdiary.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ivan.trainingdiary.dto.TrainingImportRequest;
+import com.ivan.trainingdiary.dto.TrainingResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("trainingCsvReader test")
+class TrainingCsvReaderTest {
+
+    @DisplayName("quoted fields may contain commas, doubled quotes and line breaks")
+    @Test
+    void read_QuotedFields() throws Exception {
+        String csv = """
+                athleteLogin,typeName,setsAmount,date\r
+                vanya,"LEGS, heavy",3,2024-01-01\r
+                "lesha","say ""hi""
+                twice",4,2024-01-02
+                """;
+
+        List<TrainingImportRequest> rows = TrainingCsvReader.read(stream(csv), 10);
+
+        assertThat(rows).containsExactly(
+                new TrainingImportRequest("vanya", "LEGS, heavy", 3, "2024-01-01"),
+                new TrainingImportRequest("lesha", "say \"hi\"\ntwice", 4, "2024-01-02"));
+    }
+
+    @DisplayName("blank lines are skipped and missing values are left null")
+    @Test
+    void read_BlankLinesAndMissingValues() throws Exception {
+        List<TrainingImportRequest> rows = TrainingCsvReader.read(stream("\nvanya,BACK\n\n,LEGS,x,2024-01-01\n"), 10);
+
+        assertThat(rows).containsExactly(
+                new TrainingImportRequest("vanya", "BACK", null, null),
+                new TrainingImportRequest(null, "LEGS", null, "2024-01-01"));
+    }
+
+    @DisplayName("the fields written by the CSV export are read back unchanged")
+    @Test
+    void readRecord_ExportRoundTrip() throws Exception {
+        List<TrainingResponse> trainings = List.of(
+                new TrainingResponse(1L, 3, "BACK", "2024-01-01"),
+                new TrainingResponse(2L, 4, "LEGS, \"heavy\"", "2024-01-02"),
+                new TrainingResponse(3L, 5, "ARMS\nand CHEST", "2024-01-03"));
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        TrainingExportWriter writer = new TrainingExportWriter(exported, TrainingExportWriter.Format.CSV, new ObjectMapper());
+        trainings.forEach(writer::write);
+        writer.flush();
+
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(exported.toByteArray()), StandardCharsets.UTF_8);
+
+        assertThat(String.join(",", TrainingCsvReader.readRecord(reader))).isEqualTo(TrainingExportWriter.CSV_HEADER);
+        for (TrainingResponse training : trainings) {
+            assertThat(TrainingCsvReader.readRecord(reader)).containsExactly(
+                    training.id().toString(), training.setsAmount().toString(), training.trainingType(), training.date());
+        }
+        assertThat(TrainingCsvReader.readRecord(reader)).isNull();
+    }
+
+    private ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}